@@ -0,0 +1,57 @@
+#!/bin/bash
+
+# Move votes into the hash-partitioned table created by V10, online.
+#
+# New votes are mirrored into votes_partitioned from the start; existing ones are copied one id range per
+# transaction, so the application keeps voting throughout. With --swap, votes_partitioned then replaces votes
+# under a brief exclusive lock. The run can be interrupted and restarted: it resumes where the copy stopped.
+#
+#   ./migrate-votes-partitioned.sh [--swap]
+#
+# Environment:
+#   PSQL        psql command (default: psql inside the docker-compose container)
+#   CHUNK_SIZE  vote ids per copy transaction (default 50000)
+#   PAUSE       seconds to sleep between chunks, to leave I/O for the application (default 0.1)
+
+set -euo pipefail
+
+PSQL=${PSQL:-"docker exec -i votacao-postgres psql -U votacao -d votacao"}
+CHUNK_SIZE=${CHUNK_SIZE:-50000}
+PAUSE=${PAUSE:-0.1}
+SWAP=false
+[ "${1:-}" = "--swap" ] && SWAP=true
+
+sql() {
+    $PSQL -X -q -t -A -v ON_ERROR_STOP=1 -c "$1"
+}
+
+echo "🗄️ Mirroring new votes into votes_partitioned..."
+UNTIL=$(sql "SELECT votes_partition_start();")
+echo "   Copying existing votes with id <= ${UNTIL} in chunks of ${CHUNK_SIZE}"
+
+REMAINING=$(sql "SELECT votes_partition_copy_chunk(${CHUNK_SIZE});")
+while [ "$REMAINING" -gt 0 ]; do
+    echo "   ${REMAINING} ids left"
+    sleep "$PAUSE"
+    REMAINING=$(sql "SELECT votes_partition_copy_chunk(${CHUNK_SIZE});")
+done
+echo "✅ Copy complete"
+
+if [ "$SWAP" != true ]; then
+    echo "💡 New votes keep being mirrored. Run again with --swap to switch votes over to the partitioned table."
+    exit 0
+fi
+
+# A short lock_timeout keeps the swap from queueing every vote behind a long-running query; retry instead
+echo "🔀 Swapping votes_partitioned in..."
+for attempt in $(seq 1 30); do
+    if sql "SET lock_timeout = '2s'; SELECT votes_partition_swap();" > /dev/null; then
+        echo "✅ votes is partitioned. The old heap is kept as votes_unpartitioned; drop it once you are satisfied:"
+        echo "   DROP TABLE votes_unpartitioned;"
+        exit 0
+    fi
+    echo "   Lock not acquired (attempt ${attempt}), retrying..."
+    sleep 1
+done
+echo "❌ Could not lock votes for the swap"
+exit 1
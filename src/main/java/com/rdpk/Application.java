@@ -1,12 +1,18 @@
 package com.rdpk;
 
+import com.rdpk.features.voting.bulkimport.VoteImportCommand;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Arrays;
+
 @SpringBootApplication
 public class Application {
 
     public static void main(String[] args) {
+        if (args.length > 0 && VoteImportCommand.NAME.equals(args[0])) {
+            System.exit(VoteImportCommand.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
         SpringApplication.run(Application.class, args);
     }
 
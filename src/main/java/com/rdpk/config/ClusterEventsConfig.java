@@ -0,0 +1,39 @@
+package com.rdpk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "cluster.events")
+public class ClusterEventsConfig {
+
+    private boolean enabled = false; // Opt-in: only useful with several instances
+    private String channel = "votacao_events"; // Postgres identifier: lowercase letters, digits and underscores
+    private Duration voteFlushInterval = Duration.ofMillis(100); // Ids of local votes are gathered per agenda and sent once per interval
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void setChannel(String channel) {
+        this.channel = channel;
+    }
+
+    public Duration getVoteFlushInterval() {
+        return voteFlushInterval;
+    }
+
+    public void setVoteFlushInterval(Duration voteFlushInterval) {
+        this.voteFlushInterval = voteFlushInterval;
+    }
+}
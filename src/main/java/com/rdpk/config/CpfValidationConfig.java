@@ -3,11 +3,18 @@ package com.rdpk.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Component
 @ConfigurationProperties(prefix = "cpf.validation")
 public class CpfValidationConfig {
     
     private boolean lenient = true; // Default to lenient mode for testing
+    private Mode mode = Mode.AUTO;
+    private boolean singleFlight = true; // Share one upstream call between concurrent validations of a CPF
+    private final Cache cache = new Cache();
+    private final Batching batching = new Batching();
+    private final Roll roll = new Roll();
     
     public boolean isLenient() {
         return lenient;
@@ -16,5 +23,182 @@ public class CpfValidationConfig {
     public void setLenient(boolean lenient) {
         this.lenient = lenient;
     }
-}
 
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public boolean isSingleFlight() {
+        return singleFlight;
+    }
+
+    public void setSingleFlight(boolean singleFlight) {
+        this.singleFlight = singleFlight;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Batching getBatching() {
+        return batching;
+    }
+
+    public Roll getRoll() {
+        return roll;
+    }
+
+    /**
+     * How votes reach the CPF validator.
+     * AUTO validates in-process when cpf.validation.url points back at this instance, over HTTP otherwise.
+     */
+    public enum Mode {
+        AUTO,
+        IN_PROCESS,
+        HTTP
+    }
+
+    /**
+     * Result cache in front of a remote validator (cpf.validation.cache.*).
+     */
+    public static class Cache {
+
+        private boolean enabled = true;
+        private long maximumSize = 100_000;
+        private Duration ableTtl = Duration.ofMinutes(10);
+        private Duration unableTtl = Duration.ofMinutes(1);
+        private Duration maxStale = Duration.ofMinutes(30); // How long past its TTL an entry may still be served
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(long maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        public Duration getAbleTtl() {
+            return ableTtl;
+        }
+
+        public void setAbleTtl(Duration ableTtl) {
+            this.ableTtl = ableTtl;
+        }
+
+        public Duration getUnableTtl() {
+            return unableTtl;
+        }
+
+        public void setUnableTtl(Duration unableTtl) {
+            this.unableTtl = unableTtl;
+        }
+
+        public Duration getMaxStale() {
+            return maxStale;
+        }
+
+        public void setMaxStale(Duration maxStale) {
+            this.maxStale = maxStale;
+        }
+    }
+
+    /**
+     * Client-side batching of HTTP validations (cpf.validation.batching.*).
+     * Opt-in: the remote validator must offer the POST /batch endpoint.
+     */
+    public static class Batching {
+
+        private boolean enabled = false;
+        private int maxSize = 100;
+        private Duration window = Duration.ofMillis(5);
+        private int maxConcurrentBatches = 8;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMaxConcurrentBatches() {
+            return maxConcurrentBatches;
+        }
+
+        public void setMaxConcurrentBatches(int maxConcurrentBatches) {
+            this.maxConcurrentBatches = maxConcurrentBatches;
+        }
+    }
+
+    /**
+     * Voter roll of eligible CPFs loaded from a file (cpf.validation.roll.*).
+     * Authoritative: a CPF missing from the roll is UNABLE_TO_VOTE. Otherwise it goes on to the validator chosen by mode.
+     */
+    public static class Roll {
+
+        private boolean enabled = false;
+        private String path; // A .bin file of sorted big-endian packed CPFs, or text with one CPF per line
+        private boolean authoritative = true;
+        private Duration pollInterval = Duration.ofSeconds(30); // Reload when the file's modification time changes; 0 disables
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public boolean isAuthoritative() {
+            return authoritative;
+        }
+
+        public void setAuthoritative(boolean authoritative) {
+            this.authoritative = authoritative;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.rdpk.config;
+
+import com.rdpk.features.voting.cpfvalidation.CachingCpfValidationService;
+import com.rdpk.features.voting.cpfvalidation.CpfEligibilityChecker;
+import com.rdpk.features.voting.cpfvalidation.CpfValidationHttpClient;
+import com.rdpk.features.voting.cpfvalidation.CpfValidationResponse;
+import com.rdpk.features.voting.cpfvalidation.CpfValidationService;
+import com.rdpk.features.voting.cpfvalidation.InProcessCpfValidationService;
+import com.rdpk.features.voting.cpfvalidation.SingleFlightCpfValidationService;
+import com.rdpk.features.voting.cpfvalidation.VoterRollCpfValidationService;
+import com.rdpk.features.voting.cpfvalidation.VoterRollStore;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Chooses how vote submission reaches the CPF validator (see {@link CpfValidationConfig.Mode}),
+ * optionally behind a voter roll (see {@link CpfValidationConfig.Roll}).
+ */
+@Configuration
+public class CpfValidationServiceConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(CpfValidationServiceConfiguration.class);
+
+    private static final Set<String> LOCAL_HOSTS = Set.of("localhost", "127.0.0.1", "[::1]");
+
+    private CpfValidationHttpClient httpClient; // Created here, possibly behind wrappers, so stopped here too
+
+    @Bean
+    public CpfValidationService cpfValidationService(
+            CpfValidationConfig config,
+            CpfEligibilityChecker eligibilityChecker,
+            VoterRollStore voterRoll,
+            WebClient.Builder webClientBuilder,
+            @Value("${cpf.validation.url:http://localhost:8080/api/cpf-validation}") String baseUrl,
+            @Value("${server.port:8080}") int serverPort,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            RetryRegistry retryRegistry,
+            TimeLimiterRegistry timeLimiterRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry) {
+        if (!config.getRoll().isEnabled()) {
+            return validator(config, eligibilityChecker, webClientBuilder, baseUrl, serverPort,
+                    circuitBreakerRegistry, retryRegistry, timeLimiterRegistry, bulkheadRegistry, meterRegistry);
+        }
+        if (config.getRoll().isAuthoritative()) {
+            log.info("CPF validation answers from the voter roll only ({})", config.getRoll().getPath());
+            return new VoterRollCpfValidationService(voterRoll, null, meterRegistry);
+        }
+        log.info("CPF validation answers from the voter roll first ({})", config.getRoll().getPath());
+        return new VoterRollCpfValidationService(voterRoll,
+                validator(config, eligibilityChecker, webClientBuilder, baseUrl, serverPort,
+                        circuitBreakerRegistry, retryRegistry, timeLimiterRegistry, bulkheadRegistry, meterRegistry),
+                meterRegistry);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+    }
+
+    private CpfValidationService validator(
+            CpfValidationConfig config,
+            CpfEligibilityChecker eligibilityChecker,
+            WebClient.Builder webClientBuilder,
+            String baseUrl,
+            int serverPort,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            RetryRegistry retryRegistry,
+            TimeLimiterRegistry timeLimiterRegistry,
+            BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry) {
+        boolean inProcess = switch (config.getMode()) {
+            case IN_PROCESS -> true;
+            case HTTP -> false;
+            case AUTO -> pointsToThisInstance(baseUrl, serverPort);
+        };
+
+        if (inProcess) {
+            log.info("CPF validation runs in-process (mode={}, url={})", config.getMode(), baseUrl);
+            return new InProcessCpfValidationService(eligibilityChecker);
+        }
+        httpClient = new CpfValidationHttpClient(webClientBuilder, baseUrl, config.getBatching(),
+                circuitBreakerRegistry, retryRegistry, timeLimiterRegistry, bulkheadRegistry);
+        if (!config.getCache().isEnabled()) {
+            return config.isSingleFlight()
+                    ? new SingleFlightCpfValidationService(httpClient::validateCpf, meterRegistry)
+                    : httpClient;
+        }
+
+        // The cache applies the UNABLE_TO_VOTE fallback itself, so it loads through the call without one
+        Function<String, Mono<CpfValidationResponse>> loader = config.isSingleFlight()
+                ? new SingleFlightCpfValidationService(httpClient::fetch, meterRegistry)::validateCpf
+                : httpClient::fetch;
+        // Caching only pays off in front of a remote validator; the in-process check is cheaper than a lookup
+        return new CachingCpfValidationService(loader,
+                circuitBreakerRegistry.circuitBreaker("cpfValidation"), config.getCache(), meterRegistry);
+    }
+
+    // A random port (0) is only known after startup, so it never counts as local
+    static boolean pointsToThisInstance(String baseUrl, int serverPort) {
+        try {
+            URI uri = URI.create(baseUrl);
+            int port = uri.getPort() != -1 ? uri.getPort() : ("https".equals(uri.getScheme()) ? 443 : 80);
+            return serverPort != 0
+                    && port == serverPort
+                    && uri.getHost() != null
+                    && LOCAL_HOSTS.contains(uri.getHost())
+                    && uri.getPath().startsWith("/api/v1/cpf-validation");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.rdpk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "http.caching")
+public class HttpCachingConfig {
+
+    private Duration openResultsMaxAge = Duration.ZERO; // Zero: clients revalidate every read (cheap 304 while nothing changed)
+    private Duration immutableMaxAge = Duration.ofDays(365); // Agendas and closed results never change
+
+    public Duration getOpenResultsMaxAge() {
+        return openResultsMaxAge;
+    }
+
+    public void setOpenResultsMaxAge(Duration openResultsMaxAge) {
+        this.openResultsMaxAge = openResultsMaxAge;
+    }
+
+    public Duration getImmutableMaxAge() {
+        return immutableMaxAge;
+    }
+
+    public void setImmutableMaxAge(Duration immutableMaxAge) {
+        this.immutableMaxAge = immutableMaxAge;
+    }
+}
@@ -0,0 +1,39 @@
+package com.rdpk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "tallies.live")
+public class LiveTallyConfig {
+
+    private boolean enabled = false; // Opt-in: with several instances, other nodes' votes show up only after a reconcile
+    private Duration reconcileInterval = Duration.ofSeconds(5);
+    private int maxTrackedVotes = 4096; // Per agenda, between reconciles; beyond it the agenda is reseeded at once
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getReconcileInterval() {
+        return reconcileInterval;
+    }
+
+    public void setReconcileInterval(Duration reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    public int getMaxTrackedVotes() {
+        return maxTrackedVotes;
+    }
+
+    public void setMaxTrackedVotes(int maxTrackedVotes) {
+        this.maxTrackedVotes = maxTrackedVotes;
+    }
+}
@@ -0,0 +1,57 @@
+package com.rdpk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "cache.lookups")
+public class LookupCacheConfig {
+
+    private boolean enabled = true;
+    private long maximumSize = 10_000;
+    private Duration negativeTtl = Duration.ofSeconds(1); // Short: another instance may create the row meanwhile
+    private Duration agendaTtl = Duration.ofMinutes(10);
+    private Duration closedSessionRetention = Duration.ofMinutes(5); // Results are still read after a session closes
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getNegativeTtl() {
+        return negativeTtl;
+    }
+
+    public void setNegativeTtl(Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+
+    public Duration getAgendaTtl() {
+        return agendaTtl;
+    }
+
+    public void setAgendaTtl(Duration agendaTtl) {
+        this.agendaTtl = agendaTtl;
+    }
+
+    public Duration getClosedSessionRetention() {
+        return closedSessionRetention;
+    }
+
+    public void setClosedSessionRetention(Duration closedSessionRetention) {
+        this.closedSessionRetention = closedSessionRetention;
+    }
+}
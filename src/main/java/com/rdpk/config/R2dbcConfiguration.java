@@ -30,18 +30,18 @@ public class R2dbcConfiguration {
     }
 
     @WritingConverter
-    static class VoteChoiceWritingConverter implements Converter<VoteChoice, String> {
+    static class VoteChoiceWritingConverter implements Converter<VoteChoice, Short> {
         @Override
-        public String convert(VoteChoice source) {
-            return source.name();
+        public Short convert(VoteChoice source) {
+            return source.getCode();
         }
     }
 
     @ReadingConverter
-    static class VoteChoiceReadingConverter implements Converter<String, VoteChoice> {
+    static class VoteChoiceReadingConverter implements Converter<Short, VoteChoice> {
         @Override
-        public VoteChoice convert(String source) {
-            return VoteChoice.valueOf(source);
+        public VoteChoice convert(Short source) {
+            return VoteChoice.fromCode(source);
         }
     }
 }
@@ -0,0 +1,21 @@
+package com.rdpk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "results.stream")
+public class ResultsStreamConfig {
+
+    private Duration interval = Duration.ofSeconds(1); // At most one update per agenda per interval, whatever the viewer count
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+}
@@ -0,0 +1,48 @@
+package com.rdpk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "sessions.closing")
+public class SessionClosingConfig {
+
+    private boolean enabled = true;
+    private Duration pollInterval = Duration.ofMinutes(1); // Safety net: runs are triggered by the session expiration timer
+    private Duration grace = Duration.ofSeconds(2); // Lets votes accepted right at end_time commit before the final count
+    private int batchSize = 100;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public Duration getGrace() {
+        return grace;
+    }
+
+    public void setGrace(Duration grace) {
+        this.grace = grace;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
@@ -0,0 +1,30 @@
+package com.rdpk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "sessions.expiration")
+public class SessionExpirationConfig {
+
+    private Duration tick = Duration.ofSeconds(1); // Timer resolution: listeners run up to one tick after end_time
+    private int wheelSize = 1024; // Power of two; one turn of the wheel covers wheelSize ticks
+
+    public Duration getTick() {
+        return tick;
+    }
+
+    public void setTick(Duration tick) {
+        this.tick = tick;
+    }
+
+    public int getWheelSize() {
+        return wheelSize;
+    }
+
+    public void setWheelSize(int wheelSize) {
+        this.wheelSize = wheelSize;
+    }
+}
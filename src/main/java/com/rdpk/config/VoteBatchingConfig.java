@@ -0,0 +1,48 @@
+package com.rdpk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "votes.batching")
+public class VoteBatchingConfig {
+
+    private boolean enabled = false; // Opt-in: single-row inserts by default
+    private int maxSize = 64;
+    private Duration window = Duration.ofMillis(5);
+    private int maxConcurrentFlushes = 4;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public int getMaxConcurrentFlushes() {
+        return maxConcurrentFlushes;
+    }
+
+    public void setMaxConcurrentFlushes(int maxConcurrentFlushes) {
+        this.maxConcurrentFlushes = maxConcurrentFlushes;
+    }
+}
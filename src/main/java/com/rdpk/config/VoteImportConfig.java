@@ -0,0 +1,29 @@
+package com.rdpk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Component
+@ConfigurationProperties(prefix = "votes.import")
+public class VoteImportConfig {
+
+    private DataSize copyChunkSize = DataSize.ofKilobytes(256); // Binary COPY data sent per message
+    private int maxReportedRejections = 1000; // Rejected rows listed in the report; the counts are always exact
+
+    public DataSize getCopyChunkSize() {
+        return copyChunkSize;
+    }
+
+    public void setCopyChunkSize(DataSize copyChunkSize) {
+        this.copyChunkSize = copyChunkSize;
+    }
+
+    public int getMaxReportedRejections() {
+        return maxReportedRejections;
+    }
+
+    public void setMaxReportedRejections(int maxReportedRejections) {
+        this.maxReportedRejections = maxReportedRejections;
+    }
+}
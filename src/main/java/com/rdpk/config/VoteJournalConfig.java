@@ -0,0 +1,94 @@
+package com.rdpk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "votes.journal")
+public class VoteJournalConfig {
+
+    private boolean enabled = false; // Opt-in: votes are acknowledged once journaled, written to the database later
+    private String directory = "data/vote-journal";
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    private int groupCommitMaxSize = 256; // Votes sharing one fsync
+    private Duration groupCommitWindow = Duration.ofMillis(1);
+    private Duration flushInterval = Duration.ofMillis(100);
+    private int flushBatchSize = 500; // Votes per INSERT while draining the journal
+    private long maxLag = 1_000_000; // Unflushed votes before new ones are refused with 503
+    private int idBlockSize = 1000; // Vote ids reserved from votes_id_seq per round trip
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public DataSize getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(DataSize segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public int getGroupCommitMaxSize() {
+        return groupCommitMaxSize;
+    }
+
+    public void setGroupCommitMaxSize(int groupCommitMaxSize) {
+        this.groupCommitMaxSize = groupCommitMaxSize;
+    }
+
+    public Duration getGroupCommitWindow() {
+        return groupCommitWindow;
+    }
+
+    public void setGroupCommitWindow(Duration groupCommitWindow) {
+        this.groupCommitWindow = groupCommitWindow;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getFlushBatchSize() {
+        return flushBatchSize;
+    }
+
+    public void setFlushBatchSize(int flushBatchSize) {
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    public long getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(long maxLag) {
+        this.maxLag = maxLag;
+    }
+
+    public int getIdBlockSize() {
+        return idBlockSize;
+    }
+
+    public void setIdBlockSize(int idBlockSize) {
+        this.idBlockSize = idBlockSize;
+    }
+}
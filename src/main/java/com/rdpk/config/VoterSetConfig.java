@@ -0,0 +1,28 @@
+package com.rdpk.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "votes.voter-set")
+public class VoterSetConfig {
+
+    private boolean enabled = true;
+    private long maxVoters = 10_000_000; // Across all open agendas; about 16 MiB per 1M voters
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxVoters() {
+        return maxVoters;
+    }
+
+    public void setMaxVoters(long maxVoters) {
+        this.maxVoters = maxVoters;
+    }
+}
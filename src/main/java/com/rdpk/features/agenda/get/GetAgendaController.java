@@ -0,0 +1,45 @@
+package com.rdpk.features.agenda.get;
+
+import com.rdpk.config.HttpCachingConfig;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.time.ZoneOffset;
+
+@RestController
+@RequestMapping("/api/v1/agendas")
+public class GetAgendaController {
+
+    private final GetAgendaHandler getAgendaHandler;
+    private final HttpCachingConfig cachingConfig;
+
+    public GetAgendaController(GetAgendaHandler getAgendaHandler, HttpCachingConfig cachingConfig) {
+        this.getAgendaHandler = getAgendaHandler;
+        this.cachingConfig = cachingConfig;
+    }
+
+    /**
+     * Agendas never change once created, so the response is immutable. A matching If-None-Match is
+     * answered with 304 by the ResponseEntity handler.
+     */
+    @GetMapping("/{agendaId}")
+    public Mono<ResponseEntity<GetAgendaResponse>> getAgenda(@PathVariable Long agendaId) {
+        return getAgendaHandler.getAgenda(agendaId)
+                .map(GetAgendaResponse::from)
+                .map(response -> ResponseEntity.ok()
+                        .eTag(etag(response))
+                        .cacheControl(CacheControl.maxAge(cachingConfig.getImmutableMaxAge()).cachePublic().immutable())
+                        .body(response));
+    }
+
+    // The creation instant tells apart agendas that reuse an id (e.g. after a table reset)
+    private static String etag(GetAgendaResponse response) {
+        return response.id() + "-" + Long.toHexString(response.createdAt().toEpochSecond(ZoneOffset.UTC))
+                + "." + response.createdAt().getNano();
+    }
+}
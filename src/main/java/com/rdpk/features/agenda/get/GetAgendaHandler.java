@@ -0,0 +1,23 @@
+package com.rdpk.features.agenda.get;
+
+import com.rdpk.exception.VotingException;
+import com.rdpk.features.agenda.domain.Agenda;
+import com.rdpk.features.agenda.repository.AgendaRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+@Service
+public class GetAgendaHandler {
+
+    private final AgendaRepository agendaRepository;
+
+    public GetAgendaHandler(AgendaRepository agendaRepository) {
+        this.agendaRepository = agendaRepository;
+    }
+
+    public Mono<Agenda> getAgenda(Long agendaId) {
+        return agendaRepository.findById(agendaId)
+                .switchIfEmpty(Mono.error(new VotingException("Agenda not found", HttpStatus.NOT_FOUND)));
+    }
+}
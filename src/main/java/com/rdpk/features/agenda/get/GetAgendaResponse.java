@@ -0,0 +1,20 @@
+package com.rdpk.features.agenda.get;
+
+import com.rdpk.features.agenda.domain.Agenda;
+import java.time.LocalDateTime;
+
+public record GetAgendaResponse(
+    Long id,
+    String title,
+    String description,
+    LocalDateTime createdAt
+) {
+    public static GetAgendaResponse from(Agenda agenda) {
+        return new GetAgendaResponse(
+            agenda.id(),
+            agenda.title(),
+            agenda.description(),
+            agenda.createdAt()
+        );
+    }
+}
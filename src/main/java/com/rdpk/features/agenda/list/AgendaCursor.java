@@ -0,0 +1,41 @@
+package com.rdpk.features.agenda.list;
+
+import com.rdpk.exception.VotingException;
+import com.rdpk.features.agenda.domain.Agenda;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the (created_at, id) listing order: the last agenda of the previous page.
+ * Clients get it as an opaque base64url token and pass it back unchanged.
+ */
+public record AgendaCursor(LocalDateTime createdAt, Long id) {
+
+    public static AgendaCursor after(Agenda agenda) {
+        return new AgendaCursor(agenda.createdAt(), agenda.id());
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AgendaCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new AgendaCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new VotingException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.rdpk.features.agenda.list;
+
+import com.rdpk.exception.VotingException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/agendas")
+public class ListAgendasController {
+
+    private final ListAgendasHandler listAgendasHandler;
+    private final int defaultLimit;
+    private final int maxLimit;
+
+    public ListAgendasController(
+            ListAgendasHandler listAgendasHandler,
+            @Value("${agendas.list.default-limit:50}") int defaultLimit,
+            @Value("${agendas.list.max-limit:500}") int maxLimit) {
+        this.listAgendasHandler = listAgendasHandler;
+        this.defaultLimit = defaultLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Agendas in creation order. By default one JSON page of at most max-limit items with a nextCursor to pass
+     * back as ?cursor=. With Accept: application/x-ndjson every agenda after the cursor is streamed one per line
+     * (limit is ignored) and rows are read from the database only as fast as the client consumes them.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<?>> listAgendas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+
+        return Mono.defer(() -> {
+            AgendaCursor after = cursor == null || cursor.isBlank() ? null : AgendaCursor.decode(cursor);
+
+            if (acceptsNdjson(accept)) {
+                return Mono.just(ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(listAgendasHandler.streamAll(after, maxLimit)));
+            }
+
+            int pageSize = limit == null ? defaultLimit : limit;
+            if (pageSize < 1) {
+                return Mono.error(new VotingException("Limit must be at least 1", HttpStatus.BAD_REQUEST));
+            }
+            return listAgendasHandler.listPage(after, Math.min(pageSize, maxLimit))
+                    .map(response -> ResponseEntity.ok().body(response));
+        });
+    }
+
+    // Only an explicit NDJSON accept streams; */* and application/json keep the paged JSON response
+    private static boolean acceptsNdjson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            return mediaTypes.stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.rdpk.features.agenda.list;
+
+import com.rdpk.features.agenda.domain.Agenda;
+import com.rdpk.features.agenda.get.GetAgendaResponse;
+import com.rdpk.features.agenda.repository.AgendaRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+public class ListAgendasHandler {
+
+    private final AgendaRepository agendaRepository;
+
+    public ListAgendasHandler(AgendaRepository agendaRepository) {
+        this.agendaRepository = agendaRepository;
+    }
+
+    /**
+     * One page after the cursor (null: from the start). Fetches limit + 1 rows to know whether another page
+     * exists, so the last page carries no cursor.
+     */
+    public Mono<ListAgendasResponse> listPage(AgendaCursor cursor, int limit) {
+        return fetchPage(cursor, limit + 1)
+                .map(agendas -> {
+                    boolean more = agendas.size() > limit;
+                    List<Agenda> page = more ? agendas.subList(0, limit) : agendas;
+                    String nextCursor = more ? AgendaCursor.after(page.getLast()).encode() : null;
+                    return new ListAgendasResponse(page.stream().map(GetAgendaResponse::from).toList(), nextCursor);
+                });
+    }
+
+    /**
+     * Every agenda after the cursor, read one keyset page of pageSize at a time. The next page is queried only
+     * after the subscriber has drained the previous one, so a slow client holds at most one page in memory and
+     * never holds a connection while it is reading.
+     */
+    public Flux<GetAgendaResponse> streamAll(AgendaCursor cursor, int pageSize) {
+        return fetchPage(cursor, pageSize)
+                .expand(page -> page.size() < pageSize
+                        ? Mono.empty()
+                        : fetchPage(AgendaCursor.after(page.getLast()), pageSize))
+                // Prefetch of one page: the default (256) would make expand query pages far ahead of the client
+                .concatMapIterable(page -> page, 1)
+                .map(GetAgendaResponse::from);
+    }
+
+    private Mono<List<Agenda>> fetchPage(AgendaCursor cursor, int limit) {
+        return cursor == null
+                ? agendaRepository.findPageAfter(null, null, limit).collectList()
+                : agendaRepository.findPageAfter(cursor.createdAt(), cursor.id(), limit).collectList();
+    }
+}
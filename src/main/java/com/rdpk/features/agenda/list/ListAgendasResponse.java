@@ -0,0 +1,12 @@
+package com.rdpk.features.agenda.list;
+
+import com.rdpk.features.agenda.get.GetAgendaResponse;
+
+import java.util.List;
+
+// nextCursor is null on the last page
+public record ListAgendasResponse(
+    List<GetAgendaResponse> items,
+    String nextCursor
+) {
+}
@@ -4,8 +4,11 @@ import com.rdpk.features.agenda.domain.Agenda;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 public interface AgendaRepository {
     Mono<Agenda> save(Agenda agenda);
     Mono<Agenda> findById(Long id);
-    Flux<Agenda> findAll();
+    // Up to `limit` agendas ordered by (created_at, id), after the given position; a null position starts at the first
+    Flux<Agenda> findPageAfter(LocalDateTime createdAt, Long id, int limit);
 }
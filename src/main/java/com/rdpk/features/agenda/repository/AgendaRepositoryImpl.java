@@ -4,10 +4,13 @@ import com.rdpk.features.agenda.domain.Agenda;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.query.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 @Repository
 public class AgendaRepositoryImpl implements AgendaRepository {
 
@@ -36,7 +39,25 @@ public class AgendaRepositoryImpl implements AgendaRepository {
     }
 
     @Override
-    public Flux<Agenda> findAll() {
-        return template.select(Agenda.class).all();
+    public Flux<Agenda> findPageAfter(LocalDateTime createdAt, Long id, int limit) {
+        // Row comparison lets idx_agendas_created_at_id (V8) seek straight to the position, however deep the page
+        String after = createdAt != null ? "WHERE (created_at, id) > (:createdAt, :id)" : "";
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql("""
+                SELECT id, title, description, created_at
+                FROM agendas
+                %s
+                ORDER BY created_at, id
+                LIMIT :limit
+                """.formatted(after))
+                .bind("limit", limit);
+        if (createdAt != null) {
+            spec = spec.bind("createdAt", createdAt).bind("id", id);
+        }
+        return spec.map((row, _) -> new Agenda(
+                        row.get("id", Long.class),
+                        row.get("title", String.class),
+                        row.get("description", String.class),
+                        row.get("created_at", LocalDateTime.class)))
+                .all();
     }
 }
@@ -0,0 +1,46 @@
+package com.rdpk.features.agenda.repository;
+
+import com.rdpk.config.LookupCacheConfig;
+import com.rdpk.features.agenda.domain.Agenda;
+import com.rdpk.infrastructure.cache.LookupCaches;
+import com.rdpk.infrastructure.cache.ReactiveLookupCache;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Near cache for {@link AgendaRepositoryImpl#findById}. Listing always goes to the database.
+ */
+@Primary
+@Repository
+public class CachingAgendaRepository implements AgendaRepository {
+
+    private final AgendaRepositoryImpl delegate;
+    private final ReactiveLookupCache<Long, Agenda> agendasById;
+
+    public CachingAgendaRepository(AgendaRepositoryImpl delegate,
+                                   LookupCaches lookupCaches,
+                                   LookupCacheConfig config) {
+        this.delegate = delegate;
+        this.agendasById = lookupCaches.create("agendas", _ -> config.getAgendaTtl());
+    }
+
+    @Override
+    public Mono<Agenda> save(Agenda agenda) {
+        return delegate.save(agenda)
+                .doOnNext(saved -> agendasById.put(saved.id(), saved));
+    }
+
+    @Override
+    public Mono<Agenda> findById(Long id) {
+        return agendasById.get(id, delegate::findById);
+    }
+
+    @Override
+    public Flux<Agenda> findPageAfter(LocalDateTime createdAt, Long id, int limit) {
+        return delegate.findPageAfter(createdAt, id, limit);
+    }
+}
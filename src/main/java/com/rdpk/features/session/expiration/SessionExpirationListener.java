@@ -0,0 +1,18 @@
+package com.rdpk.features.session.expiration;
+
+import com.rdpk.features.session.domain.VotingSession;
+
+import java.time.Duration;
+
+/**
+ * Close-time work for a voting session. Called on the timer thread once the session's end time plus
+ * {@link #delay()} has passed, so implementations must not block.
+ */
+public interface SessionExpirationListener {
+
+    void onSessionExpired(VotingSession session);
+
+    default Duration delay() {
+        return Duration.ZERO;
+    }
+}
@@ -0,0 +1,107 @@
+package com.rdpk.features.session.expiration;
+
+import com.rdpk.config.SessionExpirationConfig;
+import com.rdpk.features.session.domain.VotingSession;
+import com.rdpk.features.session.repository.VotingSessionRepository;
+import com.rdpk.infrastructure.time.HashedTimingWheel;
+import com.rdpk.infrastructure.time.TimeProvider;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Timers firing {@link SessionExpirationListener}s once a voting session's end time (plus the listener's delay)
+ * has passed; one timer per session and distinct listener delay.
+ *
+ * Timers live in a {@link HashedTimingWheel} advanced every {@code sessions.expiration.tick}, so 100k pending
+ * sessions cost one bucket slot each and no threads. Sessions are registered when opened and, on startup,
+ * reloaded from every session not yet closed; sessions that ended while the service was down fire on the first tick.
+ */
+@Component
+public class SessionExpirationScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionExpirationScheduler.class);
+
+    private final VotingSessionRepository sessionRepository;
+    private final Map<Duration, List<SessionExpirationListener>> listenersByDelay;
+    private final SessionExpirationConfig config;
+    private final HashedTimingWheel<Expiration> wheel;
+    private Disposable ticker;
+    private Disposable rebuild;
+
+    public SessionExpirationScheduler(VotingSessionRepository sessionRepository,
+                                      List<SessionExpirationListener> listeners,
+                                      TimeProvider timeProvider,
+                                      SessionExpirationConfig config) {
+        this.sessionRepository = sessionRepository;
+        this.listenersByDelay = listeners.stream()
+                .collect(Collectors.groupingBy(SessionExpirationListener::delay));
+        this.config = config;
+        this.wheel = new HashedTimingWheel<>(timeProvider, config.getTick(), config.getWheelSize(), this::fire);
+    }
+
+    @PostConstruct
+    void start() {
+        rebuild = sessionRepository.findNotClosed()
+                .doOnNext(this::schedule)
+                .count()
+                .subscribe(
+                        count -> log.info("Scheduled expiration of {} unclosed voting sessions", count),
+                        throwable -> log.warn("Loading unclosed voting sessions failed: {}", throwable.getMessage()));
+        ticker = Flux.interval(config.getTick())
+                .onBackpressureDrop()
+                .subscribe(_ -> advance());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        if (rebuild != null) {
+            rebuild.dispose();
+        }
+    }
+
+    public void schedule(VotingSession session) {
+        listenersByDelay.forEach((delay, group) ->
+                wheel.schedule(new Expiration(session, group), session.endTime().plus(delay)));
+    }
+
+    /**
+     * Fires listeners for every session that has ended by {@link TimeProvider#now()}. Called by the ticker;
+     * tests moving a fixed clock may call it to fire without waiting for the next tick.
+     *
+     * @return number of timers fired
+     */
+    public int advance() {
+        return wheel.advance();
+    }
+
+    public int pending() {
+        return wheel.pending();
+    }
+
+    private void fire(Expiration expiration) {
+        for (SessionExpirationListener listener : expiration.listeners()) {
+            try {
+                listener.onSessionExpired(expiration.session());
+            } catch (RuntimeException e) {
+                log.warn("Expiration listener {} failed for agenda {}: {}",
+                        listener.getClass().getSimpleName(), expiration.session().agendaId(), e.getMessage());
+            }
+        }
+    }
+
+    private record Expiration(VotingSession session, List<SessionExpirationListener> listeners) {
+    }
+}
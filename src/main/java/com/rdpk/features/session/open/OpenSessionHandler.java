@@ -1,9 +1,11 @@
 package com.rdpk.features.session.open;
 
-import com.rdpk.features.agenda.repository.AgendaRepository;
 import com.rdpk.features.session.domain.VotingSession;
+import com.rdpk.features.session.expiration.SessionExpirationScheduler;
 import com.rdpk.features.session.repository.VotingSessionRepository;
 import com.rdpk.exception.VotingException;
+import com.rdpk.infrastructure.cluster.ClusterEvent;
+import com.rdpk.infrastructure.cluster.ClusterEventBus;
 import com.rdpk.infrastructure.time.TimeProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -12,35 +14,36 @@ import reactor.core.publisher.Mono;
 @Service
 public class OpenSessionHandler {
 
-    private final AgendaRepository agendaRepository;
     private final VotingSessionRepository sessionRepository;
     private final TimeProvider timeProvider;
+    private final SessionExpirationScheduler expirationScheduler;
+    private final ClusterEventBus clusterEvents;
 
-    public OpenSessionHandler(AgendaRepository agendaRepository, 
-                             VotingSessionRepository sessionRepository,
-                             TimeProvider timeProvider) {
-        this.agendaRepository = agendaRepository;
+    public OpenSessionHandler(VotingSessionRepository sessionRepository,
+                             TimeProvider timeProvider,
+                             SessionExpirationScheduler expirationScheduler,
+                             ClusterEventBus clusterEvents) {
         this.sessionRepository = sessionRepository;
         this.timeProvider = timeProvider;
+        this.expirationScheduler = expirationScheduler;
+        this.clusterEvents = clusterEvents;
     }
 
+    /**
+     * Opens the session in one round trip. The insert only happens if the agenda exists and has no session yet,
+     * so concurrent opens of one agenda yield exactly one 201 and 409 for the rest.
+     */
     public Mono<VotingSession> openVotingSession(Long agendaId, Integer durationMinutes) {
-        return agendaRepository.findById(agendaId)
-                .switchIfEmpty(Mono.error(new VotingException("Agenda not found", HttpStatus.NOT_FOUND)))
-                .flatMap(agenda -> {
-                    // Check if session already exists
-                    return sessionRepository.findByAgendaId(agendaId)
-                            .flatMap(existing -> {
-                                // Always return conflict if session exists (regardless of expiration)
-                                return Mono.<VotingSession>error(new VotingException("Voting session already exists", HttpStatus.CONFLICT));
-                            })
-                            .switchIfEmpty(createNewSession(agendaId, durationMinutes));
-                });
-    }
-
-    private Mono<VotingSession> createNewSession(Long agendaId, Integer durationMinutes) {
         int duration = durationMinutes != null ? durationMinutes : 1; // Default 1 minute
         VotingSession session = new VotingSession(agendaId, duration, timeProvider.now());
-        return sessionRepository.save(session);
+        return sessionRepository.insertIfAbsent(session)
+                .flatMap(result -> switch (result.outcome()) {
+                    case INSERTED -> Mono.just(result.session());
+                    case AGENDA_NOT_FOUND -> Mono.error(new VotingException("Agenda not found", HttpStatus.NOT_FOUND));
+                    // Always return conflict if session exists (regardless of expiration)
+                    case ALREADY_EXISTS -> Mono.error(new VotingException("Voting session already exists", HttpStatus.CONFLICT));
+                })
+                .doOnNext(expirationScheduler::schedule)
+                .flatMap(saved -> clusterEvents.publish(ClusterEvent.sessionOpened(saved.agendaId())).thenReturn(saved));
     }
 }
@@ -0,0 +1,60 @@
+package com.rdpk.features.session.open;
+
+import com.rdpk.features.session.expiration.SessionExpirationScheduler;
+import com.rdpk.features.session.repository.CachingVotingSessionRepository;
+import com.rdpk.infrastructure.cluster.ClusterEvent;
+import com.rdpk.infrastructure.cluster.ClusterEventBus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Applies sessions opened on other instances: drops the cached "no session" entry for the agenda
+ * and schedules the session's expiration timer here too.
+ */
+@Component
+public class SessionOpenedEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionOpenedEventListener.class);
+
+    private final ClusterEventBus clusterEvents;
+    private final CachingVotingSessionRepository sessionRepository;
+    private final SessionExpirationScheduler expirationScheduler;
+    private Disposable subscription;
+
+    public SessionOpenedEventListener(ClusterEventBus clusterEvents,
+                                      CachingVotingSessionRepository sessionRepository,
+                                      SessionExpirationScheduler expirationScheduler) {
+        this.clusterEvents = clusterEvents;
+        this.sessionRepository = sessionRepository;
+        this.expirationScheduler = expirationScheduler;
+    }
+
+    @PostConstruct
+    void start() {
+        subscription = clusterEvents.events()
+                .filter(event -> event.is(ClusterEvent.SESSION_OPENED))
+                .flatMap(event -> {
+                    sessionRepository.evict(event.agendaId());
+                    return sessionRepository.findByAgendaId(event.agendaId())
+                            .doOnNext(expirationScheduler::schedule)
+                            .onErrorResume(throwable -> {
+                                log.warn("Loading session opened elsewhere for agenda {} failed: {}",
+                                        event.agendaId(), throwable.getMessage());
+                                return Mono.empty();
+                            });
+                })
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.rdpk.features.session.repository;
+
+import com.rdpk.config.LookupCacheConfig;
+import com.rdpk.features.session.domain.VotingSession;
+import com.rdpk.infrastructure.cache.LookupCaches;
+import com.rdpk.infrastructure.cache.ReactiveLookupCache;
+import com.rdpk.infrastructure.time.TimeProvider;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Near cache in front of {@link VotingSessionRepositoryImpl}.
+ *
+ * Sessions never change once inserted, so an entry lives until the session ends
+ * plus {@code cache.lookups.closed-session-retention}. Agendas without a session are cached briefly.
+ */
+@Primary
+@Repository
+public class CachingVotingSessionRepository implements VotingSessionRepository {
+
+    private final VotingSessionRepositoryImpl delegate;
+    private final ReactiveLookupCache<Long, VotingSession> sessionsByAgenda;
+
+    public CachingVotingSessionRepository(VotingSessionRepositoryImpl delegate,
+                                          LookupCaches lookupCaches,
+                                          LookupCacheConfig config,
+                                          TimeProvider timeProvider) {
+        this.delegate = delegate;
+        this.sessionsByAgenda = lookupCaches.create("votingSessions", session -> {
+            Duration untilEnd = Duration.between(timeProvider.now(), session.endTime());
+            Duration ttl = untilEnd.plus(config.getClosedSessionRetention());
+            return ttl.isNegative() ? Duration.ZERO : ttl;
+        });
+    }
+
+    @Override
+    public Mono<SessionInsertResult> insertIfAbsent(VotingSession session) {
+        return delegate.insertIfAbsent(session)
+                .doOnNext(result -> {
+                    if (result.outcome() == SessionInsertResult.Outcome.INSERTED) {
+                        sessionsByAgenda.put(result.session().agendaId(), result.session());
+                    }
+                });
+    }
+
+    @Override
+    public Mono<VotingSession> findByAgendaId(Long agendaId) {
+        return sessionsByAgenda.get(agendaId, delegate::findByAgendaId);
+    }
+
+    @Override
+    public Flux<VotingSession> findOpenAt(LocalDateTime now) {
+        return delegate.findOpenAt(now)
+                .doOnNext(session -> sessionsByAgenda.put(session.agendaId(), session));
+    }
+
+    /**
+     * Drops the agenda's entry, e.g. a cached "no session" after another instance opened one.
+     */
+    public void evict(Long agendaId) {
+        sessionsByAgenda.invalidate(agendaId);
+    }
+
+    @Override
+    public Flux<VotingSession> findNotClosed() {
+        return delegate.findNotClosed();
+    }
+}
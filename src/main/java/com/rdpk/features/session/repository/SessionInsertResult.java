@@ -0,0 +1,22 @@
+package com.rdpk.features.session.repository;
+
+import com.rdpk.features.session.domain.VotingSession;
+
+public record SessionInsertResult(
+        Outcome outcome,
+        VotingSession session
+) {
+    public enum Outcome {
+        INSERTED,
+        AGENDA_NOT_FOUND,
+        ALREADY_EXISTS
+    }
+
+    public static SessionInsertResult inserted(VotingSession session) {
+        return new SessionInsertResult(Outcome.INSERTED, session);
+    }
+
+    public static SessionInsertResult rejected(Outcome outcome) {
+        return new SessionInsertResult(outcome, null);
+    }
+}
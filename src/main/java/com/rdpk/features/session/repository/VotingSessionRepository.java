@@ -1,9 +1,16 @@
 package com.rdpk.features.session.repository;
 
 import com.rdpk.features.session.domain.VotingSession;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 public interface VotingSessionRepository {
-    Mono<VotingSession> save(VotingSession session);
+    // One statement: inserts only if the agenda exists and has no session yet
+    Mono<SessionInsertResult> insertIfAbsent(VotingSession session);
     Mono<VotingSession> findByAgendaId(Long agendaId);
+    Flux<VotingSession> findOpenAt(LocalDateTime now);
+    // Sessions the close pipeline has not marked closed yet, whether or not they have ended
+    Flux<VotingSession> findNotClosed();
 }
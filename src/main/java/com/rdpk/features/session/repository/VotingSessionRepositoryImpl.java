@@ -1,29 +1,74 @@
 package com.rdpk.features.session.repository;
 
 import com.rdpk.features.session.domain.VotingSession;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.query.Query;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+
 @Repository
 public class VotingSessionRepositoryImpl implements VotingSessionRepository {
 
     private final R2dbcEntityTemplate template;
+    private final Retry retry;
+    private final TimeLimiter timeLimiter;
 
-    public VotingSessionRepositoryImpl(R2dbcEntityTemplate template) {
+    public VotingSessionRepositoryImpl(R2dbcEntityTemplate template,
+                                       RetryRegistry retryRegistry,
+                                       TimeLimiterRegistry timeLimiterRegistry) {
         this.template = template;
+        this.retry = retryRegistry.retry("database");
+        this.timeLimiter = timeLimiterRegistry.timeLimiter("database");
     }
 
     @Override
-    public Mono<VotingSession> save(VotingSession session) {
-        if (session.sessionId() == null) {
-            return template.insert(VotingSession.class)
-                    .using(session);
-        } else {
-            return template.update(session);
-        }
+    public Mono<SessionInsertResult> insertIfAbsent(VotingSession session) {
+        // unique_session_per_agenda (V9) settles concurrent opens; the agenda check shares the statement's snapshot
+        return Mono.defer(() -> template.getDatabaseClient().sql("""
+                WITH agenda AS (
+                    SELECT id FROM agendas WHERE id = :agendaId
+                ),
+                inserted AS (
+                    INSERT INTO voting_sessions (agenda_id, duration_minutes, end_time)
+                    SELECT id, :durationMinutes, :endTime
+                    FROM agenda
+                    ON CONFLICT (agenda_id) DO NOTHING
+                    RETURNING id
+                )
+                SELECT
+                    EXISTS (SELECT 1 FROM agenda) AS agenda_exists,
+                    inserted.id
+                FROM (SELECT 1) AS one
+                LEFT JOIN inserted ON true
+                """)
+                .bind("agendaId", session.agendaId())
+                .bind("durationMinutes", session.durationMinutes())
+                .bind("endTime", session.endTime())
+                .map((row, _) -> {
+                    Long id = row.get("id", Long.class);
+                    if (id != null) {
+                        return SessionInsertResult.inserted(new VotingSession(
+                                id, session.agendaId(), session.durationMinutes(), session.endTime()));
+                    }
+                    if (!Boolean.TRUE.equals(row.get("agenda_exists", Boolean.class))) {
+                        return SessionInsertResult.rejected(SessionInsertResult.Outcome.AGENDA_NOT_FOUND);
+                    }
+                    return SessionInsertResult.rejected(SessionInsertResult.Outcome.ALREADY_EXISTS);
+                })
+                .one())
+        // Apply database resilience
+        .transform(RetryOperator.of(retry))
+        .transform(TimeLimiterOperator.of(timeLimiter));
     }
 
     @Override
@@ -33,4 +78,20 @@ public class VotingSessionRepositoryImpl implements VotingSessionRepository {
                 VotingSession.class
         );
     }
+
+    @Override
+    public Flux<VotingSession> findOpenAt(LocalDateTime now) {
+        return template.select(
+                Query.query(Criteria.where("end_time").greaterThanOrEquals(now)),
+                VotingSession.class
+        );
+    }
+
+    @Override
+    public Flux<VotingSession> findNotClosed() {
+        return template.select(
+                Query.query(Criteria.where("closed_at").isNull()),
+                VotingSession.class
+        );
+    }
 }
@@ -0,0 +1,63 @@
+package com.rdpk.features.voting.batch;
+
+import com.rdpk.features.voting.submit.SubmitVoteRequest;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.reactor.ratelimiter.operator.RateLimiterOperator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/agendas")
+public class SubmitVoteBatchController {
+
+    private final SubmitVoteBatchHandler submitVoteBatchHandler;
+    private final RateLimiter rateLimiter;
+    private final int maxItems;
+
+    public SubmitVoteBatchController(
+            SubmitVoteBatchHandler submitVoteBatchHandler,
+            RateLimiterRegistry rateLimiterRegistry,
+            @Value("${votes.batch.max-items:5000}") int maxItems) {
+        this.submitVoteBatchHandler = submitVoteBatchHandler;
+        this.rateLimiter = rateLimiterRegistry.rateLimiter("voteSubmission");
+        this.maxItems = maxItems;
+    }
+
+    @PostMapping("/{agendaId}/votes:batch")
+    public Mono<ResponseEntity<?>> submitVotes(
+            @PathVariable Long agendaId,
+            @RequestBody List<SubmitVoteRequest> requests) {
+
+        return Mono.defer(() -> {
+            if (requests.isEmpty()) {
+                return Mono.just(ResponseEntity.badRequest()
+                        .body(Map.of("error", "At least one vote is required")));
+            }
+            if (requests.size() > maxItems) {
+                return Mono.just(ResponseEntity.badRequest()
+                        .body(Map.of("error", "Batch must not exceed " + maxItems + " votes")));
+            }
+
+            return submitVoteBatchHandler.submitVotes(agendaId, requests)
+                    .map(results -> SubmitVoteBatchResponse.from(agendaId, results))
+                    .map(response -> ResponseEntity.ok().body(response));
+        })
+        .transform(RateLimiterOperator.of(rateLimiter))
+        .onErrorResume(RequestNotPermitted.class, _ -> {
+            return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(Map.of("error", "Too many requests. Please try again later.")));
+        });
+    }
+}
@@ -0,0 +1,149 @@
+package com.rdpk.features.voting.batch;
+
+import com.rdpk.exception.VotingException;
+import com.rdpk.features.session.repository.VotingSessionRepository;
+import com.rdpk.features.voting.cpfvalidation.CpfValidationResponse;
+import com.rdpk.features.voting.cpfvalidation.CpfValidationService;
+import com.rdpk.features.voting.domain.Cpf;
+import com.rdpk.features.voting.domain.Vote;
+import com.rdpk.features.voting.journal.VoteJournal;
+import com.rdpk.features.voting.repository.VoteRepository;
+import com.rdpk.features.voting.submit.SubmitVoteRequest;
+import com.rdpk.features.voting.tally.LiveTallyStore;
+import com.rdpk.features.voting.voters.VoterSets;
+import com.rdpk.infrastructure.time.TimeProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class SubmitVoteBatchHandler {
+
+    private final VoteRepository voteRepository;
+    private final VotingSessionRepository sessionRepository;
+    private final CpfValidationService cpfValidationService;
+    private final TimeProvider timeProvider;
+    private final LiveTallyStore liveTallies;
+    private final VoterSets voterSets;
+    private final VoteJournal voteJournal;
+
+    public SubmitVoteBatchHandler(VoteRepository voteRepository,
+                                  VotingSessionRepository sessionRepository,
+                                  CpfValidationService cpfValidationService,
+                                  TimeProvider timeProvider,
+                                  LiveTallyStore liveTallies,
+                                  VoterSets voterSets,
+                                  VoteJournal voteJournal) {
+        this.voteRepository = voteRepository;
+        this.sessionRepository = sessionRepository;
+        this.cpfValidationService = cpfValidationService;
+        this.timeProvider = timeProvider;
+        this.liveTallies = liveTallies;
+        this.voterSets = voterSets;
+        this.voteJournal = voteJournal;
+    }
+
+    /**
+     * Submits a batch of votes for one agenda and returns one result per request, in input order.
+     * The session is checked once, CPFs are validated as a group and all accepted votes are written in one statement.
+     */
+    public Mono<List<VoteBatchItemResult>> submitVotes(Long agendaId, List<SubmitVoteRequest> requests) {
+        return sessionRepository.findByAgendaId(agendaId)
+                .switchIfEmpty(Mono.error(new VotingException("Voting session not found", HttpStatus.NOT_FOUND)))
+                .flatMap(session -> {
+                    if (timeProvider.now().isAfter(session.endTime())) {
+                        return Mono.just(allWithStatus(requests, VoteBatchItemStatus.CLOSED));
+                    }
+                    return validateAndSaveVotes(agendaId, requests);
+                });
+    }
+
+    private Mono<List<VoteBatchItemResult>> validateAndSaveVotes(Long agendaId, List<SubmitVoteRequest> requests) {
+        Set<String> cpfs = new LinkedHashSet<>();
+        for (SubmitVoteRequest request : requests) {
+            if (isWellFormed(request)) {
+                cpfs.add(request.cpf());
+            }
+        }
+
+        return cpfValidationService.validateCpfs(cpfs)
+                .flatMap(validations -> {
+                    // First eligible vote per CPF wins; later copies in the same batch are duplicates
+                    Map<String, Vote> votesToSave = new LinkedHashMap<>();
+                    for (SubmitVoteRequest request : requests) {
+                        if (isWellFormed(request) && isAbleToVote(validations.get(request.cpf()))
+                                && !votesToSave.containsKey(request.cpf())) {
+                            Vote vote = new Vote(agendaId, Cpf.parse(request.cpf()), request.vote());
+                            // A journaled vote is not in votes yet, so ON CONFLICT would not see it
+                            if (voteJournal.reserve(agendaId, vote.cpf())) {
+                                votesToSave.put(request.cpf(), vote);
+                            }
+                        }
+                    }
+                    if (votesToSave.isEmpty()) {
+                        return Mono.just(toResults(requests, validations, List.of()));
+                    }
+                    return voteRepository.saveAll(List.copyOf(votesToSave.values()))
+                            .doOnNext(liveTallies::record)
+                            .doOnNext(voterSets::record)
+                            .collectList()
+                            .map(saved -> toResults(requests, validations, saved))
+                            .doFinally(_ -> votesToSave.values()
+                                    .forEach(vote -> voteJournal.release(agendaId, vote.cpf())));
+                });
+    }
+
+    private List<VoteBatchItemResult> toResults(List<SubmitVoteRequest> requests,
+                                                Map<String, CpfValidationResponse> validations,
+                                                List<Vote> saved) {
+        Map<Long, Vote> savedByCpf = new HashMap<>();
+        saved.forEach(vote -> savedByCpf.put(vote.cpf(), vote));
+        Set<Long> reported = new HashSet<>();
+
+        List<VoteBatchItemResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            SubmitVoteRequest request = requests.get(i);
+            String cpf = request != null ? request.cpf() : null;
+            if (!isWellFormed(request)) {
+                results.add(new VoteBatchItemResult(i, cpf, VoteBatchItemStatus.INVALID, null));
+            } else if (!isAbleToVote(validations.get(cpf))) {
+                results.add(new VoteBatchItemResult(i, cpf, VoteBatchItemStatus.INELIGIBLE, null));
+            } else {
+                Vote created = savedByCpf.get(Cpf.parse(cpf));
+                if (created != null && reported.add(created.cpf())) {
+                    results.add(new VoteBatchItemResult(i, cpf, VoteBatchItemStatus.CREATED, created.id()));
+                } else {
+                    // Skipped by ON CONFLICT or repeated within the batch
+                    results.add(new VoteBatchItemResult(i, cpf, VoteBatchItemStatus.DUPLICATE, null));
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<VoteBatchItemResult> allWithStatus(List<SubmitVoteRequest> requests, VoteBatchItemStatus status) {
+        List<VoteBatchItemResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            SubmitVoteRequest request = requests.get(i);
+            results.add(new VoteBatchItemResult(i, request != null ? request.cpf() : null, status, null));
+        }
+        return results;
+    }
+
+    private static boolean isWellFormed(SubmitVoteRequest request) {
+        return request != null && request.vote() != null && request.isValidCpfFormat();
+    }
+
+    private static boolean isAbleToVote(CpfValidationResponse response) {
+        return response != null && !"UNABLE_TO_VOTE".equals(response.status());
+    }
+}
@@ -0,0 +1,17 @@
+package com.rdpk.features.voting.batch;
+
+import java.util.List;
+
+public record SubmitVoteBatchResponse(
+    Long agendaId,
+    int created,
+    int rejected,
+    List<VoteBatchItemResult> results
+) {
+    public static SubmitVoteBatchResponse from(Long agendaId, List<VoteBatchItemResult> results) {
+        int created = (int) results.stream()
+                .filter(result -> result.status() == VoteBatchItemStatus.CREATED)
+                .count();
+        return new SubmitVoteBatchResponse(agendaId, created, results.size() - created, results);
+    }
+}
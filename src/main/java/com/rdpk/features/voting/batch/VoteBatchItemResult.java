@@ -0,0 +1,9 @@
+package com.rdpk.features.voting.batch;
+
+public record VoteBatchItemResult(
+    int index,
+    String cpf,
+    VoteBatchItemStatus status,
+    Long voteId
+) {
+}
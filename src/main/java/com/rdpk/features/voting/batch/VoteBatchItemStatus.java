@@ -0,0 +1,22 @@
+package com.rdpk.features.voting.batch;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum VoteBatchItemStatus {
+    CREATED("created"),
+    DUPLICATE("duplicate"),
+    INELIGIBLE("ineligible"),
+    CLOSED("closed"),
+    INVALID("invalid");
+
+    private final String value;
+
+    VoteBatchItemStatus(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+}
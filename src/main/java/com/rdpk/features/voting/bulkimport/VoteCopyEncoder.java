@@ -0,0 +1,75 @@
+package com.rdpk.features.voting.bulkimport;
+
+import com.rdpk.features.voting.domain.VoteChoice;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Binary COPY data for the vote_import staging table (line, agenda_id, cpf, vote_value, voted_at), see
+ * VoteImportRepositoryImpl. Rows are cut into chunks of about chunkBytes, each sent as one CopyData message.
+ *
+ * The binary format spares the server from parsing text: a row is a field count, then a length and the
+ * big-endian value for each field (-1 for NULL). A timestamp is microseconds since 2000-01-01 00:00.
+ * Not thread-safe; one encoder per import.
+ */
+final class VoteCopyEncoder {
+
+    static final int ROW_BYTES = Short.BYTES + 3 * (Integer.BYTES + Long.BYTES) + Integer.BYTES + Short.BYTES
+            + Integer.BYTES + Long.BYTES;
+
+    // "PGCOPY\n\377\r\n\0", then the flags field and the header extension length
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final short FIELDS = 5;
+    private static final long POSTGRES_EPOCH_SECOND = 946_684_800; // 2000-01-01T00:00:00Z
+    private static final int MIN_CHUNK_BYTES = 1024;
+
+    private final int chunkBytes;
+    private ByteBuffer buffer;
+
+    VoteCopyEncoder(int chunkBytes) {
+        this.chunkBytes = Math.max(chunkBytes, MIN_CHUNK_BYTES);
+        this.buffer = ByteBuffer.allocate(this.chunkBytes);
+        buffer.put(SIGNATURE).putInt(0).putInt(0);
+    }
+
+    /**
+     * Adds a row. Returns the previous chunk once it is full, or null.
+     */
+    ByteBuf add(long line, long agendaId, long cpf, VoteChoice vote, LocalDateTime votedAt) {
+        // Leaves room for the trailer after any row
+        ByteBuf full = buffer.remaining() < ROW_BYTES + Short.BYTES ? take() : null;
+        buffer.putShort(FIELDS)
+                .putInt(Long.BYTES).putLong(line)
+                .putInt(Long.BYTES).putLong(agendaId)
+                .putInt(Long.BYTES).putLong(cpf)
+                .putInt(Short.BYTES).putShort(vote.getCode());
+        if (votedAt == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(Long.BYTES).putLong(micros(votedAt));
+        }
+        return full;
+    }
+
+    /**
+     * Ends the data. Returns the last chunk; the encoder is done.
+     */
+    ByteBuf finish() {
+        buffer.putShort((short) -1);
+        return take();
+    }
+
+    private ByteBuf take() {
+        ByteBuf chunk = Unpooled.wrappedBuffer(buffer.array(), 0, buffer.position());
+        buffer = ByteBuffer.allocate(chunkBytes);
+        return chunk;
+    }
+
+    static long micros(LocalDateTime time) {
+        return (time.toEpochSecond(ZoneOffset.UTC) - POSTGRES_EPOCH_SECOND) * 1_000_000 + time.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,98 @@
+package com.rdpk.features.voting.bulkimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdpk.Application;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command-line vote import, run from the application jar:
+ * {@code java -jar rdpk.jar import-votes [--format=csv|ndjson] <file> [--spring.r2dbc.url=... other properties]}.
+ *
+ * Starts the application without a web server, imports the file through {@link VoteImportHandler} and prints the
+ * report as JSON on stdout. Exits 0 once the import is committed (rows may still have been rejected), 1 if it
+ * failed and nothing was imported, 2 on bad arguments.
+ */
+public final class VoteImportCommand {
+
+    public static final String NAME = "import-votes";
+
+    private static final String FORMAT_OPTION = "--format=";
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    // Override any configuration: the command must not share a running server's journal directory, close sessions
+    // or join its cluster
+    private static final List<String> FORCED_PROPERTIES = List.of(
+            "--votes.journal.enabled=false",
+            "--sessions.closing.enabled=false",
+            "--cluster.events.enabled=false",
+            "--tallies.live.enabled=false",
+            "--cpf.validation.roll.enabled=false");
+
+    private VoteImportCommand() {
+    }
+
+    public static int run(String... args) {
+        String format = null;
+        Path file = null;
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith(FORMAT_OPTION)) {
+                format = arg.substring(FORMAT_OPTION.length());
+            } else if (arg.startsWith("--")) {
+                springArgs.add(arg);
+            } else if (file == null) {
+                file = Path.of(arg);
+            } else {
+                return usage("Only one file can be imported at a time");
+            }
+        }
+        if (file == null) {
+            return usage("No file given");
+        }
+        if (!Files.isReadable(file)) {
+            return usage("Cannot read " + file);
+        }
+        VoteImportFormat importFormat;
+        try {
+            importFormat = VoteImportFormat.of(format, file.getFileName().toString());
+        } catch (IllegalArgumentException e) {
+            return usage(e.getMessage());
+        }
+        springArgs.addAll(FORCED_PROPERTIES);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .properties("logging.level.root=WARN") // Keeps stdout for the report
+                .run(springArgs.toArray(String[]::new))) {
+            VoteImportReport report = context.getBean(VoteImportHandler.class)
+                    .importVotes(DataBufferUtils.read(file, DefaultDataBufferFactory.sharedInstance, READ_BUFFER_BYTES),
+                            importFormat)
+                    .block();
+            System.out.println(context.getBean(ObjectMapper.class)
+                    .writerWithDefaultPrettyPrinter()
+                    .writeValueAsString(report));
+            return 0;
+        } catch (Exception e) {
+            System.err.println("Vote import failed, nothing was imported: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static int usage(String problem) {
+        System.err.println(problem);
+        System.err.println("Usage: java -jar rdpk.jar " + NAME
+                + " [--format=csv|ndjson] <file> [--spring.r2dbc.url=... --spring.r2dbc.username=... ...]");
+        return 2;
+    }
+}
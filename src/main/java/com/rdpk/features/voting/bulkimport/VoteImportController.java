@@ -0,0 +1,29 @@
+package com.rdpk.features.voting.bulkimport;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/admin/vote-imports")
+public class VoteImportController {
+
+    private final VoteImportHandler voteImportHandler;
+
+    public VoteImportController(VoteImportHandler voteImportHandler) {
+        this.voteImportHandler = voteImportHandler;
+    }
+
+    /**
+     * Imports the uploaded file of votes and reports the rows it rejected. The body is streamed into the database
+     * as it arrives, so its size is not limited by memory.
+     */
+    @PostMapping(consumes = {VoteImportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<VoteImportReport> importVotes(ServerHttpRequest request) {
+        return Mono.defer(() -> voteImportHandler.importVotes(request.getBody(),
+                VoteImportFormat.of(request.getHeaders().getContentType())));
+    }
+}
@@ -0,0 +1,47 @@
+package com.rdpk.features.voting.bulkimport;
+
+import com.rdpk.exception.VotingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Layouts a vote import file can have, one vote per line:
+ * CSV with columns agenda_id,cpf,vote[,voted_at] (an optional first line naming them is skipped), or NDJSON objects
+ * {"agendaId": 1, "cpf": "11144477735", "vote": "Yes", "votedAt": "2025-03-01T12:00:00"} with votedAt optional.
+ */
+public enum VoteImportFormat {
+    CSV,
+    NDJSON;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static VoteImportFormat of(MediaType contentType) {
+        if (contentType != null && contentType.equalsTypeAndSubtype(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+            return CSV;
+        }
+        if (contentType != null && contentType.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)) {
+            return NDJSON;
+        }
+        throw new VotingException("Votes must be uploaded as " + TEXT_CSV_VALUE + " or " + MediaType.APPLICATION_NDJSON_VALUE,
+                HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+    }
+
+    /**
+     * The format named by --format=, or else the one the file name ends in (.csv, .ndjson or .jsonl).
+     */
+    public static VoteImportFormat of(String name, String fileName) {
+        if (name != null) {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        }
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the format of " + fileName + ", pass --format=csv or --format=ndjson");
+    }
+}
@@ -0,0 +1,88 @@
+package com.rdpk.features.voting.bulkimport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdpk.config.VoteImportConfig;
+import com.rdpk.features.voting.journal.VoteJournal;
+import com.rdpk.features.voting.repository.VoteImportRepository;
+import com.rdpk.infrastructure.time.TimeProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.buffer.ByteBuf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Imports votes collected offline from a CSV or NDJSON upload (see {@link VoteImportFormat}).
+ *
+ * The upload is parsed line by line as it arrives and streamed into Postgres with COPY, then merged into votes in
+ * the same transaction: the whole file is imported or none of it. Rows are rejected, with their line, when they
+ * cannot be read, when their agenda has no session or its results are final, when voted_at falls outside the session,
+ * or when the CPF already voted (in votes or on an earlier line). CPF eligibility is not checked, only check digits;
+ * ballots are expected to have been checked when they were collected. Rows without voted_at get the import time.
+ */
+@Service
+public class VoteImportHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteImportHandler.class);
+    private static final StringDecoder LINES = StringDecoder.allMimeTypes(List.of("\n"), true);
+    private static final ResolvableType STRING = ResolvableType.forClass(String.class);
+
+    private final VoteImportRepository voteImportRepository;
+    private final VoteJournal voteJournal;
+    private final VoteImportConfig config;
+    private final ObjectMapper objectMapper;
+    private final TimeProvider timeProvider;
+    private final Counter imported;
+    private final Counter rejected;
+
+    public VoteImportHandler(VoteImportRepository voteImportRepository,
+                             VoteJournal voteJournal,
+                             VoteImportConfig config,
+                             ObjectMapper objectMapper,
+                             TimeProvider timeProvider,
+                             MeterRegistry meterRegistry) {
+        this.voteImportRepository = voteImportRepository;
+        this.voteJournal = voteJournal;
+        this.config = config;
+        this.objectMapper = objectMapper;
+        this.timeProvider = timeProvider;
+        this.imported = rows(meterRegistry, "imported");
+        this.rejected = rows(meterRegistry, "rejected");
+    }
+
+    public Mono<VoteImportReport> importVotes(Flux<DataBuffer> content, VoteImportFormat format) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            VoteImportReader reader = new VoteImportReader(format, objectMapper.getFactory(),
+                    (int) config.getCopyChunkSize().toBytes(), config.getMaxReportedRejections());
+            Flux<ByteBuf> copyData = reader.copyData(LINES.decode(content, STRING, null, null))
+                    // Right before the merge, this instance's journaled votes are written, so a CPF that is both
+                    // journaled and imported keeps the vote its voter was told was accepted
+                    .concatWith(voteJournal.drain().then(Mono.<ByteBuf>empty()));
+            return voteImportRepository.importVotes(copyData, timeProvider.now(), config.getMaxReportedRejections())
+                    .map(merge -> reader.report(merge, Duration.ofNanos(System.nanoTime() - started)))
+                    .doOnNext(report -> {
+                        imported.increment(report.imported());
+                        rejected.increment(report.rejected());
+                        log.info("Imported {} of {} votes in {} ms ({} rows/s), rejected {}", report.imported(),
+                                report.rows(), report.elapsedMillis(), report.rowsPerSecond(), report.rejectedByReason());
+                    });
+        });
+    }
+
+    private static Counter rows(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("votes.import.rows")
+                .description("Rows of vote imports written to votes (imported) or rejected")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,224 @@
+package com.rdpk.features.voting.bulkimport;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.rdpk.features.voting.domain.Cpf;
+import com.rdpk.features.voting.domain.VoteChoice;
+import com.rdpk.features.voting.repository.VoteImportMerge;
+import io.netty.buffer.ByteBuf;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One import's pass over its file: parses each line, encodes the readable votes as COPY data and keeps the lines
+ * it could not read as INVALID rejections. Checks against sessions and existing votes happen in the database.
+ * Single use, not thread-safe.
+ */
+final class VoteImportReader {
+
+    private static final String CSV_HEADER = "agenda_id";
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+    private static final VoteChoice[] CHOICES = VoteChoice.values();
+
+    private final VoteImportFormat format;
+    private final JsonFactory jsonFactory;
+    private final VoteCopyEncoder encoder;
+    private final int maxRejections;
+    private final List<VoteImportRejection> rejections = new ArrayList<>();
+    private long rows;
+    private long invalid;
+
+    VoteImportReader(VoteImportFormat format, JsonFactory jsonFactory, int chunkBytes, int maxRejections) {
+        this.format = format;
+        this.jsonFactory = jsonFactory;
+        this.encoder = new VoteCopyEncoder(chunkBytes);
+        this.maxRejections = maxRejections;
+    }
+
+    /**
+     * COPY data for the lines, numbered from 1, ending with the COPY trailer.
+     */
+    Flux<ByteBuf> copyData(Flux<String> lines) {
+        return lines.index()
+                .<ByteBuf>handle((line, sink) -> {
+                    ByteBuf chunk = read(line.getT1() + 1, line.getT2());
+                    if (chunk != null) {
+                        sink.next(chunk);
+                    }
+                })
+                .concatWith(Mono.fromSupplier(encoder::finish));
+    }
+
+    /**
+     * Combines this pass's rejections with the merge's. Call once the merge is done.
+     */
+    VoteImportReport report(VoteImportMerge merge, Duration elapsed) {
+        List<VoteImportRejection> all = new ArrayList<>(rejections);
+        for (VoteImportMerge.Rejection rejection : merge.rejections()) {
+            all.add(new VoteImportRejection(rejection.line(), Cpf.format(rejection.cpf()),
+                    VoteImportRejectionReason.of(rejection.reason())));
+        }
+        // Both lists hold the first rejections of their kind, so the first of both together are the first overall
+        all.sort(Comparator.comparingLong(VoteImportRejection::line));
+
+        Map<String, Long> byReason = new LinkedHashMap<>();
+        if (invalid > 0) {
+            byReason.put(VoteImportRejectionReason.INVALID.getValue(), invalid);
+        }
+        merge.rejectedByReason().forEach((reason, count) ->
+                byReason.put(VoteImportRejectionReason.of(reason).getValue(), count));
+
+        long millis = elapsed.toMillis();
+        return new VoteImportReport(
+                rows,
+                merge.imported(),
+                invalid + merge.rejected(),
+                byReason,
+                List.copyOf(all.subList(0, Math.min(all.size(), maxRejections))),
+                millis,
+                millis > 0 ? rows * 1000 / millis : rows);
+    }
+
+    // Returns a full chunk of COPY data when the line completes one
+    ByteBuf read(long line, String text) {
+        String trimmed = text.strip();
+        if (line == 1 && !trimmed.isEmpty() && trimmed.charAt(0) == BYTE_ORDER_MARK) {
+            trimmed = trimmed.substring(1);
+        }
+        if (trimmed.isEmpty() || (line == 1 && format == VoteImportFormat.CSV && trimmed.startsWith(CSV_HEADER))) {
+            return null;
+        }
+        rows++;
+
+        Fields fields = format == VoteImportFormat.CSV ? csv(trimmed) : ndjson(trimmed);
+        if (fields == null) {
+            reject(line, null);
+            return null;
+        }
+        long agendaId = agendaId(fields.agendaId());
+        long cpf = Cpf.parseValid(fields.cpf());
+        VoteChoice vote = choice(fields.vote());
+        LocalDateTime votedAt = null;
+        boolean timeValid = true;
+        if (fields.votedAt() != null && !fields.votedAt().isEmpty()) {
+            votedAt = timestamp(fields.votedAt());
+            timeValid = votedAt != null;
+        }
+        if (agendaId <= 0 || cpf == Cpf.INVALID || vote == null || !timeValid) {
+            reject(line, fields.cpf());
+            return null;
+        }
+        return encoder.add(line, agendaId, cpf, vote, votedAt);
+    }
+
+    private void reject(long line, String cpf) {
+        invalid++;
+        if (rejections.size() < maxRejections) {
+            rejections.add(new VoteImportRejection(line, cpf, VoteImportRejectionReason.INVALID));
+        }
+    }
+
+    // agenda_id,cpf,vote[,voted_at]; fields may be quoted
+    private static Fields csv(String line) {
+        String[] columns = line.split(",", -1);
+        if (columns.length < 3 || columns.length > 4) {
+            return null;
+        }
+        return new Fields(unquote(columns[0]), unquote(columns[1]), unquote(columns[2]),
+                columns.length == 4 ? unquote(columns[3]) : null);
+    }
+
+    private Fields ndjson(String line) {
+        String agendaId = null;
+        String cpf = null;
+        String vote = null;
+        String votedAt = null;
+        try (JsonParser parser = jsonFactory.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (token.isStructStart()) {
+                    parser.skipChildren();
+                    continue;
+                }
+                String value = token == JsonToken.VALUE_NULL ? null : parser.getText();
+                switch (name) {
+                    case "agendaId" -> agendaId = value;
+                    case "cpf" -> cpf = value;
+                    case "vote" -> vote = value;
+                    case "votedAt" -> votedAt = value;
+                    default -> {
+                        // Other fields are ignored
+                    }
+                }
+            }
+            if (parser.nextToken() != null) {
+                return null; // Anything after the object
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return new Fields(agendaId, cpf, vote, votedAt);
+    }
+
+    private static String unquote(String field) {
+        String trimmed = field.strip();
+        if (trimmed.length() >= 2 && trimmed.charAt(0) == '"' && trimmed.charAt(trimmed.length() - 1) == '"') {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+
+    private static long agendaId(String text) {
+        if (text == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static VoteChoice choice(String text) {
+        for (VoteChoice choice : CHOICES) {
+            if (choice.getValue().equalsIgnoreCase(text)) {
+                return choice;
+            }
+        }
+        return null;
+    }
+
+    // ISO-8601 local time, or with an offset converted to this server's zone as TimeProvider uses; null if neither
+    private static LocalDateTime timestamp(String text) {
+        try {
+            TemporalAccessor parsed = DateTimeFormatter.ISO_DATE_TIME.parseBest(text, OffsetDateTime::from, LocalDateTime::from);
+            return parsed instanceof OffsetDateTime offset
+                    ? offset.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime()
+                    : (LocalDateTime) parsed;
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private record Fields(String agendaId, String cpf, String vote, String votedAt) {
+    }
+}
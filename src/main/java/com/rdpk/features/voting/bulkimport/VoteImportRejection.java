@@ -0,0 +1,8 @@
+package com.rdpk.features.voting.bulkimport;
+
+public record VoteImportRejection(
+    long line,
+    String cpf, // As written in the file; null if the line could not be read
+    VoteImportRejectionReason reason
+) {
+}
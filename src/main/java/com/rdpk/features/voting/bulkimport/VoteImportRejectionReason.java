@@ -0,0 +1,32 @@
+package com.rdpk.features.voting.bulkimport;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.rdpk.features.voting.repository.VoteImportMerge;
+
+public enum VoteImportRejectionReason {
+    INVALID("invalid"), // Unreadable line, malformed CPF (check digits included), vote or time
+    NO_SESSION("no_session"),
+    SESSION_CLOSED("session_closed"), // Final results already stored
+    OUTSIDE_SESSION("outside_session"), // voted_at before the session opened or after it ended
+    DUPLICATE("duplicate"); // Already in votes, or an earlier line of the file voted first
+
+    private final String value;
+
+    VoteImportRejectionReason(String value) {
+        this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+        return value;
+    }
+
+    static VoteImportRejectionReason of(VoteImportMerge.Reason reason) {
+        return switch (reason) {
+            case NO_SESSION -> NO_SESSION;
+            case SESSION_CLOSED -> SESSION_CLOSED;
+            case OUTSIDE_SESSION -> OUTSIDE_SESSION;
+            case DUPLICATE -> DUPLICATE;
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package com.rdpk.features.voting.bulkimport;
+
+import java.util.List;
+import java.util.Map;
+
+public record VoteImportReport(
+    long rows, // Non-blank lines, header excluded
+    long imported,
+    long rejected,
+    Map<String, Long> rejectedByReason,
+    List<VoteImportRejection> rejections, // The first votes.import.max-reported-rejections, by line
+    long elapsedMillis,
+    long rowsPerSecond
+) {
+}
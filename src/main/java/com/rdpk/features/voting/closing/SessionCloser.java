@@ -0,0 +1,118 @@
+package com.rdpk.features.voting.closing;
+
+import com.rdpk.config.SessionClosingConfig;
+import com.rdpk.features.session.domain.VotingSession;
+import com.rdpk.features.session.expiration.SessionExpirationListener;
+import com.rdpk.features.voting.journal.VoteJournal;
+import com.rdpk.features.voting.repository.FinalResultRepository;
+import com.rdpk.infrastructure.cluster.ClusterEvent;
+import com.rdpk.infrastructure.cluster.ClusterEventBus;
+import com.rdpk.infrastructure.time.TimeProvider;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Materializes the final results of sessions whose end time has passed.
+ *
+ * A run is triggered by the session expiration timer once a session is past its end time plus the grace period,
+ * and by a slower safety-net poll. Each run claims due sessions in batches until none are left, so sessions that
+ * ended while the service was down are closed on the first run after startup. Triggers arriving while a run is in
+ * progress collapse into one follow-up run. Claims use SKIP LOCKED: several instances can run at once and each
+ * session is closed exactly once.
+ */
+@Component
+public class SessionCloser implements SessionExpirationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionCloser.class);
+
+    private final FinalResultRepository finalResultRepository;
+    private final TimeProvider timeProvider;
+    private final SessionClosingConfig config;
+    private final ClusterEventBus clusterEvents;
+    private final VoteJournal voteJournal;
+    private final Sinks.Many<Long> triggers = Sinks.many().unicast().onBackpressureBuffer();
+    private Disposable poller;
+
+    public SessionCloser(FinalResultRepository finalResultRepository,
+                         TimeProvider timeProvider,
+                         SessionClosingConfig config,
+                         ClusterEventBus clusterEvents,
+                         VoteJournal voteJournal) {
+        this.finalResultRepository = finalResultRepository;
+        this.timeProvider = timeProvider;
+        this.config = config;
+        this.clusterEvents = clusterEvents;
+        this.voteJournal = voteJournal;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        poller = Flux.merge(Flux.interval(Duration.ZERO, config.getPollInterval()), triggers.asFlux())
+                .onBackpressureDrop()
+                .concatMap(_ -> closeDueSessions()
+                        .onErrorResume(throwable -> {
+                            log.warn("Closing due voting sessions failed, retrying on next poll: {}",
+                                    throwable.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+        log.info("Session close pipeline enabled (pollInterval={}, grace={})",
+                config.getPollInterval(), config.getGrace());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (poller != null) {
+            poller.dispose();
+        }
+    }
+
+    @Override
+    public void onSessionExpired(VotingSession session) {
+        if (config.isEnabled()) {
+            triggers.tryEmitNext(session.agendaId()); // Dropped downstream if a run is already queued
+        }
+    }
+
+    @Override
+    public Duration delay() {
+        return config.getGrace();
+    }
+
+    /**
+     * Closes every session that ended more than the grace period ago. Emits the number of sessions closed.
+     */
+    public Mono<Long> closeDueSessions() {
+        // Votes acknowledged from this instance's journal must be in votes before their totals are frozen. Other
+        // instances' flushes hold the sessions they write into, and drop their rows once a session is closed
+        return voteJournal.drain()
+                .then(closeBatch())
+                .expand(closed -> closed < config.getBatchSize() ? Mono.empty() : closeBatch())
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> closeBatch() {
+        return Mono.defer(() -> {
+            LocalDateTime now = timeProvider.now();
+            return finalResultRepository.closeSessionsEndedBefore(now.minus(config.getGrace()), now, config.getBatchSize())
+                    .doOnNext(result -> log.debug("Voting session for agenda {} closed: {} yes / {} no",
+                            result.agendaId(), result.yesVotes(), result.noVotes()))
+                    .concatMap(result -> clusterEvents.publish(ClusterEvent.sessionClosed(result.agendaId()))
+                            .thenReturn(result))
+                    .count();
+        });
+    }
+}
@@ -0,0 +1,140 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.rdpk.config.CpfValidationConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Caches CPF validation results in front of a remote validator.
+ *
+ * ABLE_TO_VOTE and UNABLE_TO_VOTE answers are cached with their own TTL. Past its TTL an entry is stale:
+ * it is still served while the circuit breaker is open, and otherwise served while a background refresh
+ * replaces it. Entries are dropped after TTL + max-stale. Validator failures are never cached.
+ */
+public class CachingCpfValidationService implements CpfValidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingCpfValidationService.class);
+
+    private final Function<String, Mono<CpfValidationResponse>> validator;
+    private final CircuitBreaker circuitBreaker;
+    private final Ticker ticker;
+    private final long ableTtlNanos;
+    private final long unableTtlNanos;
+    private final Cache<String, CachedResult> cache;
+    private final Map<String, Boolean> refreshing = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+
+    /**
+     * @param validator call to the validator without fallback, so failures can be told apart from answers
+     */
+    public CachingCpfValidationService(Function<String, Mono<CpfValidationResponse>> validator,
+                                       CircuitBreaker circuitBreaker,
+                                       CpfValidationConfig.Cache config,
+                                       MeterRegistry meterRegistry) {
+        this(validator, circuitBreaker, config, meterRegistry, Ticker.systemTicker());
+    }
+
+    CachingCpfValidationService(Function<String, Mono<CpfValidationResponse>> validator,
+                                CircuitBreaker circuitBreaker,
+                                CpfValidationConfig.Cache config,
+                                MeterRegistry meterRegistry,
+                                Ticker ticker) {
+        this.validator = validator;
+        this.circuitBreaker = circuitBreaker;
+        this.ticker = ticker;
+        this.ableTtlNanos = config.getAbleTtl().toNanos();
+        this.unableTtlNanos = config.getUnableTtl().toNanos();
+
+        Duration maxStale = config.getMaxStale();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .ticker(ticker)
+                .expireAfter(Expiry.<String, CachedResult>writing((_, result) ->
+                        Duration.ofNanos(Math.max(0, result.freshUntil() - ticker.read())).plus(maxStale)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "cpfValidations");
+
+        this.hits = requests(meterRegistry, "hit");
+        this.staleHits = requests(meterRegistry, "stale");
+        this.misses = requests(meterRegistry, "miss");
+    }
+
+    @Override
+    public Mono<CpfValidationResponse> validateCpf(String cpf) {
+        return Mono.defer(() -> {
+            CachedResult cached = cache.getIfPresent(cpf);
+            if (cached == null) {
+                misses.increment();
+                return load(cpf)
+                        .onErrorResume(throwable -> {
+                            log.warn("CPF validation failed for {}: {}. Returning UNABLE_TO_VOTE fallback",
+                                    cpf, throwable.getMessage());
+                            return Mono.just(new CpfValidationResponse("UNABLE_TO_VOTE"));
+                        });
+            }
+
+            if (ticker.read() - cached.freshUntil() < 0) {
+                hits.increment();
+                return Mono.just(cached.response());
+            }
+
+            // Stale: answer now, refresh behind the caller unless the validator is known to be down
+            staleHits.increment();
+            if (!isCircuitOpen()) {
+                refreshInBackground(cpf);
+            }
+            return Mono.just(cached.response());
+        });
+    }
+
+    private Mono<CpfValidationResponse> load(String cpf) {
+        return validator.apply(cpf)
+                .doOnNext(response -> cache.put(cpf, new CachedResult(response, ticker.read() + ttlOf(response))));
+    }
+
+    private void refreshInBackground(String cpf) {
+        if (refreshing.putIfAbsent(cpf, Boolean.TRUE) != null) {
+            return; // Already refreshing; keep serving the stale entry
+        }
+        load(cpf)
+                .doFinally(_ -> refreshing.remove(cpf))
+                .subscribe(_ -> { }, throwable ->
+                        log.debug("Refresh of cached CPF validation failed: {}", throwable.getMessage()));
+    }
+
+    private boolean isCircuitOpen() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    private long ttlOf(CpfValidationResponse response) {
+        return "ABLE_TO_VOTE".equals(response.status()) ? ableTtlNanos : unableTtlNanos;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cpf.validation.cache.requests")
+                .description("CPF validation cache lookups by result (hit, stale, miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record CachedResult(CpfValidationResponse response, long freshUntil) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import java.util.Map;
+
+public record CpfBatchValidationResponse(
+        Map<String, CpfValidationResponse> results
+) {
+}
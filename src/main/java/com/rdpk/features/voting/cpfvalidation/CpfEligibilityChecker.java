@@ -0,0 +1,27 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import com.rdpk.config.CpfValidationConfig;
+import com.rdpk.features.voting.domain.Cpf;
+import org.springframework.stereotype.Component;
+
+/**
+ * Validator logic shared by the CPF validation endpoint and the in-process validation service.
+ */
+@Component
+public class CpfEligibilityChecker {
+
+    private final CpfValidationConfig config;
+
+    public CpfEligibilityChecker(CpfValidationConfig config) {
+        this.config = config;
+    }
+
+    public boolean isAbleToVote(String cpf) {
+        // If lenient mode is enabled, accept any CPF
+        if (config.isLenient()) {
+            return true;
+        }
+        // Otherwise, check format and check digits (same rules as caelum-stella's CPFValidator)
+        return Cpf.isValid(cpf);
+    }
+}
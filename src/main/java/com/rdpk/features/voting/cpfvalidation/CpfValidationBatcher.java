@@ -0,0 +1,63 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import com.rdpk.config.CpfValidationConfig;
+import com.rdpk.infrastructure.batch.MicroBatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Gathers single CPF validations for up to {@code cpf.validation.batching.window} or
+ * {@code cpf.validation.batching.max-size} CPFs and resolves them with one batch call.
+ * A failed batch call fails every validation in it. The owner disposes it on shutdown.
+ */
+class CpfValidationBatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(CpfValidationBatcher.class);
+
+    private final Function<List<String>, Mono<Map<String, CpfValidationResponse>>> batchCall;
+    private final MicroBatcher<PendingValidation> pendingValidations;
+
+    CpfValidationBatcher(Function<List<String>, Mono<Map<String, CpfValidationResponse>>> batchCall,
+                         CpfValidationConfig.Batching config) {
+        this.batchCall = batchCall;
+        this.pendingValidations = new MicroBatcher<>(config.getMaxSize(), config.getWindow(),
+                config.getMaxConcurrentBatches(), this::flush);
+    }
+
+    Mono<CpfValidationResponse> validate(String cpf) {
+        return Mono.create(sink -> pendingValidations.add(new PendingValidation(cpf, sink)));
+    }
+
+    void dispose() {
+        pendingValidations.dispose();
+    }
+
+    private Mono<Void> flush(List<PendingValidation> batch) {
+        List<String> cpfs = batch.stream().map(PendingValidation::cpf).distinct().toList();
+        return batchCall.apply(cpfs)
+                .defaultIfEmpty(Map.of())
+                .doOnNext(results -> batch.forEach(pending -> {
+                    CpfValidationResponse response = results.get(pending.cpf());
+                    if (response != null) {
+                        pending.sink().success(response);
+                    } else {
+                        pending.sink().error(new IllegalStateException("CPF missing from batch validation response"));
+                    }
+                }))
+                .onErrorResume(throwable -> {
+                    log.warn("CPF batch validation of {} CPFs failed: {}", cpfs.size(), throwable.getMessage());
+                    batch.forEach(pending -> pending.sink().error(throwable));
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private record PendingValidation(String cpf, MonoSink<CpfValidationResponse> sink) {
+    }
+}
@@ -1,36 +1,36 @@
 package com.rdpk.features.voting.cpfvalidation;
 
-import br.com.caelum.stella.validation.CPFValidator;
-import com.rdpk.config.CpfValidationConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/v1/cpf-validation")
 public class CpfValidationController {
 
-    private final CPFValidator cpfValidator = new CPFValidator();
-    private final CpfValidationConfig config;
+    private final CpfEligibilityChecker eligibilityChecker;
+    private final int maxBatchItems;
     
-    public CpfValidationController(CpfValidationConfig config) {
-        this.config = config;
+    public CpfValidationController(
+            CpfEligibilityChecker eligibilityChecker,
+            @Value("${cpf.validation.batch.max-items:1000}") int maxBatchItems) {
+        this.eligibilityChecker = eligibilityChecker;
+        this.maxBatchItems = maxBatchItems;
     }
 
     @GetMapping("/{cpf}")
     public Mono<ResponseEntity<CpfValidationResponse>> validateCpf(@PathVariable String cpf) {
-        // If lenient mode is enabled, accept any CPF
-        if (config.isLenient()) {
-            return Mono.just(ResponseEntity.ok(
-                new CpfValidationResponse("ABLE_TO_VOTE")
-            ));
-        }
-        
-        // Otherwise, use strict validation with caelum-stella
-        if (isValidRealCpf(cpf)) {
+        if (eligibilityChecker.isAbleToVote(cpf)) {
             return Mono.just(ResponseEntity.ok(
                 new CpfValidationResponse("ABLE_TO_VOTE")
             ));
@@ -38,13 +38,27 @@ public class CpfValidationController {
             return Mono.just(ResponseEntity.notFound().build());
         }
     }
-    
-    // Helper method to validate CPF using caelum-stella
-    private boolean isValidRealCpf(String cpf) {
-        try {
-            return cpfValidator.isEligible(cpf) && cpfValidator.invalidMessagesFor(cpf).isEmpty();
-        } catch (Exception e) {
-            return false;
+
+    /**
+     * Validates a list of CPFs in one call. Ineligible CPFs are reported as UNABLE_TO_VOTE
+     * (the single-CPF endpoint answers 404 for them).
+     */
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<?>> validateCpfs(@RequestBody List<String> cpfs) {
+        if (cpfs.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(Map.of("error", "At least one CPF is required")));
+        }
+        if (cpfs.size() > maxBatchItems) {
+            return Mono.just(ResponseEntity.badRequest()
+                    .body(Map.of("error", "Batch must not exceed " + maxBatchItems + " CPFs")));
+        }
+
+        Map<String, CpfValidationResponse> results = new LinkedHashMap<>();
+        for (String cpf : cpfs) {
+            results.computeIfAbsent(cpf, key -> new CpfValidationResponse(
+                    eligibilityChecker.isAbleToVote(key) ? "ABLE_TO_VOTE" : "UNABLE_TO_VOTE"));
         }
+        return Mono.just(ResponseEntity.ok(new CpfBatchValidationResponse(results)));
     }
 }
@@ -1,5 +1,6 @@
 package com.rdpk.features.voting.cpfvalidation;
 
+import com.rdpk.config.CpfValidationConfig;
 import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
@@ -14,13 +15,20 @@ import io.github.resilience4j.timelimiter.TimeLimiter;
 import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatusCode;
-import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
-@Component
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calls an external CPF validator over HTTP, wrapped in the cpfValidation resilience patterns.
+ * Created by {@link com.rdpk.config.CpfValidationServiceConfiguration}.
+ *
+ * With cpf.validation.batching.enabled, single validations from concurrent requests are gathered
+ * for a few milliseconds and sent as one POST to the validator's /batch endpoint.
+ */
 public class CpfValidationHttpClient implements CpfValidationService {
 
     private static final Logger log = LoggerFactory.getLogger(CpfValidationHttpClient.class);
@@ -31,10 +39,14 @@ public class CpfValidationHttpClient implements CpfValidationService {
     private final Retry retry;
     private final TimeLimiter timeLimiter;
     private final Bulkhead bulkhead;
+    private final CpfValidationConfig.Batching batching;
+    private volatile CpfValidationBatcher batcher; // Created on first use, since it calls back into this client
+    private boolean closed; // Guarded by this
 
     public CpfValidationHttpClient(
             WebClient.Builder webClientBuilder,
-            @Value("${cpf.validation.url:http://localhost:8080/api/cpf-validation}") String baseUrl,
+            String baseUrl,
+            CpfValidationConfig.Batching batching,
             CircuitBreakerRegistry circuitBreakerRegistry,
             RetryRegistry retryRegistry,
             TimeLimiterRegistry timeLimiterRegistry,
@@ -45,30 +57,103 @@ public class CpfValidationHttpClient implements CpfValidationService {
         this.retry = retryRegistry.retry("cpfValidation");
         this.timeLimiter = timeLimiterRegistry.timeLimiter("cpfValidation");
         this.bulkhead = bulkheadRegistry.bulkhead("cpfValidation");
-        
-        log.info("CPF Validation HTTP Client initialized with resilience patterns");
+        this.batching = batching;
+
+        log.info("CPF Validation HTTP Client initialized with resilience patterns (batching={})", batching.isEnabled());
+    }
+
+    /**
+     * Stops the batcher's window timer. Called by the configuration that created the client.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (batcher != null) {
+            batcher.dispose();
+        }
     }
 
     @Override
     public Mono<CpfValidationResponse> validateCpf(String cpf) {
+        return fetch(cpf)
+                // Fallback: If all resilience patterns fail, return safe default
+                .onErrorResume(throwable -> {
+                    log.warn("CPF validation failed for {}: {}. Returning UNABLE_TO_VOTE fallback", 
+                            cpf, throwable.getMessage());
+                    return Mono.just(new CpfValidationResponse("UNABLE_TO_VOTE"));
+                });
+    }
+
+    /**
+     * Calls the validator without the UNABLE_TO_VOTE fallback, so callers can tell an answer from a failure.
+     * A 404 is the validator's answer for an ineligible CPF and does not count against the circuit breaker.
+     */
+    public Mono<CpfValidationResponse> fetch(String cpf) {
+        return batching.isEnabled() ? Mono.defer(() -> batcher().validate(cpf)) : fetchOne(cpf);
+    }
+
+    private CpfValidationBatcher batcher() {
+        CpfValidationBatcher current = batcher;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (batcher == null) {
+                if (closed) {
+                    throw new IllegalStateException("CPF validation client is closed");
+                }
+                batcher = new CpfValidationBatcher(this::fetchBatch, batching);
+            }
+            return batcher;
+        }
+    }
+
+    private Mono<CpfValidationResponse> fetchOne(String cpf) {
         return Mono.defer(() -> webClient.get()
                 .uri(baseUrl + "/{cpf}", cpf)
                 .retrieve()
+                .onStatus(status -> status.value() == 404, _ ->
+                    Mono.error(new IneligibleCpfException()))
                 .onStatus(HttpStatusCode::is4xxClientError, response ->
                     Mono.error(new RuntimeException("CPF validation failed: " + response.statusCode())))
                 .onStatus(HttpStatusCode::is5xxServerError, _ ->
                     Mono.error(new RuntimeException("CPF service unavailable")))
-                .bodyToMono(CpfValidationResponse.class))
+                .bodyToMono(CpfValidationResponse.class)
+                .onErrorResume(IneligibleCpfException.class, _ ->
+                    Mono.just(new CpfValidationResponse("UNABLE_TO_VOTE"))))
                 // Apply resilience patterns in correct order
                 .transform(BulkheadOperator.of(bulkhead))
                 .transform(CircuitBreakerOperator.of(circuitBreaker))
                 .transform(RetryOperator.of(retry))
-                .transform(TimeLimiterOperator.of(timeLimiter))
-                // Fallback: If all resilience patterns fail, return safe default
-                .onErrorResume(throwable -> {
-                    log.warn("CPF validation failed for {}: {}. Returning UNABLE_TO_VOTE fallback", 
-                            cpf, throwable.getMessage());
-                    return Mono.just(new CpfValidationResponse("UNABLE_TO_VOTE"));
-                });
+                .transform(TimeLimiterOperator.of(timeLimiter));
+    }
+
+    /**
+     * Validates several CPFs with one call to the validator's batch endpoint. Like {@link #fetch}, it has no fallback.
+     */
+    public Mono<Map<String, CpfValidationResponse>> fetchBatch(List<String> cpfs) {
+        return Mono.defer(() -> webClient.post()
+                .uri(baseUrl + "/batch")
+                .bodyValue(cpfs)
+                .retrieve()
+                .onStatus(HttpStatusCode::is4xxClientError, response ->
+                    Mono.error(new RuntimeException("CPF batch validation failed: " + response.statusCode())))
+                .onStatus(HttpStatusCode::is5xxServerError, _ ->
+                    Mono.error(new RuntimeException("CPF service unavailable")))
+                .bodyToMono(CpfBatchValidationResponse.class)
+                .map(CpfBatchValidationResponse::results))
+                // Apply resilience patterns in correct order
+                .transform(BulkheadOperator.of(bulkhead))
+                .transform(CircuitBreakerOperator.of(circuitBreaker))
+                .transform(RetryOperator.of(retry))
+                .transform(TimeLimiterOperator.of(timeLimiter));
+    }
+
+    private static class IneligibleCpfException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        IneligibleCpfException() {
+            super("CPF not found by validator", null, false, false);
+        }
     }
 }
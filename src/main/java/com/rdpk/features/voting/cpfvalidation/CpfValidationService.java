@@ -1,7 +1,24 @@
 package com.rdpk.features.voting.cpfvalidation;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface CpfValidationService {
     Mono<CpfValidationResponse> validateCpf(String cpf);
+
+    /**
+     * Validates a group of CPFs and returns the response for each one.
+     * A CPF whose validation fails is reported as UNABLE_TO_VOTE, like the single-CPF fallback.
+     */
+    default Mono<Map<String, CpfValidationResponse>> validateCpfs(Collection<String> cpfs) {
+        return Flux.fromIterable(cpfs)
+                // Bounded fan-out so a large group does not exhaust the validation bulkhead
+                .flatMap(cpf -> validateCpf(cpf)
+                        .onErrorReturn(new CpfValidationResponse("UNABLE_TO_VOTE"))
+                        .map(response -> Map.entry(cpf, response)), 8)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
 }
@@ -0,0 +1,27 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Validates CPFs by calling the validator logic directly instead of looping back
+ * through HTTP to {@link CpfValidationController} on the same instance.
+ *
+ * Produces the same outcomes as the HTTP client: a CPF the endpoint would answer with 404
+ * is UNABLE_TO_VOTE, which is what the HTTP client's fallback returns for it.
+ */
+public class InProcessCpfValidationService implements CpfValidationService {
+
+    private static final Mono<CpfValidationResponse> ABLE = Mono.just(new CpfValidationResponse("ABLE_TO_VOTE"));
+    private static final Mono<CpfValidationResponse> UNABLE = Mono.just(new CpfValidationResponse("UNABLE_TO_VOTE"));
+
+    private final CpfEligibilityChecker eligibilityChecker;
+
+    public InProcessCpfValidationService(CpfEligibilityChecker eligibilityChecker) {
+        this.eligibilityChecker = eligibilityChecker;
+    }
+
+    @Override
+    public Mono<CpfValidationResponse> validateCpf(String cpf) {
+        return Mono.defer(() -> eligibilityChecker.isAbleToVote(cpf) ? ABLE : UNABLE);
+    }
+}
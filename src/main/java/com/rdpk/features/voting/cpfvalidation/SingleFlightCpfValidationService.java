@@ -0,0 +1,65 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent validations of the same CPF into one upstream call.
+ *
+ * The first caller starts the call; callers arriving while it is in flight share its result
+ * (or error). The entry is removed as soon as the call terminates, so nothing is cached.
+ */
+public class SingleFlightCpfValidationService implements CpfValidationService {
+
+    private final Function<String, Mono<CpfValidationResponse>> upstream;
+    private final Map<String, Mono<CpfValidationResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter upstreamCalls;
+    private final Counter coalescedCalls;
+
+    public SingleFlightCpfValidationService(Function<String, Mono<CpfValidationResponse>> upstream,
+                                            MeterRegistry meterRegistry) {
+        this.upstream = upstream;
+        this.upstreamCalls = calls(meterRegistry, "upstream");
+        this.coalescedCalls = calls(meterRegistry, "coalesced");
+    }
+
+    @Override
+    public Mono<CpfValidationResponse> validateCpf(String cpf) {
+        return Mono.defer(() -> {
+            Mono<CpfValidationResponse> existing = inFlight.get(cpf);
+            if (existing == null) {
+                Mono<CpfValidationResponse> flight = newFlight(cpf);
+                existing = inFlight.putIfAbsent(cpf, flight);
+                if (existing == null) {
+                    upstreamCalls.increment();
+                    return flight;
+                }
+            }
+            coalescedCalls.increment();
+            return existing;
+        });
+    }
+
+    private Mono<CpfValidationResponse> newFlight(String cpf) {
+        AtomicReference<Mono<CpfValidationResponse>> self = new AtomicReference<>();
+        // cache() replays the single result to every sharer; one sharer cancelling does not cancel the call
+        Mono<CpfValidationResponse> flight = upstream.apply(cpf)
+                .doFinally(_ -> inFlight.remove(cpf, self.get()))
+                .cache();
+        self.set(flight);
+        return flight;
+    }
+
+    private static Counter calls(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cpf.validation.single.flight")
+                .description("CPF validations that started an upstream call or joined one already in flight")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
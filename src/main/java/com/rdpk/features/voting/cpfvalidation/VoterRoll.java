@@ -0,0 +1,158 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import com.rdpk.features.voting.domain.Cpf;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The packed CPFs (see {@link Cpf}) of everyone able to vote, memory-mapped from a file of sorted longs and
+ * binary-searched in place. The roll lives in the page cache, not on the heap, so tens of millions of CPFs add
+ * nothing for the GC to trace and a lookup allocates nothing.
+ *
+ * A file whose name ends in .bin is mapped as it is: strictly ascending CPFs, 8 bytes each, big-endian (as written
+ * by DataOutputStream.writeLong). Any other file is read as text with one 11-digit CPF per line; it is sorted on the
+ * heap once (8 bytes per CPF while loading) and written to a temporary .bin that is deleted as soon as it is mapped.
+ *
+ * Closing unmaps the file. A lookup still running on a closed roll fails with IllegalStateException.
+ */
+public final class VoterRoll implements AutoCloseable {
+
+    static final VoterRoll EMPTY = new VoterRoll(MemorySegment.NULL, null, 0);
+
+    private static final ValueLayout.OfLong CPF = ValueLayout.JAVA_LONG.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final long MAX_CPF = 99_999_999_999L;
+
+    private final MemorySegment cpfs;
+    private final Arena arena;
+    private final long size;
+
+    private VoterRoll(MemorySegment cpfs, Arena arena, long size) {
+        this.cpfs = cpfs;
+        this.arena = arena;
+        this.size = size;
+    }
+
+    public static VoterRoll load(Path source) throws IOException {
+        return source.getFileName().toString().endsWith(".bin") ? map(source) : compile(source);
+    }
+
+    public boolean contains(long cpf) {
+        long low = 0;
+        long high = size - 1;
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            long value = cpfs.getAtIndex(CPF, middle);
+            if (value < cpf) {
+                low = middle + 1;
+            } else if (value > cpf) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+        }
+    }
+
+    private static VoterRoll map(Path source) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            if (bytes % Long.BYTES != 0) {
+                throw new IOException(source + " is not a whole number of 8-byte CPFs");
+            }
+            if (bytes == 0) {
+                return EMPTY;
+            }
+            Arena arena = Arena.ofShared();
+            try {
+                MemorySegment cpfs = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes, arena);
+                checkSorted(source, cpfs, bytes / Long.BYTES);
+                return new VoterRoll(cpfs, arena, bytes / Long.BYTES);
+            } catch (IOException | RuntimeException e) {
+                arena.close();
+                throw e;
+            }
+        }
+    }
+
+    // A roll that is not strictly ascending would answer some lookups wrongly, so it is refused as a whole
+    private static void checkSorted(Path source, MemorySegment cpfs, long size) throws IOException {
+        long previous = -1;
+        for (long i = 0; i < size; i++) {
+            long cpf = cpfs.getAtIndex(CPF, i);
+            if (cpf <= previous || cpf > MAX_CPF) {
+                throw new IOException(source + " is not a strictly ascending list of CPFs at entry " + i);
+            }
+            previous = cpf;
+        }
+    }
+
+    private static VoterRoll compile(Path source) throws IOException {
+        long[] parsed = new long[1 << 16];
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(source, StandardCharsets.US_ASCII)) {
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                long cpf = Cpf.parse(line.strip());
+                if (cpf == Cpf.INVALID) {
+                    throw new IOException(source + " line " + lineNumber + " is not an 11-digit CPF");
+                }
+                if (count == parsed.length) {
+                    parsed = Arrays.copyOf(parsed, Math.multiplyExact(count, 2));
+                }
+                parsed[count++] = cpf;
+            }
+        }
+        Arrays.parallelSort(parsed, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || parsed[i] != parsed[unique - 1]) {
+                parsed[unique++] = parsed[i];
+            }
+        }
+        return unique == 0 ? EMPTY : write(parsed, unique);
+    }
+
+    // The mapping outlives the channel, so the file is deleted right away and its pages are freed when the roll is closed
+    private static VoterRoll write(long[] sorted, int size) throws IOException {
+        Path file = Files.createTempFile("voter-roll-", ".bin");
+        Arena arena = Arena.ofShared();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.DELETE_ON_CLOSE)) {
+            MemorySegment cpfs = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) size * Long.BYTES, arena);
+            for (int i = 0; i < size; i++) {
+                cpfs.setAtIndex(CPF, i, sorted[i]);
+            }
+            return new VoterRoll(cpfs, arena, size);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import com.rdpk.exception.VotingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/v1/cpf-validation/roll")
+public class VoterRollController {
+
+    private final VoterRollStore voterRoll;
+
+    public VoterRollController(VoterRollStore voterRoll) {
+        this.voterRoll = voterRoll;
+    }
+
+    @GetMapping
+    public Mono<VoterRollStatus> status() {
+        return enabled().map(_ -> voterRoll.status());
+    }
+
+    /**
+     * Loads the roll file again and swaps it in. On failure the current roll keeps answering.
+     */
+    @PostMapping("/reload")
+    public Mono<VoterRollStatus> reload() {
+        return enabled()
+                .publishOn(Schedulers.boundedElastic()) // Reading tens of millions of CPFs blocks
+                .map(_ -> {
+                    try {
+                        return voterRoll.reload();
+                    } catch (IOException e) {
+                        throw new VotingException("Voter roll reload failed: " + e.getMessage(),
+                                HttpStatus.INTERNAL_SERVER_ERROR);
+                    }
+                });
+    }
+
+    private Mono<VoterRollStore> enabled() {
+        return voterRoll.isEnabled()
+                ? Mono.just(voterRoll)
+                : Mono.error(new VotingException("Voter roll is not enabled", HttpStatus.NOT_FOUND));
+    }
+}
@@ -0,0 +1,89 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import com.rdpk.features.voting.domain.Cpf;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers ABLE_TO_VOTE for CPFs on the voter roll ({@link VoterRollStore}) without calling any validator.
+ *
+ * Alone (cpf.validation.roll.authoritative), every other CPF is UNABLE_TO_VOTE. As a first tier, the others go on
+ * to the next validator, typically {@link CpfValidationHttpClient}, so only CPFs off the roll pay for the call.
+ */
+public class VoterRollCpfValidationService implements CpfValidationService {
+
+    private static final CpfValidationResponse ABLE = new CpfValidationResponse("ABLE_TO_VOTE");
+    private static final CpfValidationResponse UNABLE = new CpfValidationResponse("UNABLE_TO_VOTE");
+
+    private final VoterRollStore roll;
+    private final CpfValidationService next;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param next validator for CPFs missing from the roll, or null if the roll is authoritative
+     */
+    public VoterRollCpfValidationService(VoterRollStore roll, CpfValidationService next, MeterRegistry meterRegistry) {
+        this.roll = roll;
+        this.next = next;
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+    }
+
+    @Override
+    public Mono<CpfValidationResponse> validateCpf(String cpf) {
+        return Mono.defer(() -> {
+            if (onRoll(cpf)) {
+                return Mono.just(ABLE);
+            }
+            return next != null ? next.validateCpf(cpf) : Mono.just(UNABLE);
+        });
+    }
+
+    /**
+     * Answers the CPFs on the roll itself and passes the rest to the next validator as one group.
+     */
+    @Override
+    public Mono<Map<String, CpfValidationResponse>> validateCpfs(Collection<String> cpfs) {
+        return Mono.defer(() -> {
+            Map<String, CpfValidationResponse> results = new HashMap<>();
+            List<String> missing = new ArrayList<>();
+            for (String cpf : cpfs) {
+                if (onRoll(cpf)) {
+                    results.put(cpf, ABLE);
+                } else if (next == null) {
+                    results.put(cpf, UNABLE);
+                } else {
+                    missing.add(cpf);
+                }
+            }
+            if (missing.isEmpty()) {
+                return Mono.just(results);
+            }
+            return next.validateCpfs(missing).map(answered -> {
+                results.putAll(answered);
+                return results;
+            });
+        });
+    }
+
+    private boolean onRoll(String cpf) {
+        boolean found = roll.contains(Cpf.parse(cpf));
+        (found ? hits : misses).increment();
+        return found;
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("cpf.validation.roll.requests")
+                .description("CPF validations answered from the voter roll (hit) or not on it (miss)")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
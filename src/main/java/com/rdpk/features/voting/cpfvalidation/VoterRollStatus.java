@@ -0,0 +1,6 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import java.time.Instant;
+
+public record VoterRollStatus(String source, long size, Instant loadedAt) {
+}
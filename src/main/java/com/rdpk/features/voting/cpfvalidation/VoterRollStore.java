@@ -0,0 +1,126 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import com.rdpk.config.CpfValidationConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link VoterRoll} and swaps in a new one without a restart, when the roll file's modification
+ * time changes (polled every cpf.validation.roll.poll-interval) or when a reload is requested.
+ *
+ * The new roll is loaded next to the old one, which keeps answering until the swap and is unmapped right after it.
+ * A failed reload keeps the current roll. Replace the file with a rename, so a poll never reads it half-written.
+ */
+@Component
+public class VoterRollStore {
+
+    private static final Logger log = LoggerFactory.getLogger(VoterRollStore.class);
+
+    private final CpfValidationConfig.Roll config;
+    private final AtomicReference<VoterRoll> current = new AtomicReference<>(VoterRoll.EMPTY);
+    private volatile FileTime loadedModified;
+    private volatile Instant loadedAt;
+    private Disposable poller;
+
+    public VoterRollStore(CpfValidationConfig config, MeterRegistry meterRegistry) {
+        this.config = config.getRoll();
+        Gauge.builder("cpf.validation.roll.size", current, roll -> roll.get().size())
+                .description("CPFs in the loaded voter roll")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (config.getPath() == null || config.getPath().isBlank()) {
+            throw new IllegalStateException("cpf.validation.roll.path is required when cpf.validation.roll.enabled is true");
+        }
+        // Fails startup: an empty roll would turn every voter away
+        reload();
+        if (config.getPollInterval().isPositive()) {
+            poller = Flux.interval(config.getPollInterval())
+                    .onBackpressureDrop()
+                    .concatMap(_ -> Mono.fromRunnable(this::reloadIfChanged).subscribeOn(Schedulers.boundedElastic()))
+                    .subscribe();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        if (poller != null) {
+            poller.dispose();
+        }
+        current.getAndSet(VoterRoll.EMPTY).close();
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * True if the packed CPF is on the roll. Never does I/O beyond faulting in pages of the mapped file.
+     */
+    public boolean contains(long cpf) {
+        while (true) {
+            VoterRoll roll = current.get();
+            try {
+                return roll.contains(cpf);
+            } catch (IllegalStateException e) {
+                if (current.get() == roll) {
+                    throw e;
+                }
+                // Swapped out and unmapped mid-search; the roll that replaced it has the answer
+            }
+        }
+    }
+
+    /**
+     * Loads the roll file and swaps it in. Blocks for as long as the file takes to read.
+     */
+    public synchronized VoterRollStatus reload() throws IOException {
+        Path source = Path.of(config.getPath());
+        // Read before loading, so a file replaced during the load is picked up by the next poll
+        FileTime modified = Files.getLastModifiedTime(source);
+        long started = System.nanoTime();
+        VoterRoll roll = VoterRoll.load(source);
+        VoterRoll previous = current.getAndSet(roll);
+        loadedModified = modified;
+        loadedAt = Instant.now();
+        previous.close();
+        log.info("Loaded voter roll of {} CPFs from {} in {} ms", roll.size(), source,
+                (System.nanoTime() - started) / 1_000_000);
+        return status();
+    }
+
+    public VoterRollStatus status() {
+        return new VoterRollStatus(config.getPath(), current.get().size(), loadedAt);
+    }
+
+    private void reloadIfChanged() {
+        try {
+            if (!Files.getLastModifiedTime(Path.of(config.getPath())).equals(loadedModified)) {
+                reload();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Reloading voter roll from {} failed, keeping the current one: {}", config.getPath(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.rdpk.features.voting.domain;
+
+/**
+ * Allocation-free CPF parsing for the vote hot path.
+ *
+ * A CPF is accepted as exactly 11 ASCII digits (no punctuation). {@link #parse} checks only that format;
+ * {@link #parseValid} also checks both mod-11 check digits and rejects repeated-digit CPFs such as
+ * 11111111111, matching caelum-stella's CPFValidator. Both return the digits packed as a long
+ * (leading zeros are lost, so format with {@link #format}) or {@link #INVALID}.
+ */
+public final class Cpf {
+
+    public static final long INVALID = -1L;
+
+    private static final int LENGTH = 11;
+
+    private Cpf() {
+    }
+
+    public static long parse(CharSequence cpf) {
+        if (cpf == null || cpf.length() != LENGTH) {
+            return INVALID;
+        }
+        long packed = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            int digit = cpf.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            packed = packed * 10 + digit;
+        }
+        return packed;
+    }
+
+    public static long parseValid(CharSequence cpf) {
+        if (cpf == null || cpf.length() != LENGTH) {
+            return INVALID;
+        }
+        long packed = 0;
+        int firstSum = 0;  // Weights 10..2 over digits 0-8
+        int secondSum = 0; // Weights 11..2 over digits 0-9
+        char first = cpf.charAt(0);
+        boolean repeated = true;
+        for (int i = 0; i < LENGTH; i++) {
+            char c = cpf.charAt(i);
+            int digit = c - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID;
+            }
+            repeated &= c == first;
+            packed = packed * 10 + digit;
+            if (i < 9) {
+                firstSum += digit * (10 - i);
+                secondSum += digit * (11 - i);
+            } else if (i == 9) {
+                if (digit != checkDigit(firstSum)) {
+                    return INVALID;
+                }
+                secondSum += digit * 2;
+            } else if (digit != checkDigit(secondSum)) {
+                return INVALID;
+            }
+        }
+        return repeated ? INVALID : packed;
+    }
+
+    public static boolean isWellFormed(CharSequence cpf) {
+        return parse(cpf) != INVALID;
+    }
+
+    public static boolean isValid(CharSequence cpf) {
+        return parseValid(cpf) != INVALID;
+    }
+
+    /**
+     * Formats a packed CPF back to its 11-digit form, restoring leading zeros.
+     */
+    public static String format(long packed) {
+        if (packed < 0 || packed > 99_999_999_999L) {
+            throw new IllegalArgumentException("Not a packed CPF: " + packed);
+        }
+        char[] digits = new char[LENGTH];
+        for (int i = LENGTH - 1; i >= 0; i--) {
+            digits[i] = (char) ('0' + packed % 10);
+            packed /= 10;
+        }
+        return new String(digits);
+    }
+
+    private static int checkDigit(int sum) {
+        int remainder = sum % 11;
+        return remainder < 2 ? 0 : 11 - remainder;
+    }
+}
@@ -12,13 +12,13 @@ public record Vote(
         Long id,
         @Column("agenda_id")
         Long agendaId,
-        String cpf,
+        Long cpf, // Packed digits, see Cpf
         @Column("vote_value")
         VoteChoice vote,
         @Column("voted_at")
         LocalDateTime votedAt
 ) {
-    public Vote(Long agendaId, String cpf, VoteChoice vote) {
+    public Vote(Long agendaId, Long cpf, VoteChoice vote) {
         this(null, agendaId, cpf, vote, LocalDateTime.now());
     }
 }
@@ -4,13 +4,15 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 
 public enum VoteChoice {
-    YES("Yes"),
-    NO("No");
+    YES("Yes", (short) 1),
+    NO("No", (short) 0);
     
     private final String value;
+    private final short code; // Stored in votes.vote_value
     
-    VoteChoice(String value) {
+    VoteChoice(String value, short code) {
         this.value = value;
+        this.code = code;
     }
     
     @JsonValue
@@ -18,6 +20,19 @@ public enum VoteChoice {
         return value;
     }
     
+    public short getCode() {
+        return code;
+    }
+
+    public static VoteChoice fromCode(short code) {
+        for (VoteChoice choice : VoteChoice.values()) {
+            if (choice.code == code) {
+                return choice;
+            }
+        }
+        throw new IllegalArgumentException("Invalid vote code: " + code);
+    }
+    
     @JsonCreator
     public static VoteChoice fromValue(String value) {
         for (VoteChoice choice : VoteChoice.values()) {
@@ -0,0 +1,65 @@
+package com.rdpk.features.voting.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * One gzip stream cut into chunks: each chunk is compressed and sync-flushed, so the client can decompress
+ * everything sent so far while the rest is still being read. Holds the deflater's window, not the data.
+ * Not thread-safe; close releases the deflater's native memory and must be called even if the stream is cancelled.
+ */
+final class GzipChunks implements AutoCloseable {
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final GZIPOutputStream gzip;
+
+    GzipChunks() {
+        try {
+            gzip = new GZIPOutputStream(out, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Not thrown by a ByteArrayOutputStream
+        }
+    }
+
+    /**
+     * The compressed chunk, starting with the gzip header on the first call.
+     */
+    byte[] compress(byte[] chunk) {
+        try {
+            gzip.write(chunk);
+            gzip.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return take();
+    }
+
+    /**
+     * Ends the stream. Returns what is left to send: the last compressed bytes and the trailer.
+     */
+    byte[] finish() {
+        try {
+            gzip.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return take();
+    }
+
+    @Override
+    public void close() {
+        try {
+            gzip.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] take() {
+        byte[] bytes = out.toByteArray();
+        out.reset();
+        return bytes;
+    }
+}
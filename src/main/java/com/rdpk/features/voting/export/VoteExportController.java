@@ -0,0 +1,86 @@
+package com.rdpk.features.voting.export;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/agendas")
+public class VoteExportController {
+
+    private final VoteExportHandler voteExportHandler;
+
+    public VoteExportController(VoteExportHandler voteExportHandler) {
+        this.voteExportHandler = voteExportHandler;
+    }
+
+    /**
+     * Every vote of the agenda as a CSV download, or NDJSON with Accept: application/x-ndjson. With
+     * Accept-Encoding: gzip the body is gzip-compressed as it is streamed. Holds individual votes, so never cached.
+     */
+    @GetMapping("/{agendaId}/votes/export")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> exportVotes(
+            @PathVariable Long agendaId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        return Mono.defer(() -> {
+            VoteExportFormat format = VoteExportFormat.of(mediaTypes(accept));
+            boolean gzip = acceptsGzip(acceptEncoding);
+            return voteExportHandler.export(agendaId, format, gzip)
+                    .map(body -> {
+                        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                                .contentType(format.getMediaType())
+                                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                                        .filename("agenda-" + agendaId + "-votes." + format.getExtension())
+                                        .build()
+                                        .toString())
+                                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                                .cacheControl(CacheControl.noStore());
+                        if (gzip) {
+                            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+                        }
+                        return response.body(body.map(DefaultDataBufferFactory.sharedInstance::wrap));
+                    });
+        });
+    }
+
+    private static List<MediaType> mediaTypes(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return List.of();
+        }
+        try {
+            return MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return List.of();
+        }
+    }
+
+    // gzip listed without q=0 (identity is always acceptable, so anything else gets the plain body)
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].strip().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,84 @@
+package com.rdpk.features.voting.export;
+
+import com.rdpk.features.voting.domain.Cpf;
+import com.rdpk.features.voting.domain.Vote;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Layouts of an exported agenda, one vote per line. They are the vote import layouts, so an export can be imported
+ * again: CSV with a header line and columns agenda_id,cpf,vote,voted_at, or NDJSON objects
+ * {"agendaId": 1, "cpf": "11144477735", "vote": "Yes", "votedAt": "2025-03-01T12:00:00"}.
+ */
+public enum VoteExportFormat {
+    CSV(MediaType.parseMediaType("text/csv"), "csv") {
+        @Override
+        byte[] header() {
+            return "agenda_id,cpf,vote,voted_at\n".getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        void append(StringBuilder out, Vote vote) {
+            out.append(vote.agendaId()).append(',')
+                    .append(Cpf.format(vote.cpf())).append(',')
+                    .append(vote.vote().getValue()).append(',')
+                    .append(vote.votedAt()).append('\n');
+        }
+    },
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson") {
+        @Override
+        byte[] header() {
+            return new byte[0];
+        }
+
+        // Written by hand rather than through Jackson: no value here (digits, Yes/No, an ISO timestamp) needs escaping
+        @Override
+        void append(StringBuilder out, Vote vote) {
+            out.append("{\"agendaId\":").append(vote.agendaId())
+                    .append(",\"cpf\":\"").append(Cpf.format(vote.cpf()))
+                    .append("\",\"vote\":\"").append(vote.vote().getValue())
+                    .append("\",\"votedAt\":\"").append(vote.votedAt())
+                    .append("\"}\n");
+        }
+    };
+
+    // Upper bound of a line in either layout, to size a page's buffer once
+    private static final int LINE_BYTES = 96;
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    VoteExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * NDJSON when the Accept header asks for it explicitly, CSV otherwise.
+     */
+    public static VoteExportFormat of(List<MediaType> accept) {
+        return accept.stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype) ? NDJSON : CSV;
+    }
+
+    abstract byte[] header();
+
+    abstract void append(StringBuilder out, Vote vote);
+
+    byte[] write(List<Vote> page) {
+        StringBuilder out = new StringBuilder(page.size() * LINE_BYTES);
+        for (Vote vote : page) {
+            append(out, vote);
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
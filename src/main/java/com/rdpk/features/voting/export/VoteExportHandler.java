@@ -0,0 +1,84 @@
+package com.rdpk.features.voting.export;
+
+import com.rdpk.config.VoteExportConfig;
+import com.rdpk.exception.VotingException;
+import com.rdpk.features.session.repository.VotingSessionRepository;
+import com.rdpk.features.voting.domain.Vote;
+import com.rdpk.features.voting.journal.VoteJournal;
+import com.rdpk.features.voting.repository.VoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Streams every vote of an agenda for auditors, in CPF order (see {@link VoteExportFormat}).
+ *
+ * Votes are read in keyset pages of votes.export.page-size on the (agenda_id, cpf) index, and the next page is only
+ * queried once the response has taken the previous one. Memory stays bounded by the pages in flight whatever the
+ * agenda's size, and a connection is borrowed for one page query at a time, so a slow download holds none.
+ * On an open session the export is not a snapshot: a vote cast meanwhile appears if its CPF sorts after the page
+ * being read. Exporting after the session closes gives the final set.
+ * At most one page is read ahead of the one being written.
+ */
+@Service
+public class VoteExportHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteExportHandler.class);
+
+    private final VoteRepository voteRepository;
+    private final VotingSessionRepository sessionRepository;
+    private final VoteJournal voteJournal;
+    private final VoteExportConfig config;
+
+    public VoteExportHandler(VoteRepository voteRepository,
+                             VotingSessionRepository sessionRepository,
+                             VoteJournal voteJournal,
+                             VoteExportConfig config) {
+        this.voteRepository = voteRepository;
+        this.sessionRepository = sessionRepository;
+        this.voteJournal = voteJournal;
+        this.config = config;
+    }
+
+    /**
+     * The export's bytes, gzip-compressed if asked. Fails with 404 before any byte when the agenda has no session.
+     */
+    public Mono<Flux<byte[]>> export(Long agendaId, VoteExportFormat format, boolean gzip) {
+        return sessionRepository.findByAgendaId(agendaId)
+                .switchIfEmpty(Mono.error(new VotingException("Voting session not found", HttpStatus.NOT_FOUND)))
+                .map(_ -> {
+                    Flux<byte[]> body = Flux.just(format.header())
+                            .concatWith(pages(agendaId).map(format::write))
+                            .filter(bytes -> bytes.length > 0);
+                    return gzip ? compressed(body) : body;
+                });
+    }
+
+    private Flux<List<Vote>> pages(Long agendaId) {
+        int pageSize = config.getPageSize();
+        return Flux.defer(() -> {
+            long[] exported = new long[1];
+            // Votes this instance acknowledged from its journal are written first, so the export includes them
+            return voteJournal.drain()
+                    .then(voteRepository.findPageByAgendaId(agendaId, null, pageSize))
+                    .expand(page -> page.size() < pageSize
+                            ? Mono.empty()
+                            : voteRepository.findPageByAgendaId(agendaId, page.getLast().cpf(), pageSize))
+                    // The response writer requests many items ahead; without this, expand would query that many pages
+                    .limitRate(1)
+                    .doOnNext(page -> exported[0] += page.size())
+                    .doOnComplete(() -> log.info("Exported {} votes of agenda {}", exported[0], agendaId));
+        });
+    }
+
+    private static Flux<byte[]> compressed(Flux<byte[]> body) {
+        return Flux.using(GzipChunks::new,
+                gzip -> body.map(gzip::compress).concatWith(Mono.fromSupplier(gzip::finish)),
+                GzipChunks::close);
+    }
+}
@@ -0,0 +1,9 @@
+package com.rdpk.features.voting.journal;
+
+import com.rdpk.features.voting.domain.Vote;
+
+/**
+ * A journaled vote and its position in the journal. The vote already carries its id.
+ */
+record JournalEntry(long seq, Vote vote) {
+}
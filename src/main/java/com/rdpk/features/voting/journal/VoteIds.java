@@ -0,0 +1,65 @@
+package com.rdpk.features.voting.journal;
+
+import com.rdpk.features.voting.repository.VoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vote ids reserved from votes_id_seq a block at a time, so a journaled vote is acknowledged with the id it will
+ * have in votes without a round trip per vote. Up to two blocks are held: the next one is fetched in the background
+ * as soon as less than a block is left, so taking an id never waits on the database. Only if votes outrun the
+ * fetches, or the database is down for a whole block, does the reserve run dry; {@link #next} then returns null.
+ */
+class VoteIds {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteIds.class);
+
+    private final VoteRepository voteRepository;
+    private final int blockSize;
+    private final Queue<Long> ids = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger available = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    VoteIds(VoteRepository voteRepository, int blockSize) {
+        this.voteRepository = voteRepository;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Starts fetching the first block, so the reserve is ready before the first vote.
+     */
+    void prefetch() {
+        refillIfLow();
+    }
+
+    /**
+     * The next reserved id, or null if none is left.
+     */
+    Long next() {
+        Long id = ids.poll();
+        if (id != null) {
+            available.decrementAndGet();
+        }
+        refillIfLow();
+        return id;
+    }
+
+    // One block fetch at a time
+    private void refillIfLow() {
+        if (available.get() >= blockSize || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        voteRepository.reserveIds(blockSize)
+                .doOnNext(id -> {
+                    ids.add(id);
+                    available.incrementAndGet();
+                })
+                .doFinally(_ -> refilling.set(false))
+                .subscribe(_ -> { }, throwable -> log.warn("Reserving vote ids failed: {}", throwable.getMessage()));
+    }
+}
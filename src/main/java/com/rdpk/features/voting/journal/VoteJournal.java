@@ -0,0 +1,370 @@
+package com.rdpk.features.voting.journal;
+
+import com.rdpk.config.VoteJournalConfig;
+import com.rdpk.exception.VotingException;
+import com.rdpk.features.voting.domain.Vote;
+import com.rdpk.features.voting.repository.JournaledVoteOutcome;
+import com.rdpk.features.voting.repository.VoteRepository;
+import com.rdpk.features.voting.tally.LiveTallyStore;
+import com.rdpk.features.voting.voters.VoterSets;
+import com.rdpk.infrastructure.batch.MicroBatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local write-ahead journal for submitted votes (votes.journal.enabled), so a vote is acknowledged once it is on
+ * this instance's disk instead of once Postgres has committed its INSERT.
+ *
+ * Appends from concurrent requests are group-committed: collected for up to group-commit-window, written as one
+ * run of records and made durable with a single fsync ({@link VoteJournalFile}). Each vote is acknowledged with the
+ * id it was reserved from votes_id_seq. In the background the journal is drained into votes every flush-interval
+ * with multi-row INSERT ... ON CONFLICT DO NOTHING, then checkpointed. On startup everything past the checkpoint is
+ * drained again; rows that made it in before a crash conflict and are skipped.
+ *
+ * Acknowledging never waits on an INSERT. Ids come from a reserve fetched ahead ({@link VoteIds}). Repeat voters
+ * known to memory are refused without I/O: CPFs known to have voted ({@link VoterSets}), and the (agenda, CPF) of
+ * every vote this instance holds, reserved here from the moment it is accepted until its row is in votes. Memory
+ * cannot prove a CPF has not voted (voter sets may be disabled, still seeding or full, and miss votes saved by
+ * other instances or imports), so any other vote is checked against votes with an indexed lookup before it is
+ * journaled. Only a repeat still in another instance's journal gets past both; its row is skipped at flush and
+ * counted in votes.journal.conflicts, and the vote journaled first stands.
+ *
+ * Nor does it check the session. A flush only writes into sessions that are not closed, holding them so the close
+ * pipeline waits for it, so final results always match votes. Rows whose session another instance closed first are
+ * dropped, logged and counted in votes.journal.rejected.
+ */
+@Component
+public class VoteJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteJournal.class);
+    private static final Duration SHUTDOWN_DRAIN_TIMEOUT = Duration.ofSeconds(10);
+
+    private final VoteJournalConfig config;
+    private final VoteRepository voteRepository;
+    private final VoterSets voterSets;
+    private final LiveTallyStore liveTallies;
+    private final VoteIds ids;
+    private final Map<VoteKey, Boolean> reserved = new ConcurrentHashMap<>();
+    private final Queue<Unflushed> unflushed = new ConcurrentLinkedQueue<>(); // In sequence order
+    private final AtomicLong lag = new AtomicLong();
+    private final Sinks.Many<FlushRequest> flushRequests = Sinks.many().unicast().onBackpressureBuffer();
+    private final Timer fsyncTimer;
+    private final Counter conflicts;
+    private final Counter rejected;
+    private VoteJournalFile file;
+    private Scheduler fileScheduler;
+    private MicroBatcher<PendingAppend> writer;
+    private Disposable flusher;
+
+    public VoteJournal(VoteJournalConfig config,
+                       VoteRepository voteRepository,
+                       VoterSets voterSets,
+                       LiveTallyStore liveTallies,
+                       MeterRegistry meterRegistry) {
+        this.config = config;
+        this.voteRepository = voteRepository;
+        this.voterSets = voterSets;
+        this.liveTallies = liveTallies;
+        this.ids = new VoteIds(voteRepository, config.getIdBlockSize());
+        this.fsyncTimer = Timer.builder("votes.journal.fsync")
+                .description("Time to make one group commit of the vote journal durable")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("votes.journal.conflicts")
+                .description("Journaled votes skipped at flush because their (agenda, CPF) was already in votes")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("votes.journal.rejected")
+                .description("Acknowledged votes dropped at flush because their session had been closed first")
+                .register(meterRegistry);
+        Gauge.builder("votes.journal.lag", lag, AtomicLong::get)
+                .description("Votes acknowledged from the journal and not yet written to the database")
+                .register(meterRegistry);
+        Gauge.builder("votes.journal.lag.seconds", unflushed, VoteJournal::oldestAgeSeconds)
+                .description("Age of the oldest vote not yet written to the database")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!config.isEnabled()) {
+            return;
+        }
+        file = new VoteJournalFile(Path.of(config.getDirectory()), config.getSegmentSize().toBytes(), fsyncTimer);
+        List<JournalEntry> recovered = file.takeRecovered();
+        long now = System.nanoTime();
+        for (JournalEntry entry : recovered) {
+            reserved.put(VoteKey.of(entry.vote()), Boolean.TRUE);
+            unflushed.add(new Unflushed(entry, now, null)); // Reaches the live tallies once flushed
+        }
+        lag.set(recovered.size());
+        if (!recovered.isEmpty()) {
+            log.info("Replaying {} journaled votes that are not known to be in the database", recovered.size());
+        }
+
+        ids.prefetch();
+        fileScheduler = Schedulers.newSingle("vote-journal");
+        // Votes arriving while an fsync runs wait in the batcher and share the next one
+        writer = new MicroBatcher<>(config.getGroupCommitMaxSize(), config.getGroupCommitWindow(), 1,
+                batch -> Mono.fromRunnable(() -> commit(batch)).subscribeOn(fileScheduler));
+        flusher = Flux.merge(
+                        Flux.interval(Duration.ZERO, config.getFlushInterval()).onBackpressureDrop().map(_ -> FlushRequest.TICK),
+                        flushRequests.asFlux())
+                .concatMap(request -> flushAll()
+                        .doOnSuccess(_ -> request.succeed())
+                        .onErrorResume(throwable -> {
+                            log.warn("Flushing {} journaled votes failed, retrying on next flush: {}",
+                                    lag.get(), throwable.getMessage());
+                            request.fail(throwable);
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+        log.info("Vote journal enabled (directory={}, groupCommitWindow={}, flushInterval={})",
+                config.getDirectory(), config.getGroupCommitWindow(), config.getFlushInterval());
+    }
+
+    @PreDestroy
+    void stop() throws IOException {
+        if (!config.isEnabled()) {
+            return;
+        }
+        try {
+            drain().block(SHUTDOWN_DRAIN_TIMEOUT);
+        } catch (RuntimeException e) {
+            log.warn("Vote journal not drained on shutdown, {} votes are replayed on next start: {}", lag.get(), e.getMessage());
+        }
+        flusher.dispose();
+        writer.dispose();
+        fileScheduler.dispose();
+        file.close();
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Journals the vote unless its voter has voted on the agenda, and emits it with its id when it is durable.
+     * Fails with DuplicateKeyException for a repeat voter, found in memory or else in votes. Does not check the
+     * session.
+     */
+    public Mono<Vote> append(Vote vote) {
+        return Mono.defer(() -> {
+            if (lag.get() >= config.getMaxLag()) {
+                return Mono.error(new VotingException("Vote journal is full, try again later", HttpStatus.SERVICE_UNAVAILABLE));
+            }
+            VoteKey key = VoteKey.of(vote);
+            if (voterSets.hasVoted(vote.agendaId(), vote.cpf()) || reserved.putIfAbsent(key, Boolean.TRUE) != null) {
+                return Mono.error(duplicateVote());
+            }
+            // The reservation keeps this instance from journaling the CPF again while votes is checked
+            AtomicBoolean handedOff = new AtomicBoolean();
+            return voteRepository.existsByAgendaIdAndCpf(vote.agendaId(), vote.cpf())
+                    .doOnError(_ -> reserved.remove(key))
+                    .flatMap(exists -> {
+                        if (exists) {
+                            reserved.remove(key);
+                            return Mono.error(duplicateVote());
+                        }
+                        Long id = ids.next();
+                        if (id == null) {
+                            reserved.remove(key);
+                            return Mono.error(new VotingException("No vote ids reserved, try again later",
+                                    HttpStatus.SERVICE_UNAVAILABLE));
+                        }
+                        // From here the writer owns the reservation. Truncated to what Postgres keeps, so the
+                        // acknowledged vote matches the row
+                        handedOff.set(true);
+                        return write(new Vote(id, vote.agendaId(), vote.cpf(), vote.vote(),
+                                vote.votedAt().truncatedTo(ChronoUnit.MICROS)));
+                    })
+                    .doOnCancel(() -> {
+                        if (!handedOff.get()) {
+                            reserved.remove(key);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Holds the (agenda, CPF) for a vote written outside the journal, so the journal cannot accept it meanwhile.
+     * False if the journal holds or is checking a vote for it. Always true when the journal is disabled.
+     */
+    public boolean reserve(Long agendaId, long cpf) {
+        return !config.isEnabled() || reserved.putIfAbsent(new VoteKey(agendaId, cpf), Boolean.TRUE) == null;
+    }
+
+    /**
+     * Releases a {@link #reserve} once the vote's INSERT has finished, whatever its outcome.
+     */
+    public void release(Long agendaId, long cpf) {
+        if (config.isEnabled()) {
+            reserved.remove(new VoteKey(agendaId, cpf));
+        }
+    }
+
+    /**
+     * Completes once every vote acknowledged before the call is in votes. Used before final results are computed.
+     */
+    public Mono<Void> drain() {
+        if (!config.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> {
+            FlushRequest request = new FlushRequest(Sinks.empty());
+            synchronized (flushRequests) {
+                flushRequests.emitNext(request, Sinks.EmitFailureHandler.FAIL_FAST);
+            }
+            return request.done().asMono();
+        });
+    }
+
+    private Mono<Vote> write(Vote vote) {
+        return Mono.create(sink -> writer.add(new PendingAppend(vote, sink)));
+    }
+
+    // Runs on the journal's own thread
+    private void commit(List<PendingAppend> batch) {
+        List<Vote> votes = batch.stream().map(PendingAppend::vote).toList();
+        long firstSeq;
+        try {
+            firstSeq = file.append(votes);
+        } catch (IOException | RuntimeException e) {
+            log.error("Writing {} votes to the journal failed: {}", votes.size(), e.getMessage());
+            for (PendingAppend pending : batch) {
+                reserved.remove(VoteKey.of(pending.vote()));
+                pending.sink().error(new VotingException("Vote journal unavailable", HttpStatus.SERVICE_UNAVAILABLE));
+            }
+            return;
+        }
+        long now = System.nanoTime();
+        for (int i = 0; i < votes.size(); i++) {
+            Vote vote = votes.get(i);
+            unflushed.add(new Unflushed(new JournalEntry(firstSeq + i, vote), now, liveTallies.recordJournaled(vote)));
+        }
+        lag.addAndGet(votes.size());
+        batch.forEach(pending -> pending.sink().success(pending.vote()));
+    }
+
+    private Mono<Void> flushAll() {
+        return flushBatch()
+                .expand(flushed -> flushed < config.getFlushBatchSize() ? Mono.empty() : flushBatch())
+                .then();
+    }
+
+    // Writes the oldest unflushed votes and checkpoints past them; emits how many there were
+    private Mono<Integer> flushBatch() {
+        return Mono.defer(() -> {
+            List<Vote> votes = new ArrayList<>();
+            long lastSeq = 0;
+            Iterator<Unflushed> iterator = unflushed.iterator();
+            while (iterator.hasNext() && votes.size() < config.getFlushBatchSize()) {
+                JournalEntry entry = iterator.next().entry();
+                votes.add(entry.vote());
+                lastSeq = entry.seq();
+            }
+            if (votes.isEmpty()) {
+                return Mono.just(0);
+            }
+            long checkpoint = lastSeq;
+            long countsApplied = liveTallies.countsApplied();
+            return voteRepository.insertWithIds(votes)
+                    .flatMap(outcomes -> Mono.fromCallable(() -> {
+                        file.checkpoint(checkpoint);
+                        return outcomes;
+                    }).subscribeOn(fileScheduler))
+                    .map(outcomes -> {
+                        Map<Long, Integer> rejectedByAgenda = new HashMap<>();
+                        // Only this pipeline removes entries, and new ones are only added behind these
+                        for (int i = 0; i < votes.size(); i++) {
+                            Unflushed flushed = unflushed.poll();
+                            Vote vote = flushed.entry().vote();
+                            JournaledVoteOutcome outcome = outcomes.get(vote.id());
+                            if (outcome == JournaledVoteOutcome.DUPLICATE) {
+                                conflicts.increment();
+                            } else if (outcome == JournaledVoteOutcome.SESSION_CLOSED) {
+                                rejected.increment();
+                                rejectedByAgenda.merge(vote.agendaId(), 1, Integer::sum);
+                            }
+                            liveTallies.recordFlushed(vote, flushed.tally(), outcome, countsApplied);
+                            reserved.remove(VoteKey.of(vote));
+                        }
+                        rejectedByAgenda.forEach((agendaId, count) -> log.warn(
+                                "Dropped {} acknowledged votes for agenda {}: its session was closed before they were written",
+                                count, agendaId));
+                        lag.addAndGet(-votes.size());
+                        return votes.size();
+                    });
+        });
+    }
+
+    private static double oldestAgeSeconds(Queue<Unflushed> unflushed) {
+        Unflushed oldest = unflushed.peek();
+        return oldest == null ? 0 : (System.nanoTime() - oldest.journaledAt()) / 1e9;
+    }
+
+    private static DuplicateKeyException duplicateVote() {
+        return new DuplicateKeyException("Vote already exists for this agenda and CPF");
+    }
+
+    private record PendingAppend(Vote vote, MonoSink<Vote> sink) {
+    }
+
+    // tally: where the live tallies counted the vote at acknowledgement, if anywhere
+    private record Unflushed(JournalEntry entry, long journaledAt, LiveTallyStore.Tally tally) {
+    }
+
+    private record FlushRequest(Sinks.Empty<Void> done) {
+
+        static final FlushRequest TICK = new FlushRequest(null);
+
+        void succeed() {
+            if (done != null) {
+                done.tryEmitEmpty();
+            }
+        }
+
+        void fail(Throwable throwable) {
+            if (done != null) {
+                done.tryEmitError(throwable);
+            }
+        }
+    }
+
+    private record VoteKey(Long agendaId, Long cpf) {
+        static VoteKey of(Vote vote) {
+            return new VoteKey(vote.agendaId(), vote.cpf());
+        }
+    }
+}
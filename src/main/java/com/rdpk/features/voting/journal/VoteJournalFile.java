@@ -0,0 +1,272 @@
+package com.rdpk.features.voting.journal;
+
+import com.rdpk.features.voting.domain.Vote;
+import com.rdpk.features.voting.domain.VoteChoice;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * The journal on disk: append-only segment files of fixed-size vote records, plus a checkpoint file holding the
+ * sequence number of the last record known to be in votes. Not thread-safe; {@link VoteJournal} calls it from
+ * a single thread.
+ *
+ * A record is 48 bytes, big-endian: sequence number, vote id, agenda id, packed CPF, voted_at in epoch
+ * microseconds (the LocalDateTime read as UTC), the vote code, 3 bytes of padding and a CRC32 of the first
+ * 44 bytes. Segments are named after the first sequence number they hold and are deleted once the checkpoint
+ * has passed their last record. A crash mid-write leaves a torn record at the end of the last segment, which is
+ * cut off when the journal is opened; damage anywhere else refuses to open.
+ */
+final class VoteJournalFile implements Closeable {
+
+    static final int RECORD_BYTES = 48;
+
+    private static final Logger log = LoggerFactory.getLogger(VoteJournalFile.class);
+    private static final int CHECKSUMMED_BYTES = 44;
+    private static final String SEGMENT_PREFIX = "votes-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final Timer fsyncTimer;
+    private final TreeMap<Long, Path> segments = new TreeMap<>(); // By first sequence number
+    private final List<JournalEntry> recovered = new ArrayList<>();
+    private FileChannel active;
+    private long activeSize;
+    private long nextSeq;
+    private long checkpoint;
+
+    VoteJournalFile(Path directory, long segmentBytes, Timer fsyncTimer) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.fsyncTimer = fsyncTimer;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    /**
+     * Records written before the last shutdown or crash that are past the checkpoint, oldest first.
+     * Returned once; the journal owns them from then on.
+     */
+    List<JournalEntry> takeRecovered() {
+        List<JournalEntry> entries = List.copyOf(recovered);
+        recovered.clear();
+        return entries;
+    }
+
+    /**
+     * Appends the votes as consecutive records and fsyncs them. Returns the sequence number of the first one.
+     * On failure nothing is kept: the segment is cut back to where it was.
+     */
+    long append(List<Vote> votes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(votes.size() * RECORD_BYTES);
+        for (int i = 0; i < votes.size(); i++) {
+            encode(buffer, nextSeq + i, votes.get(i));
+        }
+        buffer.flip();
+
+        if (activeSize > 0 && activeSize + buffer.remaining() > segmentBytes) {
+            roll();
+        }
+        long position = activeSize;
+        try {
+            while (buffer.hasRemaining()) {
+                position += active.write(buffer, position);
+            }
+            long started = System.nanoTime();
+            active.force(false);
+            fsyncTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } catch (IOException e) {
+            active.truncate(activeSize);
+            throw e;
+        }
+        activeSize = position;
+        long firstSeq = nextSeq;
+        nextSeq += votes.size();
+        return firstSeq;
+    }
+
+    /**
+     * Records that every record up to seq is in votes, and deletes the segments that hold nothing newer.
+     */
+    void checkpoint(long seq) throws IOException {
+        Path temporary = directory.resolve(CHECKPOINT + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, seq));
+            channel.force(false);
+        }
+        Files.move(temporary, directory.resolve(CHECKPOINT),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint = seq;
+
+        // A segment is done when the next one starts at or before checkpoint + 1; the active one never is
+        Iterator<Map.Entry<Long, Path>> iterator = segments.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, Path> segment = iterator.next();
+            Long nextFirst = segments.higherKey(segment.getKey());
+            if (nextFirst == null || nextFirst - 1 > seq) {
+                break;
+            }
+            Files.deleteIfExists(segment.getValue());
+            iterator.remove();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (active != null) {
+            active.close();
+        }
+    }
+
+    private void roll() throws IOException {
+        active.close();
+        openSegment(nextSeq);
+    }
+
+    private void openSegment(long firstSeq) throws IOException {
+        Path path = directory.resolve(SEGMENT_PREFIX + "%020d".formatted(firstSeq) + SEGMENT_SUFFIX);
+        active = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        activeSize = 0;
+        segments.put(firstSeq, path);
+        syncDirectory(); // The new file's directory entry must survive a crash too
+    }
+
+    private void recover() throws IOException {
+        Path checkpointFile = directory.resolve(CHECKPOINT);
+        if (Files.exists(checkpointFile)) {
+            checkpoint = ByteBuffer.wrap(Files.readAllBytes(checkpointFile)).getLong();
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                        name.length() - SEGMENT_SUFFIX.length())), file);
+            }
+        }
+
+        long lastSeq = checkpoint;
+        for (Iterator<Map.Entry<Long, Path>> iterator = segments.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<Long, Path> segment = iterator.next();
+            boolean last = !iterator.hasNext();
+            long valid = readSegment(segment.getKey(), segment.getValue());
+            long size = Files.size(segment.getValue());
+            if (valid < size) {
+                if (!last) {
+                    throw new IOException("Vote journal segment " + segment.getValue() + " is damaged at byte " + valid);
+                }
+                log.warn("Cutting a torn record off the end of vote journal segment {} at byte {}", segment.getValue(), valid);
+                try (FileChannel channel = FileChannel.open(segment.getValue(), StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                    channel.force(false);
+                }
+            }
+            if (valid > 0) {
+                lastSeq = Math.max(lastSeq, segment.getKey() + valid / RECORD_BYTES - 1);
+            }
+        }
+        nextSeq = lastSeq + 1;
+
+        Map.Entry<Long, Path> lastSegment = segments.lastEntry();
+        if (lastSegment != null && lastSegment.getKey() == nextSeq - Files.size(lastSegment.getValue()) / RECORD_BYTES) {
+            active = FileChannel.open(lastSegment.getValue(), StandardOpenOption.WRITE);
+            activeSize = Files.size(lastSegment.getValue());
+        } else {
+            if (lastSegment != null && Files.size(lastSegment.getValue()) == 0) {
+                Files.delete(lastSegment.getValue()); // Empty and misnamed, e.g. created just before a crash
+                segments.remove(lastSegment.getKey());
+            }
+            openSegment(nextSeq);
+        }
+        checkpoint(checkpoint); // Drops the segments a crash kept from being deleted
+    }
+
+    // Collects the records past the checkpoint; returns how many bytes of the segment are valid records
+    private long readSegment(long firstSeq, Path segment) throws IOException {
+        byte[] record = new byte[RECORD_BYTES];
+        long valid = 0;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(segment), 1 << 16)) {
+            for (long expectedSeq = firstSeq; ; expectedSeq++) {
+                if (in.readNBytes(record, 0, RECORD_BYTES) < RECORD_BYTES) {
+                    return valid;
+                }
+                JournalEntry entry = decode(ByteBuffer.wrap(record), expectedSeq);
+                if (entry == null) {
+                    return valid;
+                }
+                if (entry.seq() > checkpoint) {
+                    recovered.add(entry);
+                }
+                valid += RECORD_BYTES;
+            }
+        }
+    }
+
+    private void syncDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    static void encode(ByteBuffer buffer, long seq, Vote vote) {
+        int start = buffer.position();
+        buffer.putLong(seq)
+                .putLong(vote.id())
+                .putLong(vote.agendaId())
+                .putLong(vote.cpf())
+                .putLong(toMicros(vote.votedAt()))
+                .put((byte) vote.vote().getCode())
+                .put(new byte[3]);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), buffer.arrayOffset() + start, CHECKSUMMED_BYTES);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    // Null for a torn or out-of-sequence record
+    static JournalEntry decode(ByteBuffer record, long expectedSeq) {
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), record.arrayOffset(), CHECKSUMMED_BYTES);
+        if (record.getInt(CHECKSUMMED_BYTES) != (int) crc.getValue() || record.getLong(0) != expectedSeq) {
+            return null;
+        }
+        Vote vote = new Vote(
+                record.getLong(8),
+                record.getLong(16),
+                record.getLong(24),
+                VoteChoice.fromCode(record.get(40)),
+                fromMicros(record.getLong(32)));
+        return new JournalEntry(expectedSeq, vote);
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,13 @@
+package com.rdpk.features.voting.repository;
+
+import com.rdpk.features.voting.domain.VotingResult;
+
+/**
+ * The agenda's tallies and the highest vote id they include, read in one snapshot. Every vote in the counts has an
+ * id up to lastVoteId, so a vote with a higher id is certainly not in them.
+ */
+public record CountedVotes(
+        VotingResult result,
+        long lastVoteId
+) {
+}
@@ -0,0 +1,14 @@
+package com.rdpk.features.voting.repository;
+
+import com.rdpk.features.voting.domain.VotingResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface FinalResultRepository {
+    // Claims up to `limit` unclosed sessions that ended before `endedBefore`, stores their final tallies and marks
+    // them closed in one statement; sessions claimed by another instance are skipped. Emits the stored results
+    Flux<VotingResult> closeSessionsEndedBefore(LocalDateTime endedBefore, LocalDateTime closedAt, int limit);
+    Mono<VotingResult> findByAgendaId(Long agendaId);
+}
@@ -0,0 +1,96 @@
+package com.rdpk.features.voting.repository;
+
+import com.rdpk.features.voting.domain.VotingResult;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Repository
+public class FinalResultRepositoryImpl implements FinalResultRepository {
+
+    private final DatabaseClient databaseClient;
+    private final Retry retry;
+    private final TimeLimiter timeLimiter;
+
+    public FinalResultRepositoryImpl(DatabaseClient databaseClient,
+                                     RetryRegistry retryRegistry,
+                                     TimeLimiterRegistry timeLimiterRegistry) {
+        this.databaseClient = databaseClient;
+        this.retry = retryRegistry.retry("database");
+        this.timeLimiter = timeLimiterRegistry.timeLimiter("database");
+    }
+
+    @Override
+    public Flux<VotingResult> closeSessionsEndedBefore(LocalDateTime endedBefore, LocalDateTime closedAt, int limit) {
+        // One statement, so claiming, marking closed and storing the totals commit together
+        return Flux.defer(() -> databaseClient.sql("""
+                WITH due AS (
+                    SELECT id, agenda_id FROM voting_sessions
+                    WHERE closed_at IS NULL AND end_time < :endedBefore
+                    ORDER BY end_time
+                    LIMIT :limit
+                    FOR UPDATE SKIP LOCKED
+                ),
+                closed AS (
+                    UPDATE voting_sessions s SET closed_at = :closedAt
+                    FROM due
+                    WHERE s.id = due.id
+                    RETURNING s.agenda_id
+                )
+                INSERT INTO final_results (agenda_id, yes_votes, no_votes, closed_at)
+                SELECT closed.agenda_id,
+                       COALESCE(SUM(t.yes_votes), 0),
+                       COALESCE(SUM(t.no_votes), 0),
+                       :closedAt
+                FROM closed
+                LEFT JOIN vote_tallies t ON t.agenda_id = closed.agenda_id
+                GROUP BY closed.agenda_id
+                ON CONFLICT (agenda_id) DO NOTHING
+                RETURNING agenda_id, yes_votes, no_votes
+                """)
+                .bind("endedBefore", endedBefore)
+                .bind("closedAt", closedAt)
+                .bind("limit", limit)
+                .fetch()
+                .all()
+                .map(FinalResultRepositoryImpl::toResult))
+        // Apply database resilience
+        .transform(RetryOperator.of(retry))
+        .transform(TimeLimiterOperator.of(timeLimiter));
+    }
+
+    @Override
+    public Mono<VotingResult> findByAgendaId(Long agendaId) {
+        return Mono.defer(() -> databaseClient.sql("""
+                SELECT agenda_id, yes_votes, no_votes
+                FROM final_results
+                WHERE agenda_id = :agendaId
+                """)
+                .bind("agendaId", agendaId)
+                .fetch()
+                .one()
+                .map(FinalResultRepositoryImpl::toResult))
+        // Apply database resilience
+        .transform(RetryOperator.of(retry))
+        .transform(TimeLimiterOperator.of(timeLimiter));
+    }
+
+    private static VotingResult toResult(Map<String, Object> row) {
+        return new VotingResult(
+                ((Number) row.get("agenda_id")).longValue(),
+                ((Number) row.get("yes_votes")).intValue(),
+                ((Number) row.get("no_votes")).intValue(),
+                "Closed"
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.rdpk.features.voting.repository;
+
+/**
+ * What {@link VoteRepository#insertWithIds} did with one journaled vote.
+ */
+public enum JournaledVoteOutcome {
+    // Inserted by this call
+    WRITTEN,
+    // Its row was already in votes: written by an earlier, retried attempt or before a crash
+    ALREADY_WRITTEN,
+    // Another vote for the same (agenda, CPF) is in votes
+    DUPLICATE,
+    // The session was closed (or is gone), so its final results are frozen without this vote
+    SESSION_CLOSED
+}
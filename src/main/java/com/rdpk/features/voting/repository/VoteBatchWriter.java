@@ -0,0 +1,158 @@
+package com.rdpk.features.voting.repository;
+
+import com.rdpk.config.VoteBatchingConfig;
+import com.rdpk.features.voting.domain.Vote;
+import com.rdpk.features.voting.domain.VoteChoice;
+import com.rdpk.infrastructure.batch.MicroBatcher;
+import io.github.resilience4j.reactor.retry.RetryOperator;
+import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalesces concurrent vote inserts into multi-row INSERT statements.
+ *
+ * Votes are collected for up to {@code votes.batching.window} or {@code votes.batching.max-size} rows,
+ * then written with a single {@code INSERT ... ON CONFLICT (agenda_id, cpf) DO NOTHING RETURNING}.
+ * Each caller still gets its own saved Vote, or a DuplicateKeyException when its row was skipped.
+ */
+@Component
+public class VoteBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(VoteBatchWriter.class);
+
+    private final DatabaseClient databaseClient;
+    private final VoteBatchingConfig config;
+    private final Retry retry;
+    private final TimeLimiter timeLimiter;
+    private MicroBatcher<PendingVote> pendingVotes;
+
+    public VoteBatchWriter(
+            DatabaseClient databaseClient,
+            VoteBatchingConfig config,
+            RetryRegistry retryRegistry,
+            TimeLimiterRegistry timeLimiterRegistry) {
+        this.databaseClient = databaseClient;
+        this.config = config;
+        this.retry = retryRegistry.retry("database");
+        this.timeLimiter = timeLimiterRegistry.timeLimiter("database");
+    }
+
+    @PostConstruct
+    void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        pendingVotes = new MicroBatcher<>(config.getMaxSize(), config.getWindow(), config.getMaxConcurrentFlushes(),
+                this::flush);
+        log.info("Vote batch writer started (maxSize={}, window={})", config.getMaxSize(), config.getWindow());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (pendingVotes != null) {
+            pendingVotes.dispose();
+        }
+    }
+
+    public Mono<Vote> save(Vote vote) {
+        return Mono.create(sink -> pendingVotes.add(new PendingVote(vote, sink)));
+    }
+
+    private Mono<Void> flush(List<PendingVote> batch) {
+        // The same CPF twice in one batch would collapse into a single returned row, so reject the extras up front
+        Map<VoteKey, PendingVote> unique = new LinkedHashMap<>();
+        for (PendingVote pending : batch) {
+            if (unique.putIfAbsent(VoteKey.of(pending.vote()), pending) != null) {
+                pending.sink().error(duplicateVote());
+            }
+        }
+
+        List<Vote> votes = unique.values().stream().map(PendingVote::vote).toList();
+        return insertAll(votes)
+                .doOnNext(saved -> {
+                    for (Vote vote : saved) {
+                        PendingVote pending = unique.remove(VoteKey.of(vote));
+                        if (pending != null) {
+                            pending.sink().success(vote);
+                        }
+                    }
+                    // Rows skipped by ON CONFLICT belong to voters who already voted
+                    unique.values().forEach(pending -> pending.sink().error(duplicateVote()));
+                })
+                .onErrorResume(throwable -> {
+                    log.warn("Vote batch of {} failed: {}", unique.size(), throwable.getMessage());
+                    unique.values().forEach(pending -> pending.sink().error(throwable));
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Inserts all votes in one statement and returns the rows that were written.
+     * Votes that conflict with an existing (agenda_id, cpf) are skipped.
+     */
+    public Mono<List<Vote>> insertAll(List<Vote> votes) {
+        return Mono.defer(() -> {
+                    StringBuilder sql = new StringBuilder("INSERT INTO votes (agenda_id, cpf, vote_value, voted_at) VALUES ");
+                    for (int i = 0; i < votes.size(); i++) {
+                        sql.append(i == 0 ? "" : ", ")
+                                .append("(:agendaId").append(i)
+                                .append(", :cpf").append(i)
+                                .append(", :vote").append(i)
+                                .append(", :votedAt").append(i).append(")");
+                    }
+                    sql.append(" ON CONFLICT (agenda_id, cpf) DO NOTHING")
+                            .append(" RETURNING id, agenda_id, cpf, vote_value, voted_at");
+
+                    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+                    for (int i = 0; i < votes.size(); i++) {
+                        Vote vote = votes.get(i);
+                        spec = spec.bind("agendaId" + i, vote.agendaId())
+                                .bind("cpf" + i, vote.cpf())
+                                .bind("vote" + i, vote.vote().getCode())
+                                .bind("votedAt" + i, vote.votedAt());
+                    }
+                    return spec.map((row, _) -> new Vote(
+                                    row.get("id", Long.class),
+                                    row.get("agenda_id", Long.class),
+                                    row.get("cpf", Long.class),
+                                    VoteChoice.fromCode(row.get("vote_value", Short.class)),
+                                    row.get("voted_at", LocalDateTime.class)))
+                            .all()
+                            .collectList();
+                })
+                // Apply database resilience
+                .transform(RetryOperator.of(retry))
+                .transform(TimeLimiterOperator.of(timeLimiter));
+    }
+
+    private static DuplicateKeyException duplicateVote() {
+        return new DuplicateKeyException("Vote already exists for this agenda and CPF");
+    }
+
+    private record PendingVote(Vote vote, MonoSink<Vote> sink) {
+    }
+
+    private record VoteKey(Long agendaId, Long cpf) {
+        static VoteKey of(Vote vote) {
+            return new VoteKey(vote.agendaId(), vote.cpf());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.rdpk.features.voting.repository;
+
+import java.util.List;
+import java.util.Map;
+
+public record VoteImportMerge(
+        long copied, // Rows streamed into the staging table
+        Map<Reason, Long> rejectedByReason,
+        List<Rejection> rejections // The first ones by line
+) {
+    public enum Reason {
+        NO_SESSION,
+        SESSION_CLOSED,
+        OUTSIDE_SESSION,
+        DUPLICATE
+    }
+
+    public record Rejection(long line, long cpf, Reason reason) {
+    }
+
+    public long rejected() {
+        return rejectedByReason.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long imported() {
+        return copied - rejected();
+    }
+}
@@ -0,0 +1,13 @@
+package com.rdpk.features.voting.repository;
+
+import io.netty.buffer.ByteBuf;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface VoteImportRepository {
+    // Streams binary COPY data (line, agenda_id, cpf, vote_value, voted_at) into a staging table and merges it into
+    // votes in one transaction. Rows without voted_at get importedAt. Lists up to maxRejections rejected rows
+    Mono<VoteImportMerge> importVotes(Publisher<ByteBuf> copyData, LocalDateTime importedAt, int maxRejections);
+}
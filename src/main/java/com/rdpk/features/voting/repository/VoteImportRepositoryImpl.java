@@ -0,0 +1,172 @@
+package com.rdpk.features.voting.repository;
+
+import io.netty.buffer.ByteBuf;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.postgresql.api.PostgresqlStatement;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import org.reactivestreams.Publisher;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk vote import: COPY into a temporary staging table, then one INSERT ... SELECT into votes.
+ *
+ * Everything runs in one transaction on a connection of its own, outside the pool, since an import holds it for as
+ * long as its upload takes. The staging tables are dropped at commit, and a failed import leaves nothing behind.
+ * There is no retry or time limit as on the other repositories: the upload cannot be replayed.
+ *
+ * The merge locks the sessions it imports into FOR SHARE. The close pipeline claims sessions with SKIP LOCKED, so it
+ * leaves them alone until the import commits and their final totals include it. A session closed first makes its
+ * rows SESSION_CLOSED.
+ */
+@Repository
+public class VoteImportRepositoryImpl implements VoteImportRepository {
+
+    private static final String CREATE_STAGING = """
+            CREATE TEMP TABLE vote_import (
+                line BIGINT NOT NULL,
+                agenda_id BIGINT NOT NULL,
+                cpf BIGINT NOT NULL,
+                vote_value SMALLINT NOT NULL,
+                voted_at TIMESTAMP
+            ) ON COMMIT DROP
+            """;
+
+    private static final String CREATE_REJECTIONS = """
+            CREATE TEMP TABLE vote_import_rejections (
+                line BIGINT NOT NULL,
+                cpf BIGINT NOT NULL,
+                reason TEXT NOT NULL
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY = """
+            COPY vote_import (line, agenda_id, cpf, vote_value, voted_at) FROM STDIN WITH (FORMAT binary)
+            """;
+
+    // Temporary tables are never analyzed by autovacuum; without statistics the merge plans for an empty table
+    private static final String ANALYZE = "ANALYZE vote_import";
+
+    // Each staged row is inserted or recorded with the reason it was not; the first line of a repeated vote wins.
+    // Rows without voted_at are stamped with the import time, which must fall inside the session as well
+    private static final String MERGE = """
+            WITH sessions AS (
+                SELECT agenda_id,
+                       end_time - make_interval(mins => duration_minutes) AS start_time,
+                       end_time,
+                       closed_at
+                FROM voting_sessions
+                WHERE agenda_id IN (SELECT agenda_id FROM vote_import)
+                FOR SHARE
+            ),
+            stamped AS (
+                SELECT line, agenda_id, cpf, vote_value, COALESCE(voted_at, $1) AS voted_at FROM vote_import
+            ),
+            checked AS (
+                SELECT i.line, i.agenda_id, i.cpf, i.vote_value, i.voted_at,
+                       CASE
+                           WHEN s.agenda_id IS NULL THEN 'NO_SESSION'
+                           WHEN s.closed_at IS NOT NULL THEN 'SESSION_CLOSED'
+                           WHEN i.voted_at < s.start_time OR i.voted_at >= s.end_time THEN 'OUTSIDE_SESSION'
+                       END AS reason
+                FROM stamped i
+                LEFT JOIN sessions s ON s.agenda_id = i.agenda_id
+            ),
+            eligible AS (
+                SELECT DISTINCT ON (agenda_id, cpf) line, agenda_id, cpf, vote_value, voted_at
+                FROM checked
+                WHERE reason IS NULL
+                ORDER BY agenda_id, cpf, line
+            ),
+            inserted AS (
+                INSERT INTO votes (agenda_id, cpf, vote_value, voted_at)
+                SELECT agenda_id, cpf, vote_value, voted_at FROM eligible
+                ON CONFLICT (agenda_id, cpf) DO NOTHING
+                RETURNING agenda_id, cpf
+            )
+            INSERT INTO vote_import_rejections (line, cpf, reason)
+            SELECT c.line, c.cpf, COALESCE(c.reason, 'DUPLICATE')
+            FROM checked c
+            WHERE NOT EXISTS (
+                SELECT 1 FROM eligible e
+                JOIN inserted n ON n.agenda_id = e.agenda_id AND n.cpf = e.cpf
+                WHERE e.line = c.line
+            )
+            """;
+
+    private static final String COUNT_REJECTIONS = """
+            SELECT reason, COUNT(*) AS total FROM vote_import_rejections GROUP BY reason
+            """;
+
+    private static final String FIRST_REJECTIONS = """
+            SELECT line, cpf, reason FROM vote_import_rejections ORDER BY line LIMIT $1
+            """;
+
+    private final ConnectionFactory connectionFactory;
+
+    public VoteImportRepositoryImpl(ConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Override
+    public Mono<VoteImportMerge> importVotes(Publisher<ByteBuf> copyData, LocalDateTime importedAt, int maxRejections) {
+        return Mono.usingWhen(
+                Mono.from(importConnectionFactory().create()).cast(PostgresqlConnection.class),
+                connection -> Mono.from(connection.beginTransaction())
+                        .then(execute(connection, CREATE_STAGING))
+                        .then(execute(connection, CREATE_REJECTIONS))
+                        .then(connection.copyIn(COPY, copyData))
+                        .flatMap(copied -> execute(connection, ANALYZE)
+                                .then(execute(connection.createStatement(MERGE).bind(0, importedAt)))
+                                .then(countRejections(connection))
+                                .flatMap(counts -> firstRejections(connection, maxRejections)
+                                        .map(rejections -> new VoteImportMerge(copied, counts, rejections))))
+                        .flatMap(merge -> Mono.from(connection.commitTransaction()).thenReturn(merge)),
+                // Closing without a commit ends the session, which rolls the transaction back
+                Connection::close);
+    }
+
+    private Mono<Map<VoteImportMerge.Reason, Long>> countRejections(PostgresqlConnection connection) {
+        return connection.createStatement(COUNT_REJECTIONS)
+                .execute()
+                .flatMap(result -> result.map((row, _) -> Map.entry(
+                        VoteImportMerge.Reason.valueOf(row.get("reason", String.class)),
+                        row.get("total", Long.class))))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Mono<List<VoteImportMerge.Rejection>> firstRejections(PostgresqlConnection connection, int limit) {
+        return connection.createStatement(FIRST_REJECTIONS)
+                .bind(0, limit)
+                .execute()
+                .flatMap(result -> result.map((row, _) -> new VoteImportMerge.Rejection(
+                        row.get("line", Long.class),
+                        row.get("cpf", Long.class),
+                        VoteImportMerge.Reason.valueOf(row.get("reason", String.class)))))
+                .collectList();
+    }
+
+    private static Mono<Long> execute(PostgresqlConnection connection, String sql) {
+        return execute(connection.createStatement(sql));
+    }
+
+    private static Mono<Long> execute(PostgresqlStatement statement) {
+        return statement.execute()
+                .flatMap(PostgresqlResult::getRowsUpdated)
+                .reduce(0L, Long::sum);
+    }
+
+    private ConnectionFactory importConnectionFactory() {
+        if (connectionFactory instanceof Wrapped<?> wrapped && wrapped.unwrap() instanceof ConnectionFactory target) {
+            return target;
+        }
+        return connectionFactory;
+    }
+}
@@ -0,0 +1,23 @@
+package com.rdpk.features.voting.repository;
+
+import com.rdpk.features.voting.domain.Vote;
+
+public record VoteInsertResult(
+        Outcome outcome,
+        Vote vote
+) {
+    public enum Outcome {
+        INSERTED,
+        NO_SESSION,
+        SESSION_CLOSED,
+        DUPLICATE
+    }
+
+    public static VoteInsertResult inserted(Vote vote) {
+        return new VoteInsertResult(Outcome.INSERTED, vote);
+    }
+
+    public static VoteInsertResult rejected(Outcome outcome) {
+        return new VoteInsertResult(outcome, null);
+    }
+}
@@ -5,9 +5,31 @@ import com.rdpk.features.voting.domain.VotingResult;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Every query is scoped to one agenda, so once votes is hash-partitioned (V10) each touches a single partition
 public interface VoteRepository {
     Mono<Vote> save(Vote vote);
-    Flux<Vote> findByAgendaId(Long agendaId);
-    Mono<Boolean> existsByAgendaIdAndCpf(Long agendaId, String cpf);
+    // Inserts in a single round trip; votes that conflict with an existing (agenda, CPF) are skipped
+    Flux<Vote> saveAll(List<Vote> votes);
+    // Checks the agenda's session is open at `now` and inserts the vote in one statement
+    Mono<VoteInsertResult> insertIfSessionOpen(Vote vote, LocalDateTime now);
+    // Takes ids from votes_id_seq for votes that are written later (see VoteJournal)
+    Flux<Long> reserveIds(int count);
+    // Inserts votes that already carry a reserved id into sessions that are not closed; conflicting (agenda, CPF)
+    // rows are skipped. Emits each vote's outcome by vote id
+    Mono<Map<Long, JournaledVoteOutcome>> insertWithIds(List<Vote> votes);
+    // One page of the agenda's votes in CPF order after afterCpf (null: from the first), a seek on (agenda_id, cpf)
+    Mono<List<Vote>> findPageByAgendaId(Long agendaId, Long afterCpf, int limit);
+    // Packed CPFs of the agenda's voters, streamed from the (agenda_id, cpf) index
+    Flux<Long> findCpfsByAgendaId(Long agendaId);
+    Mono<Boolean> existsByAgendaIdAndCpf(Long agendaId, Long cpf);
+    // Reads the trigger-maintained tallies; cost does not grow with turnout
     Mono<VotingResult> countVotesByAgendaId(Long agendaId);
+    // The same tallies with the highest vote id they include (V11), for the live tallies' reconcile
+    Mono<CountedVotes> countVotesWithPositionByAgendaId(Long agendaId);
+    // Counts the raw votes rows; full scan of the agenda, for audits
+    Mono<VotingResult> recountVotesByAgendaId(Long agendaId);
 }
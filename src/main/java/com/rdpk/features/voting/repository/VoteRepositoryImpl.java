@@ -1,6 +1,8 @@
 package com.rdpk.features.voting.repository;
 
+import com.rdpk.config.VoteBatchingConfig;
 import com.rdpk.features.voting.domain.Vote;
+import com.rdpk.features.voting.domain.VoteChoice;
 import com.rdpk.features.voting.domain.VotingResult;
 import io.github.resilience4j.reactor.retry.RetryOperator;
 import io.github.resilience4j.reactor.timelimiter.TimeLimiterOperator;
@@ -18,6 +20,10 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 @Repository
 public class VoteRepositoryImpl implements VoteRepository {
 
@@ -25,22 +31,32 @@ public class VoteRepositoryImpl implements VoteRepository {
 
     private final R2dbcEntityTemplate template;
     private final DatabaseClient databaseClient;
+    private final VoteBatchWriter batchWriter;
+    private final VoteBatchingConfig batchingConfig;
     private final Retry retry;
     private final TimeLimiter timeLimiter;
 
     public VoteRepositoryImpl(
             R2dbcEntityTemplate template, 
             DatabaseClient databaseClient,
+            VoteBatchWriter batchWriter,
+            VoteBatchingConfig batchingConfig,
             RetryRegistry retryRegistry,
             TimeLimiterRegistry timeLimiterRegistry) {
         this.template = template;
         this.databaseClient = databaseClient;
+        this.batchWriter = batchWriter;
+        this.batchingConfig = batchingConfig;
         this.retry = retryRegistry.retry("database");
         this.timeLimiter = timeLimiterRegistry.timeLimiter("database");
     }
 
     @Override
     public Mono<Vote> save(Vote vote) {
+        if (batchingConfig.isEnabled()) {
+            // Batch writer applies its own resilience to the shared multi-row INSERT
+            return batchWriter.save(vote);
+        }
         return Mono.defer(() -> template.insert(Vote.class).using(vote))
         // Apply database resilience
         .transform(RetryOperator.of(retry))
@@ -48,15 +64,178 @@ public class VoteRepositoryImpl implements VoteRepository {
     }
 
     @Override
-    public Flux<Vote> findByAgendaId(Long agendaId) {
-        return template.select(
-                Query.query(Criteria.where("agenda_id").is(agendaId)),
-                Vote.class
-        );
+    public Flux<Vote> saveAll(List<Vote> votes) {
+        return batchWriter.insertAll(votes)
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    @Override
+    public Mono<VoteInsertResult> insertIfSessionOpen(Vote vote, LocalDateTime now) {
+        return Mono.defer(() -> databaseClient.sql("""
+                WITH session AS (
+                    SELECT end_time FROM voting_sessions
+                    WHERE agenda_id = :agendaId
+                    ORDER BY id
+                    LIMIT 1
+                ),
+                inserted AS (
+                    INSERT INTO votes (agenda_id, cpf, vote_value, voted_at)
+                    SELECT :agendaId, :cpf, :vote, :votedAt
+                    FROM session
+                    WHERE session.end_time >= :now
+                    ON CONFLICT (agenda_id, cpf) DO NOTHING
+                    RETURNING id, voted_at
+                )
+                SELECT
+                    EXISTS (SELECT 1 FROM session) AS session_exists,
+                    EXISTS (SELECT 1 FROM session WHERE end_time >= :now) AS session_open,
+                    inserted.id,
+                    inserted.voted_at
+                FROM (SELECT 1) AS one
+                LEFT JOIN inserted ON true
+                """)
+                .bind("agendaId", vote.agendaId())
+                .bind("cpf", vote.cpf())
+                .bind("vote", vote.vote().getCode())
+                .bind("votedAt", vote.votedAt())
+                .bind("now", now)
+                .map((row, _) -> {
+                    Long id = row.get("id", Long.class);
+                    if (id != null) {
+                        return VoteInsertResult.inserted(new Vote(
+                                id, vote.agendaId(), vote.cpf(), vote.vote(), row.get("voted_at", LocalDateTime.class)));
+                    }
+                    if (!Boolean.TRUE.equals(row.get("session_exists", Boolean.class))) {
+                        return VoteInsertResult.rejected(VoteInsertResult.Outcome.NO_SESSION);
+                    }
+                    if (!Boolean.TRUE.equals(row.get("session_open", Boolean.class))) {
+                        return VoteInsertResult.rejected(VoteInsertResult.Outcome.SESSION_CLOSED);
+                    }
+                    return VoteInsertResult.rejected(VoteInsertResult.Outcome.DUPLICATE);
+                })
+                .one())
+        // Apply database resilience
+        .transform(RetryOperator.of(retry))
+        .transform(TimeLimiterOperator.of(timeLimiter));
+    }
+
+    @Override
+    public Flux<Long> reserveIds(int count) {
+        return Mono.defer(() -> databaseClient.sql("SELECT nextval('votes_id_seq') AS id FROM generate_series(1, :count)")
+                .bind("count", count)
+                .map((row, _) -> row.get("id", Long.class))
+                .all()
+                .collectList())
+        // Apply database resilience; a retried call only leaves a gap in the sequence
+        .transform(RetryOperator.of(retry))
+        .transform(TimeLimiterOperator.of(timeLimiter))
+        .flatMapMany(Flux::fromIterable);
+    }
+
+    @Override
+    public Mono<Map<Long, JournaledVoteOutcome>> insertWithIds(List<Vote> votes) {
+        // The sessions are locked FOR SHARE like an import's: the close pipeline claims with SKIP LOCKED, so it waits
+        // for these rows to commit, and a flush that waited on a close sees closed_at set and writes nothing into it.
+        // A row already in votes with the vote's own id was written by an earlier attempt, so a retry or a replay
+        // after a crash reports it as such instead of as a conflict
+        return Mono.defer(() -> {
+                    StringBuilder values = new StringBuilder();
+                    for (int i = 0; i < votes.size(); i++) {
+                        values.append(i == 0 ? "" : ", ")
+                                .append("(:id").append(i)
+                                .append(", :agendaId").append(i)
+                                .append(", :cpf").append(i)
+                                .append(", :vote").append(i)
+                                .append(", :votedAt").append(i).append(")");
+                    }
+                    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                            WITH journaled (id, agenda_id, cpf, vote_value, voted_at) AS (
+                                VALUES %s
+                            ),
+                            open_sessions AS (
+                                SELECT agenda_id FROM voting_sessions
+                                WHERE agenda_id IN (SELECT agenda_id FROM journaled) AND closed_at IS NULL
+                                FOR SHARE
+                            ),
+                            inserted AS (
+                                INSERT INTO votes (id, agenda_id, cpf, vote_value, voted_at)
+                                SELECT id, agenda_id, cpf, vote_value, voted_at
+                                FROM journaled
+                                WHERE agenda_id IN (SELECT agenda_id FROM open_sessions)
+                                ON CONFLICT (agenda_id, cpf) DO NOTHING
+                                RETURNING id
+                            )
+                            SELECT j.id,
+                                   CASE
+                                       WHEN EXISTS (SELECT 1 FROM inserted i WHERE i.id = j.id) THEN 'WRITTEN'
+                                       WHEN EXISTS (SELECT 1 FROM votes v WHERE v.agenda_id = j.agenda_id AND v.id = j.id)
+                                           THEN 'ALREADY_WRITTEN'
+                                       WHEN j.agenda_id IN (SELECT agenda_id FROM open_sessions) THEN 'DUPLICATE'
+                                       ELSE 'SESSION_CLOSED'
+                                   END AS outcome
+                            FROM journaled j
+                            """.formatted(values));
+                    for (int i = 0; i < votes.size(); i++) {
+                        Vote vote = votes.get(i);
+                        spec = spec.bind("id" + i, vote.id())
+                                .bind("agendaId" + i, vote.agendaId())
+                                .bind("cpf" + i, vote.cpf())
+                                .bind("vote" + i, vote.vote().getCode())
+                                .bind("votedAt" + i, vote.votedAt());
+                    }
+                    return spec.map((row, _) -> Map.entry(row.get("id", Long.class),
+                                    JournaledVoteOutcome.valueOf(row.get("outcome", String.class))))
+                            .all()
+                            .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+                })
+                // Apply database resilience; safe to retry, see above
+                .transform(RetryOperator.of(retry))
+                .transform(TimeLimiterOperator.of(timeLimiter));
+    }
+
+    @Override
+    public Mono<List<Vote>> findPageByAgendaId(Long agendaId, Long afterCpf, int limit) {
+        // A page is a bounded query, so unlike a whole-agenda stream it can be retried and time limited; it is
+        // collected first so a retry cannot repeat rows
+        return Mono.defer(() -> {
+            String after = afterCpf != null ? "AND cpf > :afterCpf" : "";
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                    SELECT id, agenda_id, cpf, vote_value, voted_at
+                    FROM votes
+                    WHERE agenda_id = :agendaId %s
+                    ORDER BY cpf
+                    LIMIT :limit
+                    """.formatted(after))
+                    .bind("agendaId", agendaId)
+                    .bind("limit", limit);
+            if (afterCpf != null) {
+                spec = spec.bind("afterCpf", afterCpf);
+            }
+            return spec.map((row, _) -> new Vote(
+                            row.get("id", Long.class),
+                            row.get("agenda_id", Long.class),
+                            row.get("cpf", Long.class),
+                            VoteChoice.fromCode(row.get("vote_value", Short.class)),
+                            row.get("voted_at", LocalDateTime.class)))
+                    .all()
+                    .collectList();
+        })
+        // Apply database resilience
+        .transform(RetryOperator.of(retry))
+        .transform(TimeLimiterOperator.of(timeLimiter));
+    }
+
+    @Override
+    public Flux<Long> findCpfsByAgendaId(Long agendaId) {
+        // Streamed, so no retry or time limit: a large agenda may take a while and cannot be resumed midway
+        return databaseClient.sql("SELECT cpf FROM votes WHERE agenda_id = :agendaId")
+                .bind("agendaId", agendaId)
+                .map((row, _) -> row.get("cpf", Long.class))
+                .all();
     }
 
     @Override
-    public Mono<Boolean> existsByAgendaIdAndCpf(Long agendaId, String cpf) {
+    public Mono<Boolean> existsByAgendaIdAndCpf(Long agendaId, Long cpf) {
         return Mono.defer(() -> template.exists(
                 Query.query(
                         Criteria.where("agenda_id").is(agendaId)
@@ -71,24 +250,69 @@ public class VoteRepositoryImpl implements VoteRepository {
     
     @Override
     public Mono<VotingResult> countVotesByAgendaId(Long agendaId) {
+        // vote_tallies is maintained by trigger on votes (V6); at most vote_tally_slots() rows per agenda
+        return Mono.defer(() -> databaseClient.sql("""
+                SELECT
+                    COALESCE(SUM(yes_votes), 0) as yes_votes,
+                    COALESCE(SUM(no_votes), 0) as no_votes
+                FROM vote_tallies
+                WHERE agenda_id = :agendaId
+                """)
+                .bind("agendaId", agendaId)
+                .fetch()
+                .one()
+                .map(row -> toResult(agendaId, row)))
+        // Apply database resilience
+        .transform(RetryOperator.of(retry))
+        .transform(TimeLimiterOperator.of(timeLimiter));
+    }
+
+    @Override
+    public Mono<CountedVotes> countVotesWithPositionByAgendaId(Long agendaId) {
+        // One statement, so the position and the sums come from the same snapshot
+        return Mono.defer(() -> databaseClient.sql("""
+                SELECT
+                    COALESCE(SUM(yes_votes), 0) as yes_votes,
+                    COALESCE(SUM(no_votes), 0) as no_votes,
+                    COALESCE(MAX(last_vote_id), 0) as last_vote_id
+                FROM vote_tallies
+                WHERE agenda_id = :agendaId
+                """)
+                .bind("agendaId", agendaId)
+                .fetch()
+                .one()
+                .map(row -> new CountedVotes(toResult(agendaId, row), ((Number) row.get("last_vote_id")).longValue())))
+        // Apply database resilience
+        .transform(RetryOperator.of(retry))
+        .transform(TimeLimiterOperator.of(timeLimiter));
+    }
+
+    @Override
+    public Mono<VotingResult> recountVotesByAgendaId(Long agendaId) {
         return Mono.defer(() -> databaseClient.sql("""
                 SELECT 
-                    COALESCE(SUM(CASE WHEN vote_value = 'YES' THEN 1 ELSE 0 END), 0) as yes_votes,
-                    COALESCE(SUM(CASE WHEN vote_value = 'NO' THEN 1 ELSE 0 END), 0) as no_votes
+                    COALESCE(SUM(CASE WHEN vote_value = :yes THEN 1 ELSE 0 END), 0) as yes_votes,
+                    COALESCE(SUM(CASE WHEN vote_value = :no THEN 1 ELSE 0 END), 0) as no_votes
                 FROM votes
                 WHERE agenda_id = :agendaId
                 """)
                 .bind("agendaId", agendaId)
+                .bind("yes", VoteChoice.YES.getCode())
+                .bind("no", VoteChoice.NO.getCode())
                 .fetch()
                 .one()
-                .map(row -> new VotingResult(
-                        agendaId,
-                        ((Number) row.get("yes_votes")).intValue(),
-                        ((Number) row.get("no_votes")).intValue(),
-                        "Open" // Default status, will be determined by service layer
-                )))
+                .map(row -> toResult(agendaId, row)))
         // Apply database resilience
         .transform(RetryOperator.of(retry))
         .transform(TimeLimiterOperator.of(timeLimiter));
     }
+
+    private static VotingResult toResult(Long agendaId, Map<String, Object> row) {
+        return new VotingResult(
+                agendaId,
+                ((Number) row.get("yes_votes")).intValue(),
+                ((Number) row.get("no_votes")).intValue(),
+                "Open" // Default status, will be determined by service layer
+        );
+    }
 }
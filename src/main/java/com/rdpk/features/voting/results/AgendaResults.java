@@ -0,0 +1,13 @@
+package com.rdpk.features.voting.results;
+
+import com.rdpk.features.voting.domain.VotingResult;
+
+/**
+ * Results as read by {@link GetResultsHandler}. materialized is set only when they come from final_results and can
+ * no longer change; a session that has ended but is not closed yet already reports "Closed" with a provisional count.
+ */
+public record AgendaResults(
+        VotingResult result,
+        boolean materialized
+) {
+}
@@ -0,0 +1,43 @@
+package com.rdpk.features.voting.results;
+
+import com.rdpk.exception.VotingException;
+import com.rdpk.features.session.repository.VotingSessionRepository;
+import com.rdpk.features.voting.repository.VoteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reconciles the maintained tallies served by {@link GetResultsHandler} against a full recount of the votes table.
+ */
+@Service
+public class AuditResultsHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditResultsHandler.class);
+
+    private final VoteRepository voteRepository;
+    private final VotingSessionRepository sessionRepository;
+
+    public AuditResultsHandler(VoteRepository voteRepository, VotingSessionRepository sessionRepository) {
+        this.voteRepository = voteRepository;
+        this.sessionRepository = sessionRepository;
+    }
+
+    public Mono<TallyAuditResponse> audit(Long agendaId) {
+        return sessionRepository.findByAgendaId(agendaId)
+                .switchIfEmpty(Mono.error(new VotingException("Voting session not found", HttpStatus.NOT_FOUND)))
+                .flatMap(_ -> Mono.zip(
+                        voteRepository.countVotesByAgendaId(agendaId),
+                        voteRepository.recountVotesByAgendaId(agendaId),
+                        TallyAuditResponse::from))
+                .doOnNext(audit -> {
+                    if (!audit.consistent()) {
+                        log.warn("Vote tallies for agenda {} diverge from recount: tallied {}/{}, counted {}/{}",
+                                agendaId, audit.talliedYesVotes(), audit.talliedNoVotes(),
+                                audit.countedYesVotes(), audit.countedNoVotes());
+                    }
+                });
+    }
+}
@@ -2,39 +2,76 @@ package com.rdpk.features.voting.results;
 
 import com.rdpk.features.session.repository.VotingSessionRepository;
 import com.rdpk.features.voting.domain.VotingResult;
+import com.rdpk.features.voting.repository.FinalResultRepository;
 import com.rdpk.features.voting.repository.VoteRepository;
+import com.rdpk.features.voting.tally.LiveTallyStore;
 import com.rdpk.exception.VotingException;
 import com.rdpk.infrastructure.time.TimeProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+/**
+ * Results of an agenda: "Open" until the session's end time, "Closed" after it. Closed results are materialized
+ * only once read from final_results; until SessionCloser has stored them they are counted from the tallies and are
+ * provisional, since votes in the grace period, journal flushes and imports can still change them.
+ */
 @Service
 public class GetResultsHandler {
 
+    public static final String OPEN = "Open";
+    public static final String CLOSED = "Closed";
+
     private final VoteRepository voteRepository;
+    private final FinalResultRepository finalResultRepository;
     private final VotingSessionRepository sessionRepository;
     private final TimeProvider timeProvider;
+    private final LiveTallyStore liveTallies;
 
     public GetResultsHandler(VoteRepository voteRepository,
+                            FinalResultRepository finalResultRepository,
                             VotingSessionRepository sessionRepository,
-                            TimeProvider timeProvider) {
+                            TimeProvider timeProvider,
+                            LiveTallyStore liveTallies) {
         this.voteRepository = voteRepository;
+        this.finalResultRepository = finalResultRepository;
         this.sessionRepository = sessionRepository;
         this.timeProvider = timeProvider;
+        this.liveTallies = liveTallies;
     }
 
-    public Mono<VotingResult> getResults(Long agendaId) {
+    public Mono<AgendaResults> getResults(Long agendaId) {
         return sessionRepository.findByAgendaId(agendaId)
                 .switchIfEmpty(Mono.error(new VotingException("Voting session not found", HttpStatus.NOT_FOUND)))
                 .flatMap(session -> {
-                    // Get vote counts from repository
-                    return voteRepository.countVotesByAgendaId(agendaId)
-                            .map(result -> {
-                                // Determine status based on session end time
-                                String status = timeProvider.now().isAfter(session.endTime()) ? "Closed" : "Open";
-                                return new VotingResult(agendaId, result.yesVotes(), result.noVotes(), status);
-                            });
+                    if (timeProvider.now().isAfter(session.endTime())) {
+                        // Final once stored by SessionCloser; counted from the tallies until it has run
+                        return finalResultRepository.findByAgendaId(agendaId)
+                                .map(result -> closed(agendaId, result, true))
+                                .switchIfEmpty(Mono.defer(() -> voteRepository.countVotesByAgendaId(agendaId)
+                                        .map(result -> closed(agendaId, result, false))));
+                    }
+                    if (!liveTallies.isEnabled()) {
+                        return voteRepository.countVotesByAgendaId(agendaId)
+                                .map(result -> open(agendaId, result.yesVotes(), result.noVotes()));
+                    }
+
+                    // Open session: served from memory once the agenda's live tally is seeded
+                    LiveTallyStore.Tally live = liveTallies.peek(agendaId);
+                    if (live != null) {
+                        return Mono.just(open(agendaId, (int) live.yesVotes(), (int) live.noVotes()));
+                    }
+                    return liveTallies.seed(session)
+                            .map(result -> open(agendaId, result.yesVotes(), result.noVotes()));
                 });
     }
+
+    private static AgendaResults open(Long agendaId, int yesVotes, int noVotes) {
+        return new AgendaResults(new VotingResult(agendaId, yesVotes, noVotes, OPEN), false);
+    }
+
+    private static AgendaResults closed(Long agendaId, VotingResult result, boolean materialized) {
+        return new AgendaResults(
+                new VotingResult(agendaId, result.yesVotes(), result.noVotes(), CLOSED), materialized);
+    }
 }
@@ -1,10 +1,15 @@
 package com.rdpk.features.voting.results;
 
+import com.rdpk.config.HttpCachingConfig;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -12,15 +17,64 @@ import reactor.core.publisher.Mono;
 public class ResultsController {
 
     private final GetResultsHandler getResultsHandler;
+    private final AuditResultsHandler auditResultsHandler;
+    private final StreamResultsHandler streamResultsHandler;
+    private final HttpCachingConfig cachingConfig;
 
-    public ResultsController(GetResultsHandler getResultsHandler) {
+    public ResultsController(GetResultsHandler getResultsHandler,
+                             AuditResultsHandler auditResultsHandler,
+                             StreamResultsHandler streamResultsHandler,
+                             HttpCachingConfig cachingConfig) {
         this.getResultsHandler = getResultsHandler;
+        this.auditResultsHandler = auditResultsHandler;
+        this.streamResultsHandler = streamResultsHandler;
+        this.cachingConfig = cachingConfig;
     }
 
+    /**
+     * The ETag is built from the counts and status, which make up the whole body. A matching If-None-Match is
+     * answered with 304 by the ResponseEntity handler. Only results read from final_results no longer change
+     * and are immutable; closed results counted before the session is materialized are always revalidated.
+     */
     @GetMapping("/{agendaId}/results")
     public Mono<ResponseEntity<GetResultsResponse>> getResults(@PathVariable Long agendaId) {
         return getResultsHandler.getResults(agendaId)
-                .map(GetResultsResponse::from)
+                .map(results -> {
+                    GetResultsResponse response = GetResultsResponse.from(results.result());
+                    return ResponseEntity.ok()
+                            .eTag(etag(response))
+                            .cacheControl(cacheControl(results))
+                            .body(response);
+                });
+    }
+
+    @GetMapping("/{agendaId}/results/audit")
+    public Mono<ResponseEntity<TallyAuditResponse>> auditResults(@PathVariable Long agendaId) {
+        return auditResultsHandler.audit(agendaId)
                 .map(ResponseEntity::ok);
     }
+
+    @GetMapping(value = "/{agendaId}/results/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<GetResultsResponse>> streamResults(@PathVariable Long agendaId) {
+        return streamResultsHandler.streamResults(agendaId)
+                .map(results -> ServerSentEvent.builder(GetResultsResponse.from(results.result()))
+                        .event(results.materialized() ? "closed" : "results")
+                        .build());
+    }
+
+    private static String etag(GetResultsResponse response) {
+        return response.agendaId() + "-" + response.yesVotes() + "-" + response.noVotes()
+                + "-" + response.status().toLowerCase();
+    }
+
+    private CacheControl cacheControl(AgendaResults results) {
+        if (results.materialized()) {
+            return CacheControl.maxAge(cachingConfig.getImmutableMaxAge()).cachePublic().immutable();
+        }
+        boolean closed = GetResultsHandler.CLOSED.equals(results.result().status());
+        if (closed || cachingConfig.getOpenResultsMaxAge().isZero()) {
+            return CacheControl.noCache().cachePublic();
+        }
+        return CacheControl.maxAge(cachingConfig.getOpenResultsMaxAge()).cachePublic();
+    }
 }
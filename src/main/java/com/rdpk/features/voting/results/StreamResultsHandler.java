@@ -0,0 +1,62 @@
+package com.rdpk.features.voting.results;
+
+import com.rdpk.config.ResultsStreamConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live results per agenda for Server-Sent Events subscribers.
+ *
+ * All subscribers of an agenda share one upstream: it reads {@link GetResultsHandler} once per
+ * interval, emits only when the result changed, and completes after the first materialized result, i.e. once
+ * the final results are stored; a session that has ended but is not closed yet keeps streaming.
+ * Late subscribers get the latest result right away. The upstream stops when the last subscriber leaves.
+ */
+@Service
+public class StreamResultsHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamResultsHandler.class);
+
+    private final GetResultsHandler getResultsHandler;
+    private final ResultsStreamConfig config;
+    private final Map<Long, Flux<AgendaResults>> streams = new ConcurrentHashMap<>();
+
+    public StreamResultsHandler(GetResultsHandler getResultsHandler, ResultsStreamConfig config) {
+        this.getResultsHandler = getResultsHandler;
+        this.config = config;
+    }
+
+    public Flux<AgendaResults> streamResults(Long agendaId) {
+        return Flux.defer(() -> streams.computeIfAbsent(agendaId, this::newStream));
+    }
+
+    private Flux<AgendaResults> newStream(Long agendaId) {
+        AtomicReference<Flux<AgendaResults>> self = new AtomicReference<>();
+        Flux<AgendaResults> stream = Flux.interval(Duration.ZERO, config.getInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> getResultsHandler.getResults(agendaId)
+                        .onErrorResume(throwable -> {
+                            if (tick == 0) {
+                                return Mono.error(throwable); // e.g. no session: fail the subscription
+                            }
+                            log.warn("Reading results for agenda {} stream failed, skipping update: {}",
+                                    agendaId, throwable.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .distinctUntilChanged()
+                .takeUntil(AgendaResults::materialized)
+                .doFinally(_ -> streams.remove(agendaId, self.get()))
+                .replay(1)
+                .refCount();
+        self.set(stream);
+        return stream;
+    }
+}
@@ -0,0 +1,23 @@
+package com.rdpk.features.voting.results;
+
+import com.rdpk.features.voting.domain.VotingResult;
+
+public record TallyAuditResponse(
+    Long agendaId,
+    int talliedYesVotes,
+    int talliedNoVotes,
+    int countedYesVotes,
+    int countedNoVotes,
+    boolean consistent
+) {
+    public static TallyAuditResponse from(VotingResult tallied, VotingResult counted) {
+        return new TallyAuditResponse(
+            tallied.agendaId(),
+            tallied.yesVotes(),
+            tallied.noVotes(),
+            counted.yesVotes(),
+            counted.noVotes(),
+            tallied.yesVotes().equals(counted.yesVotes()) && tallied.noVotes().equals(counted.noVotes())
+        );
+    }
+}
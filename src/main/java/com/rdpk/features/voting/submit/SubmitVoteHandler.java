@@ -1,11 +1,16 @@
 package com.rdpk.features.voting.submit;
 
+import com.rdpk.config.VoteBatchingConfig;
 import com.rdpk.features.session.repository.VotingSessionRepository;
+import com.rdpk.features.voting.domain.Cpf;
 import com.rdpk.features.voting.domain.Vote;
 import com.rdpk.features.voting.domain.VoteChoice;
 import com.rdpk.features.voting.repository.VoteRepository;
 import com.rdpk.exception.VotingException;
 import com.rdpk.features.voting.cpfvalidation.CpfValidationService;
+import com.rdpk.features.voting.journal.VoteJournal;
+import com.rdpk.features.voting.tally.LiveTallyStore;
+import com.rdpk.features.voting.voters.VoterSets;
 import com.rdpk.infrastructure.time.TimeProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -18,25 +23,48 @@ public class SubmitVoteHandler {
     private final VotingSessionRepository sessionRepository;
     private final CpfValidationService cpfValidationService;
     private final TimeProvider timeProvider;
+    private final VoteBatchingConfig batchingConfig;
+    private final LiveTallyStore liveTallies;
+    private final VoterSets voterSets;
+    private final VoteJournal voteJournal;
 
     public SubmitVoteHandler(VoteRepository voteRepository,
                             VotingSessionRepository sessionRepository,
                             CpfValidationService cpfValidationService,
-                            TimeProvider timeProvider) {
+                            TimeProvider timeProvider,
+                            VoteBatchingConfig batchingConfig,
+                            LiveTallyStore liveTallies,
+                            VoterSets voterSets,
+                            VoteJournal voteJournal) {
         this.voteRepository = voteRepository;
         this.sessionRepository = sessionRepository;
         this.cpfValidationService = cpfValidationService;
         this.timeProvider = timeProvider;
+        this.batchingConfig = batchingConfig;
+        this.liveTallies = liveTallies;
+        this.voterSets = voterSets;
+        this.voteJournal = voteJournal;
     }
 
     public Mono<Vote> submitVote(Long agendaId, String cpf, VoteChoice vote) {
+        // Known repeat voters are rejected from memory, before validation and the database
+        if (voterSets.hasVoted(agendaId, Cpf.parse(cpf))) {
+            return Mono.error(alreadyVoted());
+        }
+
         // First validate CPF
         return cpfValidationService.validateCpf(cpf)
                 .flatMap(response -> {
                     if ("UNABLE_TO_VOTE".equals(response.status())) {
                         return Mono.error(new VotingException("CPF is not able to vote", HttpStatus.NOT_FOUND));
                     }
-                    return validateAndSubmitVote(agendaId, cpf, vote);
+                    return validateAndSubmitVote(agendaId, cpf, vote)
+                            .doOnNext(saved -> {
+                                if (!voteJournal.isEnabled()) { // The journal counts its votes until they are written
+                                    liveTallies.record(saved);
+                                }
+                            })
+                            .doOnNext(voterSets::record);
                 })
                 .onErrorResume(throwable -> {
                     // Handle CPF validation errors
@@ -49,6 +77,25 @@ public class SubmitVoteHandler {
     }
 
     private Mono<Vote> validateAndSubmitVote(Long agendaId, String cpf, VoteChoice vote) {
+        if (batchingConfig.isEnabled() || voteJournal.isEnabled()) {
+            // Coalesced multi-row inserts and journaled votes can't carry a per-vote session check
+            return checkSessionAndSaveVote(agendaId, cpf, vote);
+        }
+
+        // Session check and insert in a single round trip
+        return voteRepository.insertIfSessionOpen(new Vote(agendaId, Cpf.parse(cpf), vote), timeProvider.now())
+                .flatMap(result -> switch (result.outcome()) {
+                    case INSERTED -> Mono.just(result.vote());
+                    case NO_SESSION -> Mono.error(new VotingException("Voting session not found", HttpStatus.NOT_FOUND));
+                    case SESSION_CLOSED -> Mono.error(new VotingException("Voting session is closed", HttpStatus.BAD_REQUEST));
+                    case DUPLICATE -> {
+                        voterSets.record(agendaId, Cpf.parse(cpf));
+                        yield Mono.error(alreadyVoted());
+                    }
+                });
+    }
+
+    private Mono<Vote> checkSessionAndSaveVote(Long agendaId, String cpf, VoteChoice vote) {
         return sessionRepository.findByAgendaId(agendaId)
                 .switchIfEmpty(Mono.error(new VotingException("Voting session not found", HttpStatus.NOT_FOUND)))
                 .flatMap(session -> {
@@ -63,12 +110,18 @@ public class SubmitVoteHandler {
     }
 
     private Mono<Vote> saveVote(Long agendaId, String cpf, VoteChoice vote) {
-        Vote newVote = new Vote(agendaId, cpf, vote);
+        Vote newVote = new Vote(agendaId, Cpf.parse(cpf), vote);
         
-        // Let database constraint handle uniqueness atomically
-        return voteRepository.save(newVote)
-                .onErrorResume(org.springframework.dao.DuplicateKeyException.class, _ -> 
-                    Mono.error(new VotingException("CPF already voted for this agenda", HttpStatus.BAD_REQUEST))
-                );
+        // Let database constraint handle uniqueness atomically; the journal checks it before acknowledging
+        Mono<Vote> saved = voteJournal.isEnabled() ? voteJournal.append(newVote) : voteRepository.save(newVote);
+        return saved
+                .onErrorResume(org.springframework.dao.DuplicateKeyException.class, _ -> {
+                    voterSets.record(agendaId, newVote.cpf());
+                    return Mono.error(alreadyVoted());
+                });
+    }
+
+    private static VotingException alreadyVoted() {
+        return new VotingException("CPF already voted for this agenda", HttpStatus.BAD_REQUEST);
     }
 }
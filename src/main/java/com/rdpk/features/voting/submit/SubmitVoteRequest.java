@@ -1,5 +1,6 @@
 package com.rdpk.features.voting.submit;
 
+import com.rdpk.features.voting.domain.Cpf;
 import com.rdpk.features.voting.domain.VoteChoice;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -12,6 +13,6 @@ public record SubmitVoteRequest(
 ) {
     // Custom validation method to check CPF format after NotBlank validation
     public boolean isValidCpfFormat() {
-        return cpf != null && cpf.matches("\\d{11}");
+        return Cpf.isWellFormed(cpf);
     }
 }
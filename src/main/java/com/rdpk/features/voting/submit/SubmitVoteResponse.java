@@ -1,5 +1,6 @@
 package com.rdpk.features.voting.submit;
 
+import com.rdpk.features.voting.domain.Cpf;
 import com.rdpk.features.voting.domain.Vote;
 import java.time.LocalDateTime;
 
@@ -18,7 +19,7 @@ public record SubmitVoteResponse(
         return new SubmitVoteResponse(
             vote.id(),
             vote.agendaId(),
-            vote.cpf(),
+            Cpf.format(vote.cpf()),
             formattedVote,
             vote.votedAt()
         );
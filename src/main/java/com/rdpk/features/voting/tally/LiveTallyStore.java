@@ -0,0 +1,475 @@
+package com.rdpk.features.voting.tally;
+
+import com.rdpk.config.ClusterEventsConfig;
+import com.rdpk.config.LiveTallyConfig;
+import com.rdpk.features.session.domain.VotingSession;
+import com.rdpk.features.session.expiration.SessionExpirationListener;
+import com.rdpk.features.session.repository.VotingSessionRepository;
+import com.rdpk.features.voting.domain.Vote;
+import com.rdpk.features.voting.domain.VoteChoice;
+import com.rdpk.features.voting.domain.VotingResult;
+import com.rdpk.features.voting.repository.CountedVotes;
+import com.rdpk.features.voting.repository.JournaledVoteOutcome;
+import com.rdpk.features.voting.repository.VoteRepository;
+import com.rdpk.infrastructure.batch.MicroBatcher;
+import com.rdpk.infrastructure.cluster.ClusterEvent;
+import com.rdpk.infrastructure.cluster.ClusterEventBus;
+import com.rdpk.infrastructure.time.TimeProvider;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process YES/NO counters for agendas with an open session, so results reads skip the database.
+ *
+ * An agenda is tracked from its first results read (or from startup, for sessions already open). Local votes
+ * are added as they are saved; a periodic reconcile against {@link VoteRepository#countVotesWithPositionByAgendaId}
+ * picks up votes from other instances. The count comes with the highest vote id it includes, which decides for each
+ * recorded vote whether the count already has it (see {@link Tally}). Entries are dropped once their session has
+ * ended.
+ *
+ * With cluster events enabled, the ids of local votes are also broadcast per agenda every
+ * {@code cluster.events.vote-flush-interval}, and other instances' votes are recorded by id as they arrive, so they
+ * show up without waiting for the reconcile. Remote votes the last count already includes are skipped like local
+ * ones, so a broadcast that arrives after a reconcile or seed has counted its votes does not add them again.
+ *
+ * Votes acknowledged from the journal (votes.journal.enabled) are counted apart from the start, as unflushed, and
+ * the reconcile leaves them alone: they are not in votes yet, so they are not drift. Once the journal has flushed
+ * them they become recorded votes (and are broadcast), or are dropped if their session was closed first.
+ *
+ * Recording a vote takes no lock. Each agenda keeps the ids of at most {@code tallies.live.max-tracked-votes} votes
+ * recorded since its last count; once that is exceeded the agenda is reseeded from the database right away.
+ */
+@Component
+public class LiveTallyStore implements SessionExpirationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveTallyStore.class);
+    private static final int RECONCILE_CONCURRENCY = 4;
+    private static final int MAX_VOTES_PER_PUBLISH = 10_000;
+    // NOTIFY payloads are limited to 8000 bytes; 400 ids of up to 15 digits stay well below
+    private static final int MAX_VOTE_IDS_PER_EVENT = 400;
+
+    private final VoteRepository voteRepository;
+    private final VotingSessionRepository sessionRepository;
+    private final TimeProvider timeProvider;
+    private final LiveTallyConfig config;
+    private final ClusterEventBus clusterEvents;
+    private final ClusterEventsConfig clusterConfig;
+    private final Map<Long, Tally> tallies = new ConcurrentHashMap<>();
+    private final AtomicLong countsApplied = new AtomicLong();
+    private volatile MicroBatcher<Vote> outgoingVotes;
+    private Disposable reconciler;
+    private Disposable remoteEvents;
+
+    public LiveTallyStore(VoteRepository voteRepository,
+                          VotingSessionRepository sessionRepository,
+                          TimeProvider timeProvider,
+                          LiveTallyConfig config,
+                          ClusterEventBus clusterEvents,
+                          ClusterEventsConfig clusterConfig) {
+        this.voteRepository = voteRepository;
+        this.sessionRepository = sessionRepository;
+        this.timeProvider = timeProvider;
+        this.config = config;
+        this.clusterEvents = clusterEvents;
+        this.clusterConfig = clusterConfig;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        Mono<Void> seedOpenSessions = sessionRepository.findOpenAt(timeProvider.now())
+                .flatMap(session -> reconcile(track(session)), RECONCILE_CONCURRENCY)
+                .then()
+                .onErrorResume(throwable -> {
+                    log.warn("Seeding live tallies failed, agendas will be seeded on first read: {}",
+                            throwable.getMessage());
+                    return Mono.empty();
+                });
+        reconciler = seedOpenSessions
+                .thenMany(Flux.interval(config.getReconcileInterval()))
+                .onBackpressureDrop()
+                .concatMap(_ -> reconcileAll(), 1)
+                .subscribe();
+        if (clusterEvents.isEnabled()) {
+            remoteEvents = clusterEvents.events().subscribe(this::apply);
+            outgoingVotes = new MicroBatcher<>(MAX_VOTES_PER_PUBLISH, clusterConfig.getVoteFlushInterval(), 1,
+                    this::publish);
+        }
+        log.info("Live tallies enabled (reconcileInterval={}, propagating={})",
+                config.getReconcileInterval(), outgoingVotes != null);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (reconciler != null) {
+            reconciler.dispose();
+        }
+        if (outgoingVotes != null) {
+            outgoingVotes.dispose();
+        }
+        if (remoteEvents != null) {
+            remoteEvents.dispose();
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Returns the agenda's counters if they are seeded, without allocating; null when the caller must read the
+     * database (or {@link #seed}) instead.
+     */
+    public Tally peek(Long agendaId) {
+        Tally tally = tallies.get(agendaId);
+        return tally != null && tally.seeded ? tally : null;
+    }
+
+    /**
+     * Starts tracking the session's agenda and seeds it from the database. Emits the database counts.
+     */
+    public Mono<VotingResult> seed(VotingSession session) {
+        Tally tally = track(session);
+        return reconcile(tally)
+                // Another seed or reconcile of this agenda is running; answer from the database meanwhile
+                .switchIfEmpty(Mono.defer(() -> voteRepository.countVotesByAgendaId(session.agendaId())));
+    }
+
+    /**
+     * Counts a vote that was just saved. Votes for untracked agendas are ignored: seeding reads them from the database.
+     * Every vote is still broadcast, since other instances may track the agenda.
+     */
+    public void record(Vote vote) {
+        Tally tally = tallies.get(vote.agendaId());
+        if (tally != null && !tally.record(vote.id(), vote.vote() == VoteChoice.YES)) {
+            reseed(tally);
+        }
+        broadcast(vote);
+    }
+
+    /**
+     * Counts a vote acknowledged from the journal, as unflushed. Returns the tally that counted it, to be handed
+     * back to {@link #recordFlushed}; null if the agenda is not tracked.
+     */
+    public Tally recordJournaled(Vote vote) {
+        Tally tally = tallies.get(vote.agendaId());
+        if (tally != null) {
+            tally.journaled(vote.vote() == VoteChoice.YES);
+        }
+        return tally;
+    }
+
+    /**
+     * How many counts have been applied so far. Read by the journal before each flush, for {@link #recordFlushed}.
+     */
+    public long countsApplied() {
+        return countsApplied.get();
+    }
+
+    /**
+     * Settles a journaled vote once its flush has returned: it leaves the unflushed counts of journaledIn (the
+     * {@link #recordJournaled} result) and, if its row is in votes, is recorded and broadcast.
+     * countsAppliedBefore is {@link #countsApplied} from before the flush; a vote the flush wrote is recorded even
+     * if its id is below the last count's, as long as no count has been applied since, since none can include it.
+     */
+    public void recordFlushed(Vote vote, Tally journaledIn, JournaledVoteOutcome outcome, long countsAppliedBefore) {
+        boolean yesVote = vote.vote() == VoteChoice.YES;
+        boolean inVotes = outcome == JournaledVoteOutcome.WRITTEN || outcome == JournaledVoteOutcome.ALREADY_WRITTEN;
+        long writtenAfter = outcome == JournaledVoteOutcome.WRITTEN ? countsAppliedBefore : -1;
+        Tally tally = tallies.get(vote.agendaId());
+        if (journaledIn != null && journaledIn != tally) { // The agenda was dropped, or tracked anew, since
+            journaledIn.flushed(vote.id(), yesVote, true, false, -1);
+        }
+        if (tally != null && !tally.flushed(vote.id(), yesVote, journaledIn == tally, inVotes, writtenAfter)) {
+            reseed(tally);
+        }
+        if (inVotes) {
+            broadcast(vote);
+        }
+    }
+
+    @Override
+    public void onSessionExpired(VotingSession session) {
+        tallies.remove(session.agendaId()); // Closed: results fall back to the database
+    }
+
+    /**
+     * Forgets every tracked agenda. Used when the underlying tables are reset.
+     */
+    public void clear() {
+        tallies.clear();
+    }
+
+    private void broadcast(Vote vote) {
+        MicroBatcher<Vote> outgoing = outgoingVotes;
+        if (outgoing != null && !outgoing.isDisposed()) { // Stopped on shutdown; the reconcile covers the rest
+            outgoing.add(vote);
+        }
+    }
+
+    private Mono<Void> publish(List<Vote> votes) {
+        Map<Long, List<Vote>> votesByAgenda = new HashMap<>();
+        for (Vote vote : votes) {
+            votesByAgenda.computeIfAbsent(vote.agendaId(), _ -> new ArrayList<>()).add(vote);
+        }
+        return Flux.fromIterable(votesByAgenda.entrySet())
+                .concatMap(entry -> Flux.fromIterable(entry.getValue())
+                        .buffer(MAX_VOTE_IDS_PER_EVENT)
+                        .concatMap(chunk -> clusterEvents.publish(votesInserted(entry.getKey(), chunk))))
+                .then();
+    }
+
+    private static ClusterEvent votesInserted(Long agendaId, List<Vote> votes) {
+        long[] yesVoteIds = votes.stream().filter(vote -> vote.vote() == VoteChoice.YES).mapToLong(Vote::id).toArray();
+        long[] noVoteIds = votes.stream().filter(vote -> vote.vote() != VoteChoice.YES).mapToLong(Vote::id).toArray();
+        return ClusterEvent.votesInserted(agendaId, yesVoteIds, noVoteIds);
+    }
+
+    private void apply(ClusterEvent event) {
+        if (event.is(ClusterEvent.VOTES_INSERTED)) {
+            Tally tally = tallies.get(event.agendaId());
+            if (tally != null && !tally.record(event.yesVoteIds(), event.noVoteIds())) {
+                reseed(tally);
+            }
+        } else if (event.is(ClusterEvent.SESSION_CLOSED)) {
+            tallies.remove(event.agendaId());
+        }
+    }
+
+    private Tally track(VotingSession session) {
+        return tallies.computeIfAbsent(session.agendaId(), _ -> new Tally(session.agendaId(), session.endTime(), config.getMaxTrackedVotes()));
+    }
+
+    private Mono<Void> reconcileAll() {
+        LocalDateTime now = timeProvider.now();
+        return Flux.fromIterable(tallies.entrySet())
+                .filter(entry -> {
+                    if (now.isAfter(entry.getValue().endTime)) {
+                        tallies.remove(entry.getKey(), entry.getValue()); // Closed: results fall back to the database
+                        return false;
+                    }
+                    return true;
+                })
+                .flatMap(entry -> reconcile(entry.getValue())
+                        .onErrorResume(throwable -> {
+                            log.warn("Reconciling live tally for agenda {} failed: {}",
+                                    entry.getKey(), throwable.getMessage());
+                            return Mono.empty();
+                        }), RECONCILE_CONCURRENCY)
+                .then();
+    }
+
+    /**
+     * Reconciles an agenda whose recorded votes no longer fit its id buffer. If it is being reconciled already,
+     * it is reconciled again once that finishes, since the running count may predate the votes that overflowed.
+     */
+    private void reseed(Tally tally) {
+        tally.reseedRequested.set(true);
+        reconcile(tally).subscribe(_ -> {
+        }, throwable -> log.warn("Reseeding live tally for agenda {} failed: {}",
+                tally.agendaId, throwable.getMessage()));
+    }
+
+    /**
+     * Brings the counters in line with the database. Emits the database counts; empty if the tally is already being
+     * reconciled.
+     */
+    private Mono<VotingResult> reconcile(Tally tally) {
+        return Mono.defer(() -> {
+            if (!tally.reconciling.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            tally.reseedRequested.set(false); // This count covers every overflow so far
+            return voteRepository.countVotesWithPositionByAgendaId(tally.agendaId)
+                    .doOnNext(counted -> {
+                        long[] drift = tally.counted(counted.result().yesVotes(), counted.result().noVotes(),
+                                counted.lastVoteId(), countsApplied.incrementAndGet());
+                        if (tally.seeded && (drift[0] != 0 || drift[1] != 0)) {
+                            log.debug("Live tally for agenda {} corrected by {} yes / {} no",
+                                    tally.agendaId, drift[0], drift[1]);
+                        }
+                        tally.seeded = true;
+                    })
+                    .map(CountedVotes::result)
+                    .doFinally(_ -> {
+                        tally.reconciling.set(false);
+                        if (tally.reseedRequested.get()) {
+                            reseed(tally);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * An agenda's counters: the last reconcile's counts, plus the votes recorded since that the counts may not
+     * include.
+     *
+     * The write path takes no lock. Each count opens a window: the counts, the highest vote id they include, and
+     * per-choice {@link LongAdder}s for the votes recorded on top, local or received from other instances. A vote
+     * whose id the counts include is skipped; any other is added and its id kept in the window's fixed-size buffer.
+     * A reconcile opens a new window, seals the old one and carries over only the kept ids above its own highest
+     * id, so a vote that commits before the count query but is recorded after it is counted once, not twice. Ids
+     * are taken before commit, so a vote that commits after the count included a higher id is missing until the
+     * next reconcile: racing commits can undercount for one reconcile interval, never count twice.
+     *
+     * A vote recorded once the buffer is full is still counted, but not by id: the window can no longer be carried
+     * over vote by vote, so the caller reseeds the tally from the database right away instead of growing it.
+     *
+     * Journaled votes are counted apart until they are flushed, and no count changes them.
+     */
+    public static final class Tally {
+
+        private static final int SEALED = 1 << 30; // Added to a window's size once a newer count has replaced it
+
+        private final Long agendaId;
+        private final LocalDateTime endTime;
+        private final int capacity;
+        private final AtomicBoolean reconciling = new AtomicBoolean();
+        private final AtomicBoolean reseedRequested = new AtomicBoolean();
+        private final LongAdder journaledYes = new LongAdder();
+        private final LongAdder journaledNo = new LongAdder();
+        private volatile boolean seeded;
+        private volatile Window window;
+        private AtomicLongArray spare; // Guarded by this: the ids of the window replaced last, cleared for reuse
+
+        Tally(Long agendaId, LocalDateTime endTime, int capacity) {
+            this.agendaId = agendaId;
+            this.endTime = endTime;
+            this.capacity = capacity;
+            this.window = new Window(0, 0, 0, 0, new AtomicLongArray(capacity));
+        }
+
+        public long yesVotes() {
+            Window current = window;
+            return current.countedYes + current.yes.sum() + journaledYes.sum();
+        }
+
+        public long noVotes() {
+            Window current = window;
+            return current.countedNo + current.no.sum() + journaledNo.sum();
+        }
+
+        /**
+         * Adds a saved vote unless the counts include it. False if it could not be kept by id, see above.
+         */
+        boolean record(long voteId, boolean yesVote) {
+            return add(voteId, yesVote, -1);
+        }
+
+        boolean record(long[] yesVoteIds, long[] noVoteIds) {
+            boolean kept = true;
+            for (long voteId : yesVoteIds) {
+                kept &= add(voteId, true, -1);
+            }
+            for (long voteId : noVoteIds) {
+                kept &= add(voteId, false, -1);
+            }
+            return kept;
+        }
+
+        void journaled(boolean yesVote) {
+            (yesVote ? journaledYes : journaledNo).increment();
+        }
+
+        /**
+         * Settles a journaled vote: records it if its row is in votes, and takes it out of the unflushed counts if
+         * it was counted there. writtenAfter is the count sequence before the flush that wrote the row (-1 if this
+         * flush did not): while no later count has been applied, the vote is recorded whatever its id. False as
+         * for {@link #record(long, boolean)}.
+         */
+        boolean flushed(long voteId, boolean yesVote, boolean journaledHere, boolean inVotes, long writtenAfter) {
+            // Recorded first, so the counters never dip below the vote in between
+            boolean kept = !inVotes || add(voteId, yesVote, writtenAfter);
+            if (journaledHere) {
+                (yesVote ? journaledYes : journaledNo).decrement();
+            }
+            return kept;
+        }
+
+        /**
+         * Replaces the counts with a database count that includes every vote up to lastVoteId. countSeq orders
+         * the counts applied. Returns how much the counters moved.
+         */
+        synchronized long[] counted(long yesVotes, long noVotes, long lastVoteId, long countSeq) {
+            Window old = window;
+            if (lastVoteId < old.lastCountedId) {
+                return new long[] {0, 0}; // A slower, older count must not undo a newer one
+            }
+            long yesBefore = yesVotes();
+            long noBefore = noVotes();
+            AtomicLongArray ids = spare != null ? spare : new AtomicLongArray(capacity);
+            window = new Window(yesVotes, noVotes, lastVoteId, countSeq, ids);
+            // Writers that have not claimed a slot yet retry on the new window; those that have finish storing
+            int claimed = Math.min(old.size.getAndAdd(SEALED), capacity);
+            for (int slot = 0; slot < claimed; slot++) {
+                long entry;
+                while ((entry = old.ids.get(slot)) == 0) {
+                    Thread.onSpinWait();
+                }
+                old.ids.set(slot, 0);
+                add(entry >>> 1, (entry & 1) == 1, -1); // Kept only if above lastVoteId
+            }
+            spare = old.ids;
+            return new long[] {yesVotes() - yesBefore, noVotes() - noBefore};
+        }
+
+        private boolean add(long voteId, boolean yesVote, long writtenAfter) {
+            while (true) {
+                Window current = window;
+                if (voteId <= current.lastCountedId && current.countSeq > writtenAfter) {
+                    return true; // Already in the counts
+                }
+                int slot = current.size.getAndIncrement();
+                if (slot >= SEALED) {
+                    continue; // Replaced by a newer count meanwhile: check against that one
+                }
+                (yesVote ? current.yes : current.no).increment();
+                if (slot >= capacity) {
+                    return false;
+                }
+                current.ids.set(slot, voteId << 1 | (yesVote ? 1 : 0));
+                return true;
+            }
+        }
+
+        private static final class Window {
+
+            private final long countedYes;
+            private final long countedNo;
+            private final long lastCountedId;
+            private final long countSeq; // From countsApplied
+            private final AtomicLongArray ids; // Vote id << 1, low bit set for YES; 0 until stored
+            private final AtomicInteger size = new AtomicInteger();
+            private final LongAdder yes = new LongAdder();
+            private final LongAdder no = new LongAdder();
+
+            private Window(long countedYes, long countedNo, long lastCountedId, long countSeq, AtomicLongArray ids) {
+                this.countedYes = countedYes;
+                this.countedNo = countedNo;
+                this.lastCountedId = lastCountedId;
+                this.countSeq = countSeq;
+                this.ids = ids;
+            }
+        }
+    }
+}
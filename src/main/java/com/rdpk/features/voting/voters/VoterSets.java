@@ -0,0 +1,206 @@
+package com.rdpk.features.voting.voters;
+
+import com.rdpk.config.VoterSetConfig;
+import com.rdpk.features.session.domain.VotingSession;
+import com.rdpk.features.session.expiration.SessionExpirationListener;
+import com.rdpk.features.session.repository.VotingSessionRepository;
+import com.rdpk.features.voting.domain.Vote;
+import com.rdpk.features.voting.repository.VoteRepository;
+import com.rdpk.infrastructure.collection.LongHashSet;
+import com.rdpk.infrastructure.time.TimeProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The packed CPFs that have voted on each agenda with an open session, so a repeat vote is rejected from memory
+ * before CPF validation and the insert.
+ *
+ * Only CPFs that are known to have voted are added: votes this instance saved, inserts that hit the unique
+ * constraint, and the agenda's existing votes, streamed from the database the first time the agenda is touched.
+ * A hit is therefore always a real duplicate. A miss proves nothing (the seed may still be running, the vote may
+ * have landed on another instance) and the vote goes on to the database as before. Sets are dropped when their
+ * session expires. Votes are never deleted by the application; a table reset must call {@link #clear()}.
+ */
+@Component
+public class VoterSets implements SessionExpirationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(VoterSets.class);
+    private static final int SEED_CHUNK = 1024;
+
+    private final VoteRepository voteRepository;
+    private final VotingSessionRepository sessionRepository;
+    private final TimeProvider timeProvider;
+    private final VoterSetConfig config;
+    private final Map<Long, Voters> voters = new ConcurrentHashMap<>();
+    private final AtomicLong totalVoters = new AtomicLong();
+    private final AtomicBoolean capacityWarned = new AtomicBoolean();
+
+    public VoterSets(VoteRepository voteRepository,
+                     VotingSessionRepository sessionRepository,
+                     TimeProvider timeProvider,
+                     VoterSetConfig config,
+                     MeterRegistry meterRegistry) {
+        this.voteRepository = voteRepository;
+        this.sessionRepository = sessionRepository;
+        this.timeProvider = timeProvider;
+        this.config = config;
+        Gauge.builder("votes.voter.sets.voters", totalVoters, AtomicLong::get)
+                .description("CPFs held in the in-memory voter sets of open agendas")
+                .register(meterRegistry);
+        Gauge.builder("votes.voter.sets.bytes", voters, VoterSets::memoryBytes)
+                .description("Bytes held by the in-memory voter sets' tables")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * True only if the CPF is known to have voted on the agenda. Never does I/O; the first call for an agenda
+     * starts seeding its set in the background.
+     */
+    public boolean hasVoted(Long agendaId, long cpf) {
+        if (!config.isEnabled()) {
+            return false;
+        }
+        Voters agendaVoters = voters.get(agendaId);
+        if (agendaVoters == null) {
+            touch(agendaId);
+            return false;
+        }
+        return agendaVoters.contains(cpf);
+    }
+
+    /**
+     * Adds the voter of a vote that was just saved.
+     */
+    public void record(Vote vote) {
+        record(vote.agendaId(), vote.cpf());
+    }
+
+    /**
+     * Adds a CPF that is known to have voted, e.g. because its insert hit the unique constraint. Ignored for
+     * agendas that are not tracked.
+     */
+    public void record(Long agendaId, long cpf) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        Voters agendaVoters = voters.get(agendaId);
+        if (agendaVoters != null) {
+            add(agendaVoters, List.of(cpf));
+        }
+    }
+
+    @Override
+    public void onSessionExpired(VotingSession session) {
+        drop(session.agendaId(), voters.get(session.agendaId()));
+        // Also catches sets tracked after their session's timer had already fired
+        LocalDateTime now = timeProvider.now();
+        voters.forEach((agendaId, agendaVoters) -> {
+            if (agendaVoters.endTime != null && now.isAfter(agendaVoters.endTime)) {
+                drop(agendaId, agendaVoters);
+            }
+        });
+    }
+
+    /**
+     * Forgets every agenda. Used when the underlying tables are reset.
+     */
+    public void clear() {
+        voters.forEach(this::drop);
+    }
+
+    // Tracks the agenda if its session is open, then streams in the CPFs that have already voted
+    private void touch(Long agendaId) {
+        Voters agendaVoters = new Voters();
+        if (voters.putIfAbsent(agendaId, agendaVoters) != null) {
+            return; // Already being tracked or seeded
+        }
+        sessionRepository.findByAgendaId(agendaId)
+                .filter(session -> !timeProvider.now().isAfter(session.endTime()))
+                .flatMap(session -> {
+                    agendaVoters.endTime = session.endTime();
+                    return voteRepository.findCpfsByAgendaId(agendaId)
+                            .buffer(SEED_CHUNK)
+                            .doOnNext(cpfs -> add(agendaVoters, cpfs))
+                            .then(Mono.just(session));
+                })
+                .subscribe(
+                        _ -> log.debug("Seeded voter set for agenda {} with {} CPFs", agendaId, agendaVoters.size()),
+                        throwable -> {
+                            log.warn("Seeding voter set for agenda {} failed: {}", agendaId, throwable.getMessage());
+                            drop(agendaId, agendaVoters);
+                        },
+                        () -> {
+                            if (agendaVoters.endTime == null) {
+                                drop(agendaId, agendaVoters); // No open session: nothing to track
+                            }
+                        });
+    }
+
+    private void add(Voters agendaVoters, List<Long> cpfs) {
+        synchronized (agendaVoters) {
+            if (agendaVoters.dropped) {
+                return; // Session expired or tables reset while this was in flight
+            }
+            int added = 0;
+            for (long cpf : cpfs) {
+                if (totalVoters.get() + added >= config.getMaxVoters()) {
+                    if (capacityWarned.compareAndSet(false, true)) {
+                        log.warn("Voter sets are full ({} CPFs); further voters are checked against the database only",
+                                config.getMaxVoters());
+                    }
+                    break;
+                }
+                if (agendaVoters.set.add(cpf)) {
+                    added++;
+                }
+            }
+            totalVoters.addAndGet(added);
+        }
+    }
+
+    private void drop(Long agendaId, Voters agendaVoters) {
+        if (agendaVoters != null && voters.remove(agendaId, agendaVoters)) {
+            synchronized (agendaVoters) {
+                agendaVoters.dropped = true;
+                totalVoters.addAndGet(-agendaVoters.set.size());
+            }
+        }
+    }
+
+    private static double memoryBytes(Map<Long, Voters> voters) {
+        long bytes = 0;
+        for (Voters agendaVoters : voters.values()) {
+            synchronized (agendaVoters) {
+                bytes += agendaVoters.set.memoryBytes();
+            }
+        }
+        return bytes;
+    }
+
+    private static final class Voters {
+
+        private final LongHashSet set = new LongHashSet();
+        private volatile LocalDateTime endTime; // Null until the session has been looked up
+        private boolean dropped; // Guarded by this
+
+        private synchronized boolean contains(long cpf) {
+            return set.contains(cpf);
+        }
+
+        private synchronized int size() {
+            return set.size();
+        }
+    }
+}
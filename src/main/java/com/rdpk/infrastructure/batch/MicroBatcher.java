@@ -0,0 +1,53 @@
+package com.rdpk.infrastructure.batch;
+
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Gathers items added from any thread into batches of up to maxSize, or whatever arrived within window, and hands
+ * each batch to flush, running at most maxConcurrentFlushes at once (1 keeps batches in order).
+ *
+ * Backpressure is fair: while every flush slot is busy, items wait in the queue instead of overflowing. A flush
+ * must handle its own errors; one that fails stops the batcher. The owner must {@link #dispose} it on shutdown,
+ * which stops the window timer; items added afterwards are refused with IllegalStateException.
+ */
+public final class MicroBatcher<T> implements Disposable {
+
+    private final Sinks.Many<T> items = Sinks.many().unicast().onBackpressureBuffer();
+    private final Disposable subscription;
+
+    public MicroBatcher(int maxSize, Duration window, int maxConcurrentFlushes,
+                        Function<List<T>, ? extends Publisher<?>> flush) {
+        this.subscription = items.asFlux()
+                .bufferTimeout(maxSize, window, true)
+                .flatMap(flush, maxConcurrentFlushes)
+                .subscribe();
+    }
+
+    public void add(T item) {
+        // Sinks reject concurrent emissions, so serialize callers instead of failing their items
+        synchronized (items) {
+            if (subscription.isDisposed()) {
+                throw new IllegalStateException("Batcher is stopped");
+            }
+            items.emitNext(item, Sinks.EmitFailureHandler.FAIL_FAST);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        synchronized (items) {
+            subscription.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return subscription.isDisposed();
+    }
+}
@@ -0,0 +1,58 @@
+package com.rdpk.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.rdpk.config.LookupCacheConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * Creates bounded in-process lookup caches and publishes their stats
+ * as cache.gets / cache.evictions / cache.size meters tagged with the cache name.
+ */
+@Component
+public class LookupCaches {
+
+    private final LookupCacheConfig config;
+    private final MeterRegistry meterRegistry;
+    private final List<ReactiveLookupCache<?, ?>> caches = new CopyOnWriteArrayList<>();
+
+    public LookupCaches(LookupCacheConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param name    cache name used in metrics
+     * @param ttl     how long a found value stays cached; misses use {@code cache.lookups.negative-ttl}
+     */
+    public <K, V> ReactiveLookupCache<K, V> create(String name, Function<V, Duration> ttl) {
+        if (!config.isEnabled()) {
+            return new ReactiveLookupCache<>(null);
+        }
+
+        Duration negativeTtl = config.getNegativeTtl();
+        AsyncCache<K, Optional<V>> cache = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfter(Expiry.<K, Optional<V>>writing((key, value) -> value.map(ttl).orElse(negativeTtl)))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+
+        ReactiveLookupCache<K, V> lookupCache = new ReactiveLookupCache<>(cache);
+        caches.add(lookupCache);
+        return lookupCache;
+    }
+
+    public void invalidateAll() {
+        caches.forEach(ReactiveLookupCache::invalidateAll);
+    }
+}
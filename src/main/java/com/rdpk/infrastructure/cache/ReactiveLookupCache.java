@@ -0,0 +1,53 @@
+package com.rdpk.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Caches the result of a reactive lookup, including "not found".
+ *
+ * Concurrent misses for the same key share one load. Failed loads are not cached.
+ * A null cache turns this into a pass-through (caching disabled).
+ */
+public class ReactiveLookupCache<K, V> {
+
+    private final AsyncCache<K, Optional<V>> cache;
+
+    ReactiveLookupCache(AsyncCache<K, Optional<V>> cache) {
+        this.cache = cache;
+    }
+
+    public Mono<V> get(K key, Function<K, Mono<V>> loader) {
+        if (cache == null) {
+            return loader.apply(key);
+        }
+        // Suppress cancellation: the future is shared with every other caller waiting on this key
+        return Mono.fromFuture(() -> cache.get(key, (k, executor) -> loader.apply(k)
+                                .map(Optional::of)
+                                .defaultIfEmpty(Optional.empty())
+                                .toFuture()), true)
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    public void put(K key, V value) {
+        if (cache != null) {
+            cache.put(key, CompletableFuture.completedFuture(Optional.of(value)));
+        }
+    }
+
+    public void invalidate(K key) {
+        if (cache != null) {
+            cache.synchronous().invalidate(key);
+        }
+    }
+
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.synchronous().invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.rdpk.infrastructure.cluster;
+
+/**
+ * A change made by one instance that the other instances must apply to their in-process state.
+ *
+ * Inserted votes are sent by id rather than as sums, so a receiver can skip the ones its last count of the agenda
+ * already includes.
+ */
+public record ClusterEvent(
+        String type,
+        Long agendaId,
+        long[] yesVoteIds,
+        long[] noVoteIds
+) {
+    public static final String VOTES_INSERTED = "votes-inserted";
+    public static final String SESSION_OPENED = "session-opened";
+    public static final String SESSION_CLOSED = "session-closed";
+
+    private static final long[] NO_VOTES = new long[0];
+
+    public ClusterEvent {
+        yesVoteIds = yesVoteIds != null ? yesVoteIds : NO_VOTES;
+        noVoteIds = noVoteIds != null ? noVoteIds : NO_VOTES;
+    }
+
+    public static ClusterEvent votesInserted(Long agendaId, long[] yesVoteIds, long[] noVoteIds) {
+        return new ClusterEvent(VOTES_INSERTED, agendaId, yesVoteIds, noVoteIds);
+    }
+
+    public static ClusterEvent sessionOpened(Long agendaId) {
+        return new ClusterEvent(SESSION_OPENED, agendaId, NO_VOTES, NO_VOTES);
+    }
+
+    public static ClusterEvent sessionClosed(Long agendaId) {
+        return new ClusterEvent(SESSION_CLOSED, agendaId, NO_VOTES, NO_VOTES);
+    }
+
+    public boolean is(String type) {
+        return this.type.equals(type);
+    }
+}
@@ -0,0 +1,155 @@
+package com.rdpk.infrastructure.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rdpk.config.ClusterEventsConfig;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Broadcasts {@link ClusterEvent}s between instances over Postgres LISTEN/NOTIFY.
+ *
+ * Each instance listens on one dedicated connection, taken from the factory behind the pool so it does not hold a
+ * pool slot. Events published by this instance are not handed back to it. Notifications sent while the listener is
+ * reconnecting are lost, so receivers must treat events as hints on top of their own reconciliation.
+ */
+@Component
+public class ClusterEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterEventBus.class);
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    private final ConnectionFactory connectionFactory;
+    private final DatabaseClient databaseClient;
+    private final ObjectMapper objectMapper;
+    private final ClusterEventsConfig config;
+    private final String origin = UUID.randomUUID().toString();
+    private final Sinks.Many<ClusterEvent> received = Sinks.many().multicast().directBestEffort();
+    private Disposable listener;
+
+    public ClusterEventBus(ConnectionFactory connectionFactory,
+                           DatabaseClient databaseClient,
+                           ObjectMapper objectMapper,
+                           ClusterEventsConfig config) {
+        this.connectionFactory = connectionFactory;
+        this.databaseClient = databaseClient;
+        this.objectMapper = objectMapper;
+        this.config = config;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        if (!CHANNEL.matcher(config.getChannel()).matches()) {
+            throw new IllegalStateException("cluster.events.channel must be a lowercase Postgres identifier: "
+                    + config.getChannel());
+        }
+        listener = listen()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> log.warn("Listening on channel {} failed, reconnecting: {}",
+                                config.getChannel(), signal.failure().getMessage())))
+                .subscribe(this::dispatch);
+        log.info("Cluster events enabled (channel={}, origin={})", config.getChannel(), origin);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (listener != null) {
+            listener.dispose();
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Events published by other instances. Hot: only events received after subscribing are delivered.
+     */
+    public Flux<ClusterEvent> events() {
+        return received.asFlux();
+    }
+
+    /**
+     * Sends the event to every other instance. Never fails: a lost event is logged and dropped.
+     */
+    public Mono<Void> publish(ClusterEvent event) {
+        if (!config.isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> databaseClient.sql("SELECT pg_notify(:channel, :payload)")
+                        .bind("channel", config.getChannel())
+                        .bind("payload", serialize(event))
+                        .fetch()
+                        .rowsUpdated()
+                        .then())
+                .onErrorResume(throwable -> {
+                    log.warn("Publishing {} for agenda {} failed: {}", event.type(), event.agendaId(),
+                            throwable.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Flux<Notification> listen() {
+        return Flux.usingWhen(
+                        Mono.from(listenerConnectionFactory().create()).cast(PostgresqlConnection.class),
+                        connection -> connection.createStatement("LISTEN " + config.getChannel())
+                                .execute()
+                                .flatMap(PostgresqlResult::getRowsUpdated)
+                                .thenMany(connection.getNotifications()),
+                        Connection::close)
+                // The notification stream ends when the server drops the connection
+                .concatWith(Mono.error(new IllegalStateException("Notification connection closed")));
+    }
+
+    private ConnectionFactory listenerConnectionFactory() {
+        if (connectionFactory instanceof Wrapped<?> wrapped && wrapped.unwrap() instanceof ConnectionFactory target) {
+            return target;
+        }
+        return connectionFactory;
+    }
+
+    private void dispatch(Notification notification) {
+        try {
+            Message message = objectMapper.readValue(notification.getParameter(), Message.class);
+            if (!origin.equals(message.origin())) {
+                received.tryEmitNext(message.event());
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Ignoring malformed cluster event: {}", e.getMessage());
+        }
+    }
+
+    private String serialize(ClusterEvent event) {
+        try {
+            return objectMapper.writeValueAsString(new Message(origin, event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cluster event not serializable", e);
+        }
+    }
+
+    record Message(String origin, ClusterEvent event) {
+    }
+}
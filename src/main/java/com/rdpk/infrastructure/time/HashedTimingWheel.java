@@ -0,0 +1,133 @@
+package com.rdpk.infrastructure.time;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: many one-shot timers driven by a single caller of {@link #advance()}.
+ *
+ * Scheduling is O(1) from any thread: the timer is queued and placed into its bucket (deadline tick modulo the
+ * wheel size) on the next advance. An advance visits only the buckets of the ticks elapsed since the previous one,
+ * at most one full turn, and fires every timer there whose deadline has passed. Time is read from
+ * {@link TimeProvider}, so tests can move the clock and advance by hand. If the clock goes back, nothing fires
+ * until it catches up; timers whose deadline has already passed fire on the next advance.
+ */
+public class HashedTimingWheel<T> {
+
+    private final TimeProvider timeProvider;
+    private final long tickMillis;
+    private final List<List<Timeout<T>>> buckets;
+    private final int mask;
+    private final Consumer<T> onExpire;
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+    private long lastTick;
+    private int pending;
+
+    public HashedTimingWheel(TimeProvider timeProvider, Duration tick, int wheelSize, Consumer<T> onExpire) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("Tick must be at least 1ms");
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.timeProvider = timeProvider;
+        this.tickMillis = tick.toMillis();
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.mask = wheelSize - 1;
+        this.onExpire = onExpire;
+        this.lastTick = tickOf(timeProvider.now());
+    }
+
+    public Timeout<T> schedule(T task, LocalDateTime deadline) {
+        Timeout<T> timeout = new Timeout<>(task, tickOf(deadline));
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Fires every timer whose deadline tick has passed. Must not be called concurrently.
+     *
+     * @return number of timers fired
+     */
+    public synchronized int advance() {
+        long nowTick = tickOf(timeProvider.now());
+        if (nowTick < lastTick) {
+            lastTick = nowTick; // Clock went back: wait until it catches up with the deadlines
+        }
+        transferScheduled();
+        if (nowTick == lastTick) {
+            return 0;
+        }
+
+        int fired = 0;
+        long ticks = Math.min(nowTick - lastTick, buckets.size());
+        for (long tick = nowTick - ticks + 1; tick <= nowTick; tick++) {
+            Iterator<Timeout<T>> bucket = buckets.get((int) (tick & mask)).iterator();
+            while (bucket.hasNext()) {
+                Timeout<T> timeout = bucket.next();
+                if (timeout.cancelled) {
+                    bucket.remove();
+                    pending--;
+                } else if (timeout.deadlineTick <= nowTick) {
+                    bucket.remove();
+                    pending--;
+                    onExpire.accept(timeout.task);
+                    fired++;
+                }
+            }
+        }
+        lastTick = nowTick;
+        return fired;
+    }
+
+    /**
+     * Timers placed in the wheel and not yet fired or swept after cancellation; excludes those scheduled since the
+     * last advance.
+     */
+    public synchronized int pending() {
+        return pending;
+    }
+
+    private void transferScheduled() {
+        Timeout<T> timeout;
+        while ((timeout = scheduled.poll()) != null) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            // Overdue timers go to the next bucket visited, which fires them
+            long tick = Math.max(timeout.deadlineTick, lastTick + 1);
+            buckets.get((int) (tick & mask)).add(timeout);
+            pending++;
+        }
+    }
+
+    private long tickOf(LocalDateTime time) {
+        return Math.floorDiv(time.toInstant(ZoneOffset.UTC).toEpochMilli(), tickMillis);
+    }
+
+    public static final class Timeout<T> {
+
+        private final T task;
+        private final long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Timeout(T task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+-- Hash-partitioned replacement for votes, by agenda_id. Every vote query filters on agenda_id, so each one is
+-- routed or pruned to a single partition, and vacuum and index maintenance work on 1/16 of the history at a time.
+--
+-- This migration only creates the empty table and the functions below; nothing writes to it yet. The data is
+-- moved online by migrate-votes-partitioned.sh:
+--   1. votes_partition_start()      mirrors new inserts/deletes on votes into votes_partitioned
+--   2. votes_partition_copy_chunk() copies the rows that existed before, one id range per transaction
+--   3. votes_partition_swap()       renames votes_partitioned to votes under a short exclusive lock
+-- The old heap is kept as votes_unpartitioned until it is dropped by hand.
+CREATE TABLE votes_partitioned (
+    id BIGINT NOT NULL DEFAULT nextval('votes_id_seq'),
+    agenda_id BIGINT NOT NULL,
+    cpf BIGINT NOT NULL,
+    vote_value SMALLINT NOT NULL,
+    voted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Unique constraints on a partitioned table must contain the partition key; each is enforced per partition
+    CONSTRAINT votes_partitioned_pkey PRIMARY KEY (agenda_id, id),
+    CONSTRAINT votes_partitioned_agenda_cpf_key UNIQUE (agenda_id, cpf),
+    CONSTRAINT votes_partitioned_agenda_id_fkey FOREIGN KEY (agenda_id) REFERENCES agendas(id)
+) PARTITION BY HASH (agenda_id);
+
+DO $$
+BEGIN
+    FOR i IN 0..15 LOOP
+        EXECUTE format('CREATE TABLE votes_p%s PARTITION OF votes_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER %s)',
+                       lpad(i::TEXT, 2, '0'), i);
+    END LOOP;
+END;
+$$;
+
+CREATE INDEX votes_partitioned_cpf_idx ON votes_partitioned(cpf);
+CREATE INDEX votes_partitioned_agenda_vote_idx ON votes_partitioned(agenda_id, vote_value);
+
+-- Single row while a migration is in progress: votes ids up to copy_until predate the mirror triggers and are
+-- copied in chunks; copied_through is how far the copy has got, so an interrupted run resumes where it stopped
+CREATE TABLE votes_partition_progress (
+    singleton BOOLEAN PRIMARY KEY DEFAULT TRUE CHECK (singleton),
+    copied_through BIGINT NOT NULL,
+    copy_until BIGINT NOT NULL
+);
+
+CREATE FUNCTION votes_mirror_insert() RETURNS TRIGGER
+    LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO votes_partitioned (id, agenda_id, cpf, vote_value, voted_at)
+    SELECT id, agenda_id, cpf, vote_value, voted_at
+    FROM new_votes
+    ON CONFLICT DO NOTHING;
+    RETURN NULL;
+END;
+$$;
+
+CREATE FUNCTION votes_mirror_delete() RETURNS TRIGGER
+    LANGUAGE plpgsql AS $$
+BEGIN
+    DELETE FROM votes_partitioned p
+    USING old_votes o
+    WHERE p.agenda_id = o.agenda_id AND p.id = o.id;
+    RETURN NULL;
+END;
+$$;
+
+-- Returns copy_until. Safe to call again: an existing migration is left as it is.
+CREATE FUNCTION votes_partition_start() RETURNS BIGINT
+    LANGUAGE plpgsql AS $$
+DECLARE
+    until_id BIGINT;
+BEGIN
+    IF (SELECT relkind FROM pg_class WHERE oid = 'votes'::regclass) = 'p' THEN
+        RAISE EXCEPTION 'votes is already partitioned';
+    END IF;
+
+    SELECT copy_until INTO until_id FROM votes_partition_progress;
+    IF FOUND THEN
+        RETURN until_id;
+    END IF;
+
+    -- CREATE TRIGGER waits for in-flight inserts to finish, so every row committed later is mirrored
+    -- and every row committed earlier has an id up to the max read below
+    CREATE TRIGGER votes_mirror_insert
+        AFTER INSERT ON votes
+        REFERENCING NEW TABLE AS new_votes
+        FOR EACH STATEMENT EXECUTE FUNCTION votes_mirror_insert();
+    CREATE TRIGGER votes_mirror_delete
+        AFTER DELETE ON votes
+        REFERENCING OLD TABLE AS old_votes
+        FOR EACH STATEMENT EXECUTE FUNCTION votes_mirror_delete();
+
+    SELECT COALESCE(MAX(id), 0) INTO until_id FROM votes;
+    INSERT INTO votes_partition_progress (copied_through, copy_until) VALUES (0, until_id);
+    RETURN until_id;
+END;
+$$;
+
+-- Copies the next id range of pre-existing votes; returns how many ids are left (0 when the copy is done).
+-- Rows already mirrored are skipped by ON CONFLICT. Votes deleted while their chunk is being copied can
+-- survive in the copy; the application never deletes votes.
+CREATE FUNCTION votes_partition_copy_chunk(chunk_size INTEGER) RETURNS BIGINT
+    LANGUAGE plpgsql AS $$
+DECLARE
+    from_id BIGINT;
+    until_id BIGINT;
+    to_id BIGINT;
+BEGIN
+    SELECT copied_through, copy_until INTO from_id, until_id
+    FROM votes_partition_progress
+    FOR UPDATE; -- One copier at a time
+    IF NOT FOUND THEN
+        RAISE EXCEPTION 'No partitioning in progress: call votes_partition_start() first';
+    END IF;
+
+    to_id := LEAST(from_id + chunk_size, until_id);
+    INSERT INTO votes_partitioned (id, agenda_id, cpf, vote_value, voted_at)
+    SELECT id, agenda_id, cpf, vote_value, voted_at
+    FROM votes
+    WHERE id > from_id AND id <= to_id
+    ON CONFLICT DO NOTHING;
+
+    UPDATE votes_partition_progress SET copied_through = to_id;
+    RETURN until_id - to_id;
+END;
+$$;
+
+-- Catalog changes only, so the exclusive lock on votes is held for milliseconds once it is granted
+CREATE FUNCTION votes_partition_swap() RETURNS VOID
+    LANGUAGE plpgsql AS $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM votes_partition_progress WHERE copied_through >= copy_until) THEN
+        RAISE EXCEPTION 'Copy not finished: call votes_partition_copy_chunk() until it returns 0';
+    END IF;
+
+    LOCK TABLE votes IN ACCESS EXCLUSIVE MODE;
+
+    DROP TRIGGER votes_mirror_insert ON votes;
+    DROP TRIGGER votes_mirror_delete ON votes;
+    DROP TRIGGER votes_tally_insert ON votes;
+    DROP TRIGGER votes_tally_delete ON votes;
+
+    ALTER TABLE votes RENAME TO votes_unpartitioned;
+    ALTER TABLE votes_unpartitioned ALTER COLUMN id DROP DEFAULT;
+    ALTER TABLE votes_unpartitioned RENAME CONSTRAINT votes_pkey TO votes_unpartitioned_pkey;
+    ALTER TABLE votes_unpartitioned RENAME CONSTRAINT unique_vote_per_cpf_per_agenda TO votes_unpartitioned_agenda_cpf_key;
+    ALTER TABLE votes_unpartitioned RENAME CONSTRAINT votes_agenda_id_fkey TO votes_unpartitioned_agenda_id_fkey;
+    ALTER INDEX idx_votes_cpf RENAME TO votes_unpartitioned_cpf_idx;
+    ALTER INDEX idx_votes_agenda_vote RENAME TO votes_unpartitioned_agenda_vote_idx;
+    -- Otherwise dropping votes_unpartitioned would drop the sequence with it
+    ALTER SEQUENCE votes_id_seq OWNED BY votes_partitioned.id;
+
+    ALTER TABLE votes_partitioned RENAME TO votes;
+    ALTER TABLE votes RENAME CONSTRAINT votes_partitioned_pkey TO votes_pkey;
+    ALTER TABLE votes RENAME CONSTRAINT votes_partitioned_agenda_cpf_key TO unique_vote_per_cpf_per_agenda;
+    ALTER TABLE votes RENAME CONSTRAINT votes_partitioned_agenda_id_fkey TO votes_agenda_id_fkey;
+    ALTER INDEX votes_partitioned_cpf_idx RENAME TO idx_votes_cpf;
+    ALTER INDEX votes_partitioned_agenda_vote_idx RENAME TO idx_votes_agenda_vote;
+
+    -- Same tally triggers as V6; the rows copied over were already counted when they reached the old table
+    CREATE TRIGGER votes_tally_insert
+        AFTER INSERT ON votes
+        REFERENCING NEW TABLE AS new_votes
+        FOR EACH STATEMENT EXECUTE FUNCTION vote_tallies_on_insert();
+    CREATE TRIGGER votes_tally_delete
+        AFTER DELETE ON votes
+        REFERENCING OLD TABLE AS old_votes
+        FOR EACH STATEMENT EXECUTE FUNCTION vote_tallies_on_delete();
+
+    DELETE FROM votes_partition_progress;
+END;
+$$;
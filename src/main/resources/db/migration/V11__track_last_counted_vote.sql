@@ -0,0 +1,32 @@
+-- Highest vote id counted into each tally slot. Read in the same snapshot as the sums, MAX(last_vote_id) tells the
+-- live tallies which of the votes they recorded a count already includes (see LiveTallyStore).
+-- Deletes leave it alone: it only ever grows.
+ALTER TABLE vote_tallies ADD COLUMN last_vote_id BIGINT NOT NULL DEFAULT 0;
+
+CREATE OR REPLACE FUNCTION vote_tallies_on_insert() RETURNS TRIGGER
+    LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO vote_tallies AS t (agenda_id, slot, yes_votes, no_votes, last_vote_id)
+    SELECT agenda_id,
+           pg_backend_pid() % vote_tally_slots(),
+           COUNT(*) FILTER (WHERE vote_value = 1),
+           COUNT(*) FILTER (WHERE vote_value = 0),
+           MAX(id)
+    FROM new_votes
+    GROUP BY agenda_id
+    ORDER BY agenda_id -- Fixed lock order across agendas
+    ON CONFLICT (agenda_id, slot) DO UPDATE
+        SET yes_votes = t.yes_votes + EXCLUDED.yes_votes,
+            no_votes = t.no_votes + EXCLUDED.no_votes,
+            last_vote_id = GREATEST(t.last_vote_id, EXCLUDED.last_vote_id);
+    RETURN NULL;
+END;
+$$;
+
+-- Backfill existing votes into slot 0
+INSERT INTO vote_tallies AS t (agenda_id, slot, last_vote_id)
+SELECT agenda_id, 0, MAX(id)
+FROM votes
+GROUP BY agenda_id
+ON CONFLICT (agenda_id, slot) DO UPDATE
+    SET last_vote_id = GREATEST(t.last_vote_id, EXCLUDED.last_vote_id);
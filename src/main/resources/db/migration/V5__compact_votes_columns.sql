@@ -0,0 +1,9 @@
+-- Store the CPF as its 11 digits packed into a BIGINT (8 bytes instead of a 12-byte varlena)
+-- and the vote choice as a SMALLINT code (NO = 0, YES = 1, see VoteChoice).
+-- Indexes on these columns are rebuilt by the type change.
+ALTER TABLE votes
+    ALTER COLUMN cpf TYPE BIGINT USING cpf::BIGINT,
+    ALTER COLUMN vote_value TYPE SMALLINT USING CASE vote_value WHEN 'NO' THEN 0 WHEN 'YES' THEN 1 END;
+
+-- Redundant: unique_vote_per_cpf_per_agenda (agenda_id, cpf) and idx_votes_agenda_vote already lead with agenda_id
+DROP INDEX idx_votes_agenda_id;
@@ -0,0 +1,67 @@
+-- Running YES/NO totals per agenda, maintained in the same transaction as the vote insert.
+-- Each agenda's totals are spread over vote_tally_slots() rows; a writer only touches the slot picked by its
+-- backend PID, so concurrent voters on different connections don't queue on one hot row. Readers sum the slots.
+CREATE TABLE vote_tallies (
+    agenda_id BIGINT NOT NULL REFERENCES agendas(id),
+    slot SMALLINT NOT NULL,
+    yes_votes BIGINT NOT NULL DEFAULT 0,
+    no_votes BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (agenda_id, slot)
+);
+
+CREATE FUNCTION vote_tally_slots() RETURNS INTEGER
+    LANGUAGE sql IMMUTABLE AS 'SELECT 16';
+
+-- Statement-level, so a multi-row INSERT (batch writer, bulk endpoint) does one upsert per agenda.
+-- Rows skipped by ON CONFLICT DO NOTHING are not in the transition table and are not counted.
+CREATE FUNCTION vote_tallies_on_insert() RETURNS TRIGGER
+    LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO vote_tallies AS t (agenda_id, slot, yes_votes, no_votes)
+    SELECT agenda_id,
+           pg_backend_pid() % vote_tally_slots(),
+           COUNT(*) FILTER (WHERE vote_value = 1),
+           COUNT(*) FILTER (WHERE vote_value = 0)
+    FROM new_votes
+    GROUP BY agenda_id
+    ORDER BY agenda_id -- Fixed lock order across agendas
+    ON CONFLICT (agenda_id, slot) DO UPDATE
+        SET yes_votes = t.yes_votes + EXCLUDED.yes_votes,
+            no_votes = t.no_votes + EXCLUDED.no_votes;
+    RETURN NULL;
+END;
+$$;
+
+CREATE FUNCTION vote_tallies_on_delete() RETURNS TRIGGER
+    LANGUAGE plpgsql AS $$
+BEGIN
+    INSERT INTO vote_tallies AS t (agenda_id, slot, yes_votes, no_votes)
+    SELECT agenda_id,
+           pg_backend_pid() % vote_tally_slots(),
+           -COUNT(*) FILTER (WHERE vote_value = 1),
+           -COUNT(*) FILTER (WHERE vote_value = 0)
+    FROM old_votes
+    GROUP BY agenda_id
+    ORDER BY agenda_id
+    ON CONFLICT (agenda_id, slot) DO UPDATE
+        SET yes_votes = t.yes_votes + EXCLUDED.yes_votes,
+            no_votes = t.no_votes + EXCLUDED.no_votes;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER votes_tally_insert
+    AFTER INSERT ON votes
+    REFERENCING NEW TABLE AS new_votes
+    FOR EACH STATEMENT EXECUTE FUNCTION vote_tallies_on_insert();
+
+CREATE TRIGGER votes_tally_delete
+    AFTER DELETE ON votes
+    REFERENCING OLD TABLE AS old_votes
+    FOR EACH STATEMENT EXECUTE FUNCTION vote_tallies_on_delete();
+
+-- Backfill existing votes into slot 0
+INSERT INTO vote_tallies (agenda_id, slot, yes_votes, no_votes)
+SELECT agenda_id, 0, COUNT(*) FILTER (WHERE vote_value = 1), COUNT(*) FILTER (WHERE vote_value = 0)
+FROM votes
+GROUP BY agenda_id;
@@ -0,0 +1,14 @@
+-- Final YES/NO totals, written once by the close pipeline when a session's end_time has passed.
+-- Reads of a closed agenda are served from here instead of the tallies.
+CREATE TABLE final_results (
+    agenda_id BIGINT PRIMARY KEY REFERENCES agendas(id),
+    yes_votes BIGINT NOT NULL,
+    no_votes BIGINT NOT NULL,
+    closed_at TIMESTAMP NOT NULL
+);
+
+-- Set in the same statement that writes final_results; NULL while the session is open or not yet materialized
+ALTER TABLE voting_sessions ADD COLUMN closed_at TIMESTAMP;
+
+-- Only sessions still waiting for the close pipeline, ordered by when they end
+CREATE INDEX idx_voting_sessions_pending_close ON voting_sessions(end_time) WHERE closed_at IS NULL;
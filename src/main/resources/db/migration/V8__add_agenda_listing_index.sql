@@ -0,0 +1,2 @@
+-- Keyset pagination for GET /api/v1/agendas: (created_at, id) > (cursor) ORDER BY created_at, id
+CREATE INDEX idx_agendas_created_at_id ON agendas(created_at, id);
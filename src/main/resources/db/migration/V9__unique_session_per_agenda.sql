@@ -0,0 +1,12 @@
+-- One voting session per agenda, enforced by the database so concurrent opens cannot both succeed.
+-- Sessions created by earlier check-then-insert races are dropped first, keeping the first one opened
+-- (the one vote inserts already matched by ORDER BY id). Votes reference the agenda, not the session.
+DELETE FROM voting_sessions later
+USING voting_sessions earlier
+WHERE later.agenda_id = earlier.agenda_id
+  AND later.id > earlier.id;
+
+ALTER TABLE voting_sessions ADD CONSTRAINT unique_session_per_agenda UNIQUE (agenda_id);
+
+-- The unique constraint's index serves every lookup by agenda_id
+DROP INDEX idx_voting_sessions_agenda_id;
@@ -0,0 +1,122 @@
+package com.rdpk.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-page latency of the agenda listing as the table grows: the keyset query used by
+ * {@code AgendaRepositoryImpl.findPageAfter} against the equivalent LIMIT/OFFSET query, at random depths.
+ *
+ * Starts PostgreSQL 17.2 in a container, applies the Flyway migrations and grows {@code agendas} step by step.
+ * Run with {@code make benchmark-agenda-paging}; sizes can be overridden with
+ * {@code -Dsizes=10000,100000,1000000}.
+ */
+public class AgendaPagingBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_PAGES = 200;
+    private static final int MEASURED_PAGES = 1000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    private static final String KEYSET = """
+            SELECT id, title, description, created_at FROM agendas
+            WHERE (created_at, id) > (?, ?)
+            ORDER BY created_at, id
+            LIMIT ?
+            """;
+    private static final String OFFSET = """
+            SELECT id, title, description, created_at FROM agendas
+            ORDER BY created_at, id
+            LIMIT ? OFFSET ?
+            """;
+
+    public static void main(String[] args) throws SQLException {
+        long[] sizes = Arrays.stream(System.getProperty("sizes", "10000,100000,1000000,5000000").split(","))
+                .mapToLong(Long::parseLong)
+                .toArray();
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.2")) {
+            postgres.start();
+            Flyway.configure()
+                    .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+
+            try (Connection connection = DriverManager.getConnection(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())) {
+                System.out.printf("%12s %16s %16s %16s %16s%n",
+                        "rows", "keyset p50 ms", "keyset p99 ms", "offset p50 ms", "offset p99 ms");
+                long rows = 0;
+                for (long size : sizes) {
+                    grow(connection, rows, size);
+                    rows = size;
+                    double[] keyset = measure(connection, rows, true);
+                    double[] offset = measure(connection, rows, false);
+                    System.out.printf("%12d %16.3f %16.3f %16.3f %16.3f%n",
+                            rows, keyset[0], keyset[1], offset[0], offset[1]);
+                }
+            }
+        }
+    }
+
+    // Agendas created one second apart, so (created_at, id) order matches id order
+    private static void grow(Connection connection, long from, long to) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO agendas (title, description, created_at)
+                    SELECT 'Agenda ' || n, 'Benchmark agenda', TIMESTAMP '2020-01-01' + n * INTERVAL '1 second'
+                    FROM generate_series(%d, %d) AS n
+                    """.formatted(from + 1, to));
+            statement.execute("VACUUM ANALYZE agendas");
+        }
+    }
+
+    // Pages start at random depths across the whole table; returns {p50, p99} in milliseconds
+    private static double[] measure(Connection connection, long rows, boolean keyset) throws SQLException {
+        String sql = keyset ? KEYSET : OFFSET;
+        long[] nanos = new long[MEASURED_PAGES];
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < WARMUP_PAGES + MEASURED_PAGES; i++) {
+                long position = ThreadLocalRandom.current().nextLong(Math.max(1, rows - PAGE_SIZE));
+                long start = System.nanoTime();
+                if (keyset) {
+                    statement.setObject(1, EPOCH.plusSeconds(position));
+                    statement.setLong(2, position);
+                    statement.setInt(3, PAGE_SIZE);
+                } else {
+                    statement.setInt(1, PAGE_SIZE);
+                    statement.setLong(2, position);
+                }
+                int read = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        read++;
+                    }
+                }
+                long elapsed = System.nanoTime() - start;
+                if (read == 0) {
+                    throw new IllegalStateException("Empty page at position " + position);
+                }
+                if (i >= WARMUP_PAGES) {
+                    nanos[i - WARMUP_PAGES] = elapsed;
+                }
+            }
+        }
+        Arrays.sort(nanos);
+        return new double[] {
+                nanos[MEASURED_PAGES / 2] / 1_000_000.0,
+                nanos[MEASURED_PAGES * 99 / 100] / 1_000_000.0
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.rdpk.benchmark;
+
+import br.com.caelum.stella.validation.CPFValidator;
+import com.rdpk.e2e.helpers.CpfGenerator;
+import com.rdpk.features.voting.domain.Cpf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous CPF checks (regex format check, caelum-stella strict check) with {@link Cpf}.
+ *
+ * Run with {@code make benchmark-cpf}; the GC profiler reports gc.alloc.rate.norm (bytes allocated per call).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpfValidationBenchmark {
+
+    private final CPFValidator stella = new CPFValidator();
+    private String[] cpfs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        cpfs = CpfGenerator.generateMultipleValidCpfs(1024);
+    }
+
+    private String nextCpf() {
+        return cpfs[next++ & 1023];
+    }
+
+    @Benchmark
+    public boolean regexFormat() {
+        return nextCpf().matches("\\d{11}");
+    }
+
+    @Benchmark
+    public boolean stellaStrict() {
+        String cpf = nextCpf();
+        try {
+            return stella.isEligible(cpf) && stella.invalidMessagesFor(cpf).isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public long cpfFormat() {
+        return Cpf.parse(nextCpf());
+    }
+
+    @Benchmark
+    public long cpfStrict() {
+        return Cpf.parseValid(nextCpf());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CpfValidationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,92 @@
+package com.rdpk.benchmark;
+
+import com.rdpk.e2e.helpers.CpfGenerator;
+import com.rdpk.features.voting.bulkimport.VoteImportCommand;
+import org.flywaydb.core.Flyway;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * End-to-end throughput of {@code import-votes}: CSV parsing, binary COPY into staging and the merge into votes.
+ *
+ * Starts PostgreSQL 17.2 in a container, applies the migrations and opens a day-long session on each agenda, then
+ * writes a CSV of distinct votes spread over the agendas and runs {@link VoteImportCommand} on it twice: the first
+ * run inserts every row, the second rejects every row as a duplicate. Each run prints its report, whose
+ * {@code elapsedMillis} and {@code rowsPerSecond} cover the import alone; the wall time printed here adds the
+ * application startup. Run with {@code make benchmark-vote-import}; {@code -Drows=} (default 1M) and
+ * {@code -Dagendas=} (default 1000) change the data set.
+ */
+public class VoteImportBenchmark {
+
+    public static void main(String[] args) throws IOException, SQLException {
+        int rows = Integer.getInteger("rows", 1_000_000);
+        int agendas = Integer.getInteger("agendas", 1000);
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.2")) {
+            postgres.start();
+            Flyway.configure()
+                    .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                    .locations("classpath:db/migration")
+                    .load()
+                    .migrate();
+            try (Connection connection = DriverManager.getConnection(
+                    postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("""
+                        INSERT INTO agendas (title, description)
+                        SELECT 'Agenda ' || n, 'Benchmark agenda' FROM generate_series(1, %d) AS n
+                        """.formatted(agendas));
+                // Started a day ago, so rows stamped with the import time fall inside whatever the JVM's zone
+                statement.execute("""
+                        INSERT INTO voting_sessions (agenda_id, duration_minutes, end_time)
+                        SELECT id, 2880, LOCALTIMESTAMP + INTERVAL '1 day' FROM agendas
+                        """);
+            }
+
+            Path file = Files.createTempFile("votes", ".csv");
+            try {
+                write(file, rows, agendas);
+                String[] command = {
+                        file.toString(),
+                        "--spring.r2dbc.url=" + postgres.getJdbcUrl().replace("jdbc:", "r2dbc:"),
+                        "--spring.r2dbc.username=" + postgres.getUsername(),
+                        "--spring.r2dbc.password=" + postgres.getPassword(),
+                        "--spring.flyway.url=" + postgres.getJdbcUrl(),
+                        "--spring.flyway.user=" + postgres.getUsername(),
+                        "--spring.flyway.password=" + postgres.getPassword(),
+                        "--votes.import.max-reported-rejections=0"
+                };
+                for (String run : new String[] {"fresh", "re-import"}) {
+                    System.out.printf("%s: %d rows, %d MB%n", run, rows, Files.size(file) / (1024 * 1024));
+                    long start = System.nanoTime();
+                    int exit = VoteImportCommand.run(command);
+                    System.out.printf("%s: exit %d, %.1f s including startup%n",
+                            run, exit, (System.nanoTime() - start) / 1e9);
+                }
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // Vote n goes to agenda n % agendas + 1, with a CPF built from n so every row is distinct
+    private static void write(Path file, int rows, int agendas) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("agenda_id,cpf,vote\n");
+            for (int n = 1; n <= rows; n++) {
+                writer.write(Integer.toString(n % agendas + 1));
+                writer.write(',');
+                writer.write(CpfGenerator.generateValidCpfFromPattern("%09d".formatted(n)));
+                writer.write((n & 1) == 0 ? ",Yes\n" : ",No\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.rdpk.benchmark;
+
+import org.flywaydb.core.Flyway;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Single-vote insert and per-agenda count latency on a large {@code votes} table, plain heap (V1-V10) versus
+ * hash-partitioned (after the V10 swap).
+ *
+ * Starts PostgreSQL 17.2 in a container with one database per layout, loads the same votes into both with
+ * every index and the tally triggers in place, then times autocommit inserts of new votes and the raw per-agenda
+ * count of {@code VoteRepositoryImpl.recountVotesByAgendaId} on random agendas. Run with
+ * {@code make benchmark-vote-partitioning}; {@code -Drows=} (default 50M) and {@code -Dagendas=} (default 10000)
+ * change the data set. Loading 50M rows twice takes a long time and needs roughly 20 GB of disk.
+ */
+public class VotePartitioningBenchmark {
+
+    private static final long LOAD_CHUNK = 1_000_000;
+    private static final int WARMUP = 500;
+    private static final int MEASURED = 5000;
+
+    public static void main(String[] args) throws SQLException {
+        long rows = Long.getLong("rows", 50_000_000);
+        int agendas = Integer.getInteger("agendas", 10_000);
+
+        try (PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.2")) {
+            postgres.start();
+            System.out.printf("%-12s %12s %14s %14s %14s %14s%n",
+                    "layout", "load s", "insert p50 ms", "insert p99 ms", "count p50 ms", "count p99 ms");
+            for (boolean partitioned : new boolean[] {false, true}) {
+                String database = partitioned ? "votes_partitioned" : "votes_flat";
+                try (Connection admin = DriverManager.getConnection(
+                        postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+                     Statement statement = admin.createStatement()) {
+                    statement.execute("CREATE DATABASE " + database);
+                }
+                String url = postgres.getJdbcUrl().replace("/" + postgres.getDatabaseName(), "/" + database);
+                Flyway.configure()
+                        .dataSource(url, postgres.getUsername(), postgres.getPassword())
+                        .locations("classpath:db/migration")
+                        .load()
+                        .migrate();
+
+                try (Connection connection = DriverManager.getConnection(
+                        url, postgres.getUsername(), postgres.getPassword())) {
+                    if (partitioned) {
+                        partition(connection);
+                    }
+                    double loadSeconds = load(connection, rows, agendas);
+                    double[] insert = measureInserts(connection, rows, agendas);
+                    double[] count = measureCounts(connection, agendas);
+                    System.out.printf("%-12s %12.0f %14.3f %14.3f %14.3f %14.3f%n",
+                            partitioned ? "partitioned" : "heap", loadSeconds, insert[0], insert[1], count[0], count[1]);
+                }
+            }
+        }
+    }
+
+    // The table is still empty, so this is just the swap
+    private static void partition(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SELECT votes_partition_start()");
+            statement.execute("SELECT votes_partition_copy_chunk(1)");
+            statement.execute("SELECT votes_partition_swap()");
+        }
+    }
+
+    // Vote n goes to agenda n % agendas + 1 with CPF n, so later inserts can use CPFs above rows
+    private static double load(Connection connection, long rows, int agendas) throws SQLException {
+        long start = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO agendas (title, description)
+                    SELECT 'Agenda ' || n, 'Benchmark agenda' FROM generate_series(1, %d) AS n
+                    """.formatted(agendas));
+            for (long from = 0; from < rows; from += LOAD_CHUNK) {
+                statement.execute("""
+                        INSERT INTO votes (agenda_id, cpf, vote_value)
+                        SELECT n %% %d + 1, n, n %% 2
+                        FROM generate_series(%d, %d) AS n
+                        """.formatted(agendas, from, Math.min(from + LOAD_CHUNK, rows) - 1));
+            }
+            statement.execute("VACUUM ANALYZE");
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private static double[] measureInserts(Connection connection, long rows, int agendas) throws SQLException {
+        long[] nanos = new long[MEASURED];
+        try (PreparedStatement statement = connection.prepareStatement("""
+                INSERT INTO votes (agenda_id, cpf, vote_value, voted_at)
+                VALUES (?, ?, ?, CURRENT_TIMESTAMP)
+                ON CONFLICT (agenda_id, cpf) DO NOTHING
+                """)) {
+            for (int i = 0; i < WARMUP + MEASURED; i++) {
+                statement.setLong(1, ThreadLocalRandom.current().nextInt(agendas) + 1);
+                statement.setLong(2, rows + i);
+                statement.setShort(3, (short) (i & 1));
+                long start = System.nanoTime();
+                statement.executeUpdate();
+                record(nanos, i, System.nanoTime() - start);
+            }
+        }
+        return percentiles(nanos);
+    }
+
+    private static double[] measureCounts(Connection connection, int agendas) throws SQLException {
+        long[] nanos = new long[MEASURED];
+        try (PreparedStatement statement = connection.prepareStatement("""
+                SELECT
+                    COALESCE(SUM(CASE WHEN vote_value = 1 THEN 1 ELSE 0 END), 0) as yes_votes,
+                    COALESCE(SUM(CASE WHEN vote_value = 0 THEN 1 ELSE 0 END), 0) as no_votes
+                FROM votes
+                WHERE agenda_id = ?
+                """)) {
+            for (int i = 0; i < WARMUP + MEASURED; i++) {
+                statement.setLong(1, ThreadLocalRandom.current().nextInt(agendas) + 1);
+                long start = System.nanoTime();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                }
+                record(nanos, i, System.nanoTime() - start);
+            }
+        }
+        return percentiles(nanos);
+    }
+
+    private static void record(long[] nanos, int iteration, long elapsed) {
+        if (iteration >= WARMUP) {
+            nanos[iteration - WARMUP] = elapsed;
+        }
+    }
+
+    // {p50, p99} in milliseconds
+    private static double[] percentiles(long[] nanos) {
+        Arrays.sort(nanos);
+        return new double[] {
+                nanos[nanos.length / 2] / 1_000_000.0,
+                nanos[nanos.length * 99 / 100] / 1_000_000.0
+        };
+    }
+}
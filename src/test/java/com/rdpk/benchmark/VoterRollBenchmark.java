@@ -0,0 +1,99 @@
+package com.rdpk.benchmark;
+
+import com.rdpk.features.voting.cpfvalidation.VoterRoll;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookup cost of a {@link VoterRoll} of 1M, 10M and 50M CPFs, for CPFs on the roll and off it.
+ *
+ * The roll holds every 200th packed CPF. Lookups cycle through 64k random probes, so they land all over the file
+ * instead of on a few cached lines.
+ * Run with {@code make benchmark-voter-roll}; the GC profiler should report 0 bytes allocated per lookup.
+ * The 50M roll is a 400 MB file in the temp directory while it runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VoterRollBenchmark {
+
+    private static final long STRIDE = 200;
+    private static final int PROBES = 1 << 16;
+
+    @Param({"1000000", "10000000", "50000000"})
+    public long size;
+
+    private Path file;
+    private VoterRoll roll;
+    private long[] onRoll;
+    private long[] offRoll;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("voter-roll-benchmark-", ".bin");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            for (long i = 0; i < size; i++) {
+                out.writeLong(i * STRIDE);
+            }
+        }
+        roll = VoterRoll.load(file);
+
+        SplittableRandom random = new SplittableRandom(42);
+        onRoll = new long[PROBES];
+        offRoll = new long[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            long index = random.nextLong(size);
+            onRoll[i] = index * STRIDE;
+            offRoll[i] = index * STRIDE + 1;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        roll.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public boolean hit() {
+        return roll.contains(onRoll[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public boolean miss() {
+        return roll.contains(offRoll[next++ & (PROBES - 1)]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(VoterRollBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -2,6 +2,9 @@ package com.rdpk.e2e;
 
 import com.rdpk.config.TestConfig;
 import com.rdpk.e2e.config.SharedPostgresContainer;
+import com.rdpk.features.voting.tally.LiveTallyStore;
+import com.rdpk.features.voting.voters.VoterSets;
+import com.rdpk.infrastructure.cache.LookupCaches;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.TestInstance;
@@ -54,6 +57,10 @@ public abstract class AbstractE2eTest {
         registry.add("spring.flyway.url", postgres::getJdbcUrl);
         registry.add("spring.flyway.user", postgres::getUsername);
         registry.add("spring.flyway.password", postgres::getPassword);
+
+        // Cached contexts share this database but not their clocks (see FixedTimeProvider), so a background
+        // close pipeline would close other contexts' sessions; tests run SessionCloser themselves
+        registry.add("sessions.closing.enabled", () -> "false");
     }
 
     @LocalServerPort
@@ -67,14 +74,28 @@ public abstract class AbstractE2eTest {
     @Autowired
     protected DatabaseClient databaseClient;
 
+    @Autowired
+    protected LookupCaches lookupCaches;
+
+    @Autowired
+    protected LiveTallyStore liveTallies;
+
+    @Autowired
+    protected VoterSets voterSets;
+
     @BeforeEach
     void setUp() {
         // Clear all tables before each test to ensure isolation
         // Use TRUNCATE for faster, more reliable cleanup with automatic sequence reset
-        databaseClient.sql("TRUNCATE TABLE agendas, voting_sessions, votes RESTART IDENTITY CASCADE")
+        databaseClient.sql("TRUNCATE TABLE agendas, voting_sessions, votes, final_results RESTART IDENTITY CASCADE")
                 .fetch()
                 .rowsUpdated()
                 .block();
+
+        // Identities restart on truncate, so cached lookups from the previous test would be stale
+        lookupCaches.invalidateAll();
+        liveTallies.clear();
+        voterSets.clear();
         
         // Initialize WebTestClient if not already done
         if (this.client == null) {
@@ -0,0 +1,131 @@
+package com.rdpk.e2e;
+
+import com.rdpk.features.agenda.get.GetAgendaResponse;
+import com.rdpk.features.agenda.list.ListAgendasResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests GET /api/v1/agendas: keyset pages, the limit cap and NDJSON streaming.
+ * Uses "agenda-listing" profile with default-limit=2 and max-limit=3.
+ */
+@ActiveProfiles("agenda-listing")
+class AgendaListingE2eTest extends AbstractE2eTest {
+
+    private final List<Long> agendaIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+
+        agendaIds.clear();
+        for (int i = 1; i <= 7; i++) {
+            agendaIds.add(createTestAgenda("Listing Agenda " + i, "Test Description"));
+        }
+    }
+
+    @Test
+    void testPagesFollowCursorUntilLastPage() {
+        List<Long> listed = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ListAgendasResponse page = listPage(cursor, null);
+            page.items().forEach(item -> listed.add(item.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(listed).containsExactlyElementsOf(agendaIds);
+        assertThat(pages).isEqualTo(4);
+    }
+
+    @Test
+    void testLimitIsCapped() {
+        ListAgendasResponse page = listPage(null, 100);
+
+        assertThat(page.items()).hasSize(3);
+        assertThat(page.nextCursor()).isNotNull();
+    }
+
+    @Test
+    void testNdjsonStreamsEveryAgendaAcrossPages() {
+        List<GetAgendaResponse> streamed = client.get()
+                .uri("/api/v1/agendas")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(GetAgendaResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(streamed).extracting(GetAgendaResponse::id).containsExactlyElementsOf(agendaIds);
+    }
+
+    @Test
+    void testNdjsonStreamResumesAfterCursor() {
+        String cursor = listPage(null, 2).nextCursor();
+
+        List<GetAgendaResponse> streamed = client.get()
+                .uri(uri -> uri.path("/api/v1/agendas").queryParam("cursor", cursor).build())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(GetAgendaResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(streamed).extracting(GetAgendaResponse::id)
+                .containsExactlyElementsOf(agendaIds.subList(2, agendaIds.size()));
+    }
+
+    @Test
+    void testInvalidCursorReturnsBadRequest() {
+        client.get()
+                .uri("/api/v1/agendas?cursor=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Invalid cursor");
+    }
+
+    @Test
+    void testNonPositiveLimitReturnsBadRequest() {
+        client.get()
+                .uri("/api/v1/agendas?limit=0")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Limit must be at least 1");
+    }
+
+    private ListAgendasResponse listPage(String cursor, Integer limit) {
+        return client.get()
+                .uri(uri -> {
+                    uri.path("/api/v1/agendas");
+                    if (cursor != null) {
+                        uri.queryParam("cursor", cursor);
+                    }
+                    if (limit != null) {
+                        uri.queryParam("limit", limit);
+                    }
+                    return uri.build();
+                })
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(ListAgendasResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
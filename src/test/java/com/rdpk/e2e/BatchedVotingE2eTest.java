@@ -0,0 +1,115 @@
+package com.rdpk.e2e;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.rdpk.e2e.helpers.VoteTestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests vote submission with micro-batched inserts enabled.
+ * Uses "batching" profile so concurrent votes are coalesced into multi-row INSERTs.
+ */
+@ActiveProfiles("batching")
+class BatchedVotingE2eTest extends AbstractE2eTest {
+
+    private Long agendaId;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+
+        // Create a fresh agenda with an open session for each test
+        agendaId = createTestAgenda("Batched Voting Agenda", "Test Description");
+        createVotingSession(agendaId, 5);
+    }
+
+    @Test
+    void testConcurrentVotesAreAllPersisted() {
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<CompletableFuture<Void>> futures = IntStream.range(0, 30)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> {
+                    String cpf = String.format("111444777%02d", i);
+                    String vote = i % 3 == 0 ? "No" : "Yes";
+                    client.post()
+                            .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(createVoteJson(cpf, vote))
+                            .exchange()
+                            .expectStatus().isCreated()
+                            .expectBody()
+                            .jsonPath("$.cpf").isEqualTo(cpf)
+                            .jsonPath("$.vote").isEqualTo(vote)
+                            .jsonPath("$.id").isNotEmpty();
+                }, executor))
+                .toList();
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .orTimeout(10, TimeUnit.SECONDS)
+                .join();
+        executor.shutdown();
+
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.yesVotes").isEqualTo(20)
+                .jsonPath("$.noVotes").isEqualTo(10);
+    }
+
+    @Test
+    void testConcurrentDuplicatesInSameBatchOnlyOneSucceeds() {
+        String voteJson = createVoteJson("11144477735", "Yes");
+
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<CompletableFuture<Integer>> futures = IntStream.range(0, 5)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> client.post()
+                        .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(voteJson)
+                        .exchange()
+                        .returnResult(String.class)
+                        .getStatus()
+                        .value(), executor))
+                .toList();
+
+        List<Integer> statuses = futures.stream()
+                .map(future -> future.orTimeout(10, TimeUnit.SECONDS).join())
+                .toList();
+        executor.shutdown();
+
+        assertThat(statuses).filteredOn(status -> status == 201).hasSize(1);
+        assertThat(statuses).filteredOn(status -> status == 400).hasSize(4);
+    }
+
+    @Test
+    void testDuplicateVoteStillRejected() {
+        String voteJson = createVoteJson("11144477735", "Yes");
+
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(voteJson)
+                .exchange()
+                .expectStatus().isCreated();
+
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createVoteJson("11144477735", "No"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("CPF already voted for this agenda");
+    }
+}
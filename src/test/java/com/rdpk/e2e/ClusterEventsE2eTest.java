@@ -0,0 +1,148 @@
+package com.rdpk.e2e;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+import static com.rdpk.e2e.helpers.VoteTestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests applying LISTEN/NOTIFY events sent by other instances.
+ * Uses "cluster-events" profile; events from "another instance" are sent with pg_notify.
+ */
+@ActiveProfiles("cluster-events")
+class ClusterEventsE2eTest extends AbstractE2eTest {
+
+    private Long agendaId;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+
+        agendaId = createTestAgenda("Cluster Events Agenda", "Test Description");
+    }
+
+    @Test
+    void testRemoteVotesAreAddedToLiveTally() throws InterruptedException {
+        createVotingSession(agendaId, 5);
+        expectResults(0, 0);
+
+        notifyVotesFromOtherInstance(new long[] {101, 102}, new long[] {103});
+
+        awaitTrue(() -> liveTallies.peek(agendaId).yesVotes() == 2);
+        expectResults(2, 1);
+    }
+
+    @Test
+    void testRemoteVotesAlreadyCountedAreNotAddedAgain() throws InterruptedException {
+        createVotingSession(agendaId, 5);
+
+        // Another instance saves a vote, and this instance counts it when seeding before the broadcast arrives
+        long countedId = insertVoteFromOtherInstance(11144477735L, 1);
+        expectResults(1, 0);
+        long newerId = insertVoteFromOtherInstance(98765432100L, 0);
+
+        notifyVotesFromOtherInstance(new long[] {countedId}, new long[] {newerId});
+
+        awaitTrue(() -> liveTallies.peek(agendaId).noVotes() == 1);
+        expectResults(1, 1);
+    }
+
+    @Test
+    void testOwnVotesAreCountedOnce() throws InterruptedException {
+        createVotingSession(agendaId, 5);
+        expectResults(0, 0);
+
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createVoteJson("11144477735", "Yes"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        // Several flush intervals: the broadcast of our own vote must not come back to us
+        Thread.sleep(300);
+        expectResults(1, 0);
+    }
+
+    @Test
+    void testSessionOpenedElsewhereReplacesCachedMiss() throws InterruptedException {
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        // Written straight to the database, as another instance would
+        databaseClient.sql("""
+                        INSERT INTO voting_sessions (agenda_id, duration_minutes, end_time)
+                        VALUES (:agendaId, 5, :endTime)
+                        """)
+                .bind("agendaId", agendaId)
+                .bind("endTime", LocalDateTime.now().plusMinutes(5))
+                .fetch()
+                .rowsUpdated()
+                .block();
+        notifyFromOtherInstance("session-opened", "");
+
+        awaitTrue(() -> client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .exchange()
+                .returnResult(String.class)
+                .getStatus()
+                .is2xxSuccessful());
+    }
+
+    private long insertVoteFromOtherInstance(long cpf, int voteValue) {
+        return databaseClient.sql("""
+                        INSERT INTO votes (agenda_id, cpf, vote_value) VALUES (:agendaId, :cpf, :voteValue)
+                        RETURNING id
+                        """)
+                .bind("agendaId", agendaId)
+                .bind("cpf", cpf)
+                .bind("voteValue", voteValue)
+                .map((row, _) -> row.get("id", Long.class))
+                .one()
+                .block();
+    }
+
+    private void notifyVotesFromOtherInstance(long[] yesVoteIds, long[] noVoteIds) {
+        notifyFromOtherInstance("votes-inserted", String.format(",\"yesVoteIds\":%s,\"noVoteIds\":%s",
+                Arrays.toString(yesVoteIds).replace(" ", ""), Arrays.toString(noVoteIds).replace(" ", "")));
+    }
+
+    private void notifyFromOtherInstance(String type, String fields) {
+        String payload = String.format(
+                "{\"origin\":\"other-instance\",\"event\":{\"type\":\"%s\",\"agendaId\":%d%s}}",
+                type, agendaId, fields);
+        databaseClient.sql("SELECT pg_notify('votacao_events', :payload)")
+                .bind("payload", payload)
+                .fetch()
+                .rowsUpdated()
+                .block();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private void expectResults(int yesVotes, int noVotes) {
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.yesVotes").isEqualTo(yesVotes)
+                .jsonPath("$.noVotes").isEqualTo(noVotes);
+    }
+}
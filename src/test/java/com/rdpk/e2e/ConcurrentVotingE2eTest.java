@@ -15,6 +15,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 import static com.rdpk.e2e.helpers.VoteTestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * Tests concurrent voting scenarios to ensure thread safety.
@@ -77,6 +78,41 @@ class ConcurrentVotingE2eTest extends AbstractE2eTest {
                 .jsonPath("$.status").isEqualTo("Open");
     }
 
+    @Test
+    void testConcurrentSessionOpensCreateExactlyOneSession() {
+        String sessionJson = createSessionJson(2);
+
+        // Multiple threads try to open the same agenda's session
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<CompletableFuture<Integer>> futures = IntStream.range(0, 10)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> client.post()
+                        .uri("/api/v1/agendas/{agendaId}/voting-session", agendaId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(sessionJson)
+                        .exchange()
+                        .returnResult(String.class)
+                        .getStatus()
+                        .value(), executor))
+                .toList();
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .orTimeout(10, TimeUnit.SECONDS)
+                .join();
+
+        executor.shutdown();
+
+        List<Integer> statuses = futures.stream().map(CompletableFuture::join).toList();
+        assertThat(statuses).containsOnly(201, 409);
+        assertThat(statuses).filteredOn(status -> status == 201).hasSize(1);
+
+        Long sessions = databaseClient.sql("SELECT COUNT(*) FROM voting_sessions WHERE agenda_id = :agendaId")
+                .bind("agendaId", agendaId)
+                .map((row, _) -> row.get(0, Long.class))
+                .one()
+                .block();
+        assertThat(sessions).isEqualTo(1L);
+    }
+
     @Test
     void testConcurrentDuplicateVoteAttempts() {
         // Create session first
@@ -0,0 +1,151 @@
+package com.rdpk.e2e;
+
+import com.rdpk.e2e.config.TimeProviderTestConfig;
+import com.rdpk.e2e.helpers.FixedTimeProvider;
+import com.rdpk.features.voting.closing.SessionCloser;
+import com.rdpk.infrastructure.time.TimeProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static com.rdpk.e2e.helpers.VoteTestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests ETag / If-None-Match handling and Cache-Control on agenda and results reads.
+ * Uses "session-expiration" profile with FixedTimeProvider to close sessions.
+ */
+@ActiveProfiles("session-expiration")
+@Import(TimeProviderTestConfig.class)
+class HttpCachingE2eTest extends AbstractE2eTest {
+
+    private Long agendaId;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @Autowired
+    private SessionCloser sessionCloser;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+
+        ((FixedTimeProvider) timeProvider).setTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+        agendaId = createTestAgenda("Caching Test Agenda", "Test Description");
+    }
+
+    @Test
+    void testAgendaIsImmutableAndRevalidates() {
+        String etag = client.get()
+                .uri("/api/v1/agendas/{agendaId}", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueMatches("Cache-Control", ".*immutable.*")
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Caching Test Agenda")
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+        assertThat(etag).isNotNull();
+
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}", agendaId)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void testUnknownAgendaReturnsNotFound() {
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}", 999999)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Agenda not found");
+    }
+
+    @Test
+    void testOpenResultsRevalidateUntilAVoteLands() {
+        createVotingSession(agendaId, 1);
+
+        String etag = resultsEtag();
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createVoteJson("11144477735", "Yes"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .ifNoneMatch(etag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueMatches("Cache-Control", ".*no-cache.*")
+                .expectBody()
+                .jsonPath("$.yesVotes").isEqualTo(1);
+    }
+
+    @Test
+    void testClosedResultsAreImmutable() {
+        createVotingSession(agendaId, 1);
+        String openEtag = resultsEtag();
+
+        ((FixedTimeProvider) timeProvider).advance(2);
+        assertThat(sessionCloser.closeDueSessions().block()).isEqualTo(1);
+
+        String closedEtag = client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .ifNoneMatch(openEtag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueMatches("Cache-Control", ".*immutable.*")
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("Closed")
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+        assertThat(closedEtag).isNotEqualTo(openEtag);
+    }
+
+    @Test
+    void testEndedButNotClosedResultsAreRevalidated() {
+        createVotingSession(agendaId, 1);
+
+        // Ended, but final results not stored yet: the count may still change
+        ((FixedTimeProvider) timeProvider).advance(2);
+
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueMatches("Cache-Control", ".*no-cache.*")
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("Closed");
+    }
+
+    private String resultsEtag() {
+        return client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+    }
+}
@@ -0,0 +1,45 @@
+package com.rdpk.e2e;
+
+import com.rdpk.features.voting.cpfvalidation.CpfValidationService;
+import com.rdpk.features.voting.cpfvalidation.InProcessCpfValidationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the in-process CPF validation mode.
+ * Uses "strict" profile so invalid CPFs are rejected by the validator logic.
+ */
+@ActiveProfiles("strict")
+@TestPropertySource(properties = "cpf.validation.mode=in-process")
+class InProcessCpfValidationE2eTest extends AbstractE2eTest {
+
+    // The application bean, not the @Primary test mock
+    @Autowired
+    @Qualifier("cpfValidationService")
+    private CpfValidationService cpfValidationService;
+
+    @Test
+    void testInProcessModeMatchesEndpointOutcomes() {
+        assertThat(cpfValidationService).isInstanceOf(InProcessCpfValidationService.class);
+
+        StepVerifier.create(cpfValidationService.validateCpf("11144477735"))
+                .assertNext(response -> assertThat(response.status()).isEqualTo("ABLE_TO_VOTE"))
+                .verifyComplete();
+
+        // The endpoint answers 404 for this CPF, which the HTTP client reports as UNABLE_TO_VOTE
+        StepVerifier.create(cpfValidationService.validateCpf("11111111111"))
+                .assertNext(response -> assertThat(response.status()).isEqualTo("UNABLE_TO_VOTE"))
+                .verifyComplete();
+
+        client.get()
+                .uri("/api/v1/cpf-validation/{cpf}", "11111111111")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+}
@@ -0,0 +1,89 @@
+package com.rdpk.e2e;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+
+import static com.rdpk.e2e.helpers.VoteTestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests results served from the in-process live tallies.
+ * Uses "live-tallies" profile with a short reconcile interval.
+ */
+@ActiveProfiles("live-tallies")
+class LiveTallyE2eTest extends AbstractE2eTest {
+
+    private Long agendaId;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+
+        agendaId = createTestAgenda("Live Tally Agenda", "Test Description");
+        createVotingSession(agendaId, 5);
+    }
+
+    @Test
+    void testFirstReadSeedsAndVotesAreCountedInMemory() {
+        submitVote("11144477735", "Yes");
+        assertThat(liveTallies.peek(agendaId)).isNull();
+
+        // First read seeds the tally from the database
+        expectResults(1, 0);
+        assertThat(liveTallies.peek(agendaId)).isNotNull();
+
+        submitVote("98765432100", "No");
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes:batch", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[" + createVoteJson("12345678909", "Yes") + ", " + createVoteJson("11144477735", "No") + "]")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(liveTallies.peek(agendaId).yesVotes()).isEqualTo(2);
+        assertThat(liveTallies.peek(agendaId).noVotes()).isEqualTo(1);
+        expectResults(2, 1);
+    }
+
+    @Test
+    void testReconcilePicksUpVotesFromOtherInstances() throws InterruptedException {
+        expectResults(0, 0);
+
+        // Written straight to the database, as another instance would
+        databaseClient.sql("INSERT INTO votes (agenda_id, cpf, vote_value) VALUES (:agendaId, 11144477735, 1)")
+                .bind("agendaId", agendaId)
+                .fetch()
+                .rowsUpdated()
+                .block();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (liveTallies.peek(agendaId).yesVotes() != 1 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        expectResults(1, 0);
+    }
+
+    private void submitVote(String cpf, String vote) {
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createVoteJson(cpf, vote))
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    private void expectResults(int yesVotes, int noVotes) {
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("Open")
+                .jsonPath("$.yesVotes").isEqualTo(yesVotes)
+                .jsonPath("$.noVotes").isEqualTo(noVotes);
+    }
+}
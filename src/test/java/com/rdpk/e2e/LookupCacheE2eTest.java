@@ -0,0 +1,63 @@
+package com.rdpk.e2e;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the agenda/session lookup cache and its actuator metrics.
+ * Uses default lenient profile for CPF validation.
+ */
+class LookupCacheE2eTest extends AbstractE2eTest {
+
+    private Long agendaId;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+
+        // Create a fresh agenda for each test
+        agendaId = createTestAgenda("Cache Test Agenda", "Test Description");
+    }
+
+    @Test
+    void testSessionOpenedAfterCachedMissIsVisible() {
+        // Miss is cached as "no session"
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .exchange()
+                .expectStatus().isNotFound();
+
+        createVotingSession(agendaId, 5);
+
+        // Opening the session replaces the negative entry
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("Open");
+    }
+
+    @Test
+    void testRepeatedResultsLookupsHitCache() {
+        createVotingSession(agendaId, 5);
+
+        for (int i = 0; i < 3; i++) {
+            client.get()
+                    .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        client.get()
+                .uri("/actuator/metrics/cache.gets?tag=cache:votingSessions&tag=result:hit")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.measurements[0].value").value(hits -> {
+                    if (((Number) hits).doubleValue() < 3) {
+                        throw new AssertionError("Expected at least 3 session cache hits but was " + hits);
+                    }
+                });
+    }
+}
@@ -0,0 +1,122 @@
+package com.rdpk.e2e;
+
+import com.rdpk.e2e.config.TimeProviderTestConfig;
+import com.rdpk.e2e.helpers.FixedTimeProvider;
+import com.rdpk.features.voting.closing.SessionCloser;
+import com.rdpk.features.voting.results.GetResultsResponse;
+import com.rdpk.infrastructure.time.TimeProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static com.rdpk.e2e.helpers.VoteTestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the Server-Sent Events results stream.
+ * Uses "results-stream" profile with a short update interval and FixedTimeProvider to close the session.
+ */
+@ActiveProfiles("results-stream")
+@Import(TimeProviderTestConfig.class)
+class ResultsStreamE2eTest extends AbstractE2eTest {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<GetResultsResponse>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() { };
+
+    private Long agendaId;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @Autowired
+    private SessionCloser sessionCloser;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+
+        ((FixedTimeProvider) timeProvider).setTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+        agendaId = createTestAgenda("Stream Test Agenda", "Test Description");
+        createVotingSession(agendaId, 1);
+    }
+
+    @Test
+    void testStreamPushesChangesAndFinalClosedEvent() {
+        StepVerifier.create(streamResults())
+                .assertNext(event -> {
+                    assertThat(event.event()).isEqualTo("results");
+                    assertThat(event.data().yesVotes()).isZero();
+                    assertThat(event.data().status()).isEqualTo("Open");
+                })
+                .then(() -> submitVote("11144477735", "Yes"))
+                .assertNext(event -> {
+                    assertThat(event.event()).isEqualTo("results");
+                    assertThat(event.data().yesVotes()).isEqualTo(1);
+                })
+                .then(() -> ((FixedTimeProvider) timeProvider).advance(2))
+                .assertNext(event -> {
+                    // Ended but not materialized yet: the stream stays open
+                    assertThat(event.event()).isEqualTo("results");
+                    assertThat(event.data().status()).isEqualTo("Closed");
+                })
+                .then(() -> sessionCloser.closeDueSessions().block())
+                .assertNext(event -> {
+                    assertThat(event.event()).isEqualTo("closed");
+                    assertThat(event.data().yesVotes()).isEqualTo(1);
+                    assertThat(event.data().status()).isEqualTo("Closed");
+                })
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testSubscribersShareLatestResult() {
+        submitVote("11144477735", "No");
+
+        StepVerifier.create(Flux.merge(streamResults().take(1), streamResults().take(1)))
+                .assertNext(event -> assertThat(event.data().noVotes()).isEqualTo(1))
+                .assertNext(event -> assertThat(event.data().noVotes()).isEqualTo(1))
+                .expectComplete()
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void testStreamWithoutSessionReturnsNotFound() {
+        Long agendaWithoutSession = createTestAgenda("No Session Agenda", "Test Description");
+
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results/stream", agendaWithoutSession)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private Flux<ServerSentEvent<GetResultsResponse>> streamResults() {
+        return client.get()
+                .uri("/api/v1/agendas/{agendaId}/results/stream", agendaId)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(EVENT_TYPE)
+                .getResponseBody();
+    }
+
+    private void submitVote(String cpf, String vote) {
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createVoteJson(cpf, vote))
+                .exchange()
+                .expectStatus().isCreated();
+    }
+}
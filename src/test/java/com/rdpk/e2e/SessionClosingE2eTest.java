@@ -0,0 +1,113 @@
+package com.rdpk.e2e;
+
+import com.rdpk.e2e.config.TimeProviderTestConfig;
+import com.rdpk.e2e.helpers.FixedTimeProvider;
+import com.rdpk.features.voting.closing.SessionCloser;
+import com.rdpk.infrastructure.time.TimeProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static com.rdpk.e2e.helpers.VoteTestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the close pipeline that materializes final results.
+ * Uses "session-expiration" profile with FixedTimeProvider; the background poll is off in E2E tests.
+ */
+@ActiveProfiles("session-expiration")
+@Import(TimeProviderTestConfig.class)
+class SessionClosingE2eTest extends AbstractE2eTest {
+
+    private Long agendaId;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @Autowired
+    private SessionCloser sessionCloser;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+
+        ((FixedTimeProvider) timeProvider).setTime(LocalDateTime.of(2025, 1, 1, 10, 0));
+        agendaId = createTestAgenda("Closing Test Agenda", "Test Description");
+        createVotingSession(agendaId, 1);
+    }
+
+    @Test
+    void testClosedSessionIsMaterializedOnceAndServedFromSnapshot() {
+        submitVote("11144477735", "Yes");
+        submitVote("98765432100", "No");
+
+        ((FixedTimeProvider) timeProvider).advance(2);
+        assertThat(sessionCloser.closeDueSessions().block()).isEqualTo(1);
+        assertThat(sessionCloser.closeDueSessions().block()).isZero();
+
+        Object closedAt = databaseClient.sql("SELECT closed_at FROM voting_sessions WHERE agenda_id = :agendaId")
+                .bind("agendaId", agendaId)
+                .fetch()
+                .one()
+                .map(row -> row.get("closed_at"))
+                .block();
+        assertThat(closedAt).isNotNull();
+
+        // Later changes to the raw votes do not alter the stored result
+        databaseClient.sql("DELETE FROM votes WHERE agenda_id = :agendaId")
+                .bind("agendaId", agendaId)
+                .fetch()
+                .rowsUpdated()
+                .block();
+
+        expectResults("Closed", 1, 1);
+    }
+
+    @Test
+    void testSessionWithinGraceIsNotClosedYet() {
+        submitVote("11144477735", "Yes");
+
+        // Ended a second ago: reported as closed, but still inside the grace period of the pipeline
+        ((FixedTimeProvider) timeProvider).setTime(LocalDateTime.of(2025, 1, 1, 10, 1, 1));
+        assertThat(sessionCloser.closeDueSessions().block()).isZero();
+
+        // Counted from the tallies until materialized
+        expectResults("Closed", 1, 0);
+    }
+
+    @Test
+    void testCatchesUpOnEverySessionThatEnded() {
+        Long secondAgendaId = createTestAgenda("Second Closing Agenda", "Test Description");
+        createVotingSession(secondAgendaId, 1);
+        Long stillOpenAgendaId = createTestAgenda("Open Agenda", "Test Description");
+        createVotingSession(stillOpenAgendaId, 60);
+
+        ((FixedTimeProvider) timeProvider).advance(30);
+        assertThat(sessionCloser.closeDueSessions().block()).isEqualTo(2);
+    }
+
+    private void submitVote(String cpf, String vote) {
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createVoteJson(cpf, vote))
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    private void expectResults(String status, int yesVotes, int noVotes) {
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(status)
+                .jsonPath("$.yesVotes").isEqualTo(yesVotes)
+                .jsonPath("$.noVotes").isEqualTo(noVotes);
+    }
+}
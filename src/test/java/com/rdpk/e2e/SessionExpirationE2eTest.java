@@ -64,6 +64,33 @@ class SessionExpirationE2eTest extends AbstractE2eTest {
                 .jsonPath("$.error").isEqualTo("Voting session is closed");
     }
 
+    @Test
+    void testBatchAfterSessionExpiresReportsClosed() {
+        // Create session with 1 minute duration
+        String sessionJson = createSessionJson(1);
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/voting-session", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(sessionJson)
+                .exchange()
+                .expectStatus().isCreated();
+
+        // Advance time by 2 minutes (session should be expired)
+        ((FixedTimeProvider) timeProvider).advance(2);
+
+        // Every item in the batch is reported as closed
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes:batch", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[" + createVoteJson("11144477735", "Yes") + ", " + createVoteJson("98765432100", "No") + "]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(0)
+                .jsonPath("$.results[0].status").isEqualTo("closed")
+                .jsonPath("$.results[1].status").isEqualTo("closed");
+    }
+
     @Test
     void testResultsShowClosedAfterExpiration() {
         // Create session with 1 minute duration
@@ -0,0 +1,100 @@
+package com.rdpk.e2e;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static com.rdpk.e2e.helpers.VoteTestData.*;
+
+/**
+ * Tests the bulk vote submission endpoint.
+ * Uses default lenient profile for CPF validation.
+ */
+class VoteBatchE2eTest extends AbstractE2eTest {
+
+    private Long agendaId;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+
+        // Create a fresh agenda for each test
+        agendaId = createTestAgenda("Batch Test Agenda", "Test Description");
+    }
+
+    @Test
+    void testBatchReportsStatusPerItemInInputOrder() {
+        createVotingSession(agendaId, 5);
+
+        // Existing vote makes the first item a duplicate
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createVoteJson("11144477735", "Yes"))
+                .exchange()
+                .expectStatus().isCreated();
+
+        String batchJson = """
+                [
+                    {"cpf": "11144477735", "vote": "No"},
+                    {"cpf": "98765432100", "vote": "Yes"},
+                    {"cpf": "123", "vote": "Yes"},
+                    {"cpf": "12345678909", "vote": "No"},
+                    {"cpf": "98765432100", "vote": "No"}
+                ]
+                """;
+
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes:batch", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(batchJson)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.agendaId").isEqualTo(agendaId)
+                .jsonPath("$.created").isEqualTo(2)
+                .jsonPath("$.rejected").isEqualTo(3)
+                .jsonPath("$.results[0].status").isEqualTo("duplicate")
+                .jsonPath("$.results[1].status").isEqualTo("created")
+                .jsonPath("$.results[1].voteId").isNotEmpty()
+                .jsonPath("$.results[2].status").isEqualTo("invalid")
+                .jsonPath("$.results[3].status").isEqualTo("created")
+                .jsonPath("$.results[3].cpf").isEqualTo("12345678909")
+                .jsonPath("$.results[4].status").isEqualTo("duplicate")
+                .jsonPath("$.results[4].index").isEqualTo(4);
+
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.yesVotes").isEqualTo(2)
+                .jsonPath("$.noVotes").isEqualTo(1);
+    }
+
+    @Test
+    void testBatchWithoutSession() {
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes:batch", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[{\"cpf\": \"11144477735\", \"vote\": \"Yes\"}]")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Voting session not found");
+    }
+
+    @Test
+    void testEmptyBatchIsRejected() {
+        createVotingSession(agendaId, 5);
+
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes:batch", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[]")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("At least one vote is required");
+    }
+}
@@ -0,0 +1,121 @@
+package com.rdpk.e2e;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests GET /api/v1/agendas/{agendaId}/votes/export: CSV and NDJSON across several keyset pages, and gzip.
+ */
+class VoteExportE2eTest extends AbstractE2eTest {
+
+    // More than two pages of the default votes.export.page-size (1000), the last one partial
+    private static final int VOTES = 2500;
+
+    private Long agendaId;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        agendaId = createTestAgenda("Export Agenda", "Test Description");
+        createVotingSession(agendaId, 5);
+        // Packed CPFs 1..VOTES, odd ones voting Yes
+        databaseClient.sql("""
+                        INSERT INTO votes (agenda_id, cpf, vote_value, voted_at)
+                        SELECT :agendaId, n, n % 2, LOCALTIMESTAMP FROM generate_series(1, :votes) AS n
+                        """)
+                .bind("agendaId", agendaId)
+                .bind("votes", VOTES)
+                .fetch()
+                .rowsUpdated()
+                .block();
+    }
+
+    @Test
+    void testCsvExportListsEveryVoteInCpfOrder() {
+        String csv = exportCsv();
+
+        List<String> lines = csv.lines().toList();
+        assertThat(lines).hasSize(VOTES + 1);
+        assertThat(lines.getFirst()).isEqualTo("agenda_id,cpf,vote,voted_at");
+        assertThat(lines.get(1)).startsWith(agendaId + ",00000000001,Yes,");
+        assertThat(lines.get(2)).startsWith(agendaId + ",00000000002,No,");
+        assertThat(lines.subList(1, lines.size()).stream().map(line -> Long.parseLong(line.split(",")[1])).toList())
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, VOTES).boxed().toList());
+    }
+
+    @Test
+    void testNdjsonExport() throws IOException {
+        String ndjson = client.get()
+                .uri("/api/v1/agendas/{agendaId}/votes/export", agendaId)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        List<String> lines = ndjson.lines().toList();
+        assertThat(lines).hasSize(VOTES);
+        JsonNode first = objectMapper.readTree(lines.getFirst());
+        assertThat(first.get("agendaId").asLong()).isEqualTo(agendaId);
+        assertThat(first.get("cpf").asText()).isEqualTo("00000000001");
+        assertThat(first.get("vote").asText()).isEqualTo("Yes");
+        assertThat(first.get("votedAt").asText()).isNotEmpty();
+        assertThat(objectMapper.readTree(lines.getLast()).get("cpf").asText()).isEqualTo("00000002500");
+    }
+
+    @Test
+    void testGzipExportDecompressesToTheCsv() throws IOException {
+        byte[] compressed = client.get()
+                .uri("/api/v1/agendas/{agendaId}/votes/export", agendaId)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(exportCsv());
+        }
+    }
+
+    @Test
+    void testExportWithoutSessionReturns404() {
+        Long otherAgendaId = createTestAgenda("No Session Agenda", "Test Description");
+
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/votes/export", otherAgendaId)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Voting session not found");
+    }
+
+    private String exportCsv() {
+        return client.get()
+                .uri("/api/v1/agendas/{agendaId}/votes/export", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("text/csv"))
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"agenda-" + agendaId + "-votes.csv\"")
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
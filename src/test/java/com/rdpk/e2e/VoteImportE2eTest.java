@@ -0,0 +1,148 @@
+package com.rdpk.e2e;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests importing offline votes through POST /api/v1/admin/vote-imports: COPY into staging, merge into votes and
+ * the per-row rejections.
+ */
+class VoteImportE2eTest extends AbstractE2eTest {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private Long agendaId;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+        agendaId = createTestAgenda("Import Agenda", "Test Description");
+        createVotingSession(agendaId, 5);
+    }
+
+    @Test
+    void testCsvImportReportsRejectedRows() {
+        Long noSessionAgendaId = createTestAgenda("No Session Agenda", "Test Description");
+        Long closedAgendaId = createTestAgenda("Closed Agenda", "Test Description");
+        createVotingSession(closedAgendaId, 5);
+        databaseClient.sql("UPDATE voting_sessions SET closed_at = CURRENT_TIMESTAMP WHERE agenda_id = :agendaId")
+                .bind("agendaId", closedAgendaId)
+                .fetch()
+                .rowsUpdated()
+                .block();
+        LocalDateTime now = LocalDateTime.now();
+
+        String csv = """
+                agenda_id,cpf,vote,voted_at
+                %1$d,11144477735,Yes,
+                %1$d,98765432100,No,%2$s
+                %1$d,11144477735,No,
+                %1$d,12345678909,Yes,%3$s
+                %4$d,12345678909,Yes,
+                %5$d,12345678909,Yes,
+                %1$d,123,Yes,
+                """.formatted(agendaId, now, now.minusDays(1), noSessionAgendaId, closedAgendaId);
+
+        importVotes(TEXT_CSV, csv)
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.rows").isEqualTo(7)
+                .jsonPath("$.imported").isEqualTo(2)
+                .jsonPath("$.rejected").isEqualTo(5)
+                .jsonPath("$.rejectedByReason.duplicate").isEqualTo(1)
+                .jsonPath("$.rejectedByReason.outside_session").isEqualTo(1)
+                .jsonPath("$.rejectedByReason.no_session").isEqualTo(1)
+                .jsonPath("$.rejectedByReason.session_closed").isEqualTo(1)
+                .jsonPath("$.rejectedByReason.invalid").isEqualTo(1)
+                .jsonPath("$.rejections[0].line").isEqualTo(4)
+                .jsonPath("$.rejections[0].cpf").isEqualTo("11144477735")
+                .jsonPath("$.rejections[0].reason").isEqualTo("duplicate")
+                .jsonPath("$.rejections[1].reason").isEqualTo("outside_session")
+                .jsonPath("$.rejections[2].reason").isEqualTo("no_session")
+                .jsonPath("$.rejections[3].reason").isEqualTo("session_closed")
+                .jsonPath("$.rejections[4].line").isEqualTo(8)
+                .jsonPath("$.rejections[4].reason").isEqualTo("invalid");
+
+        // The first line of a repeated CPF wins, and the tallies include imported votes
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.yesVotes").isEqualTo(1)
+                .jsonPath("$.noVotes").isEqualTo(1);
+    }
+
+    @Test
+    void testImportRejectsCpfsThatAlreadyVoted() {
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"cpf\": \"11144477735\", \"vote\": \"Yes\"}")
+                .exchange()
+                .expectStatus().isCreated();
+
+        String csv = "%1$d,11144477735,No\n%1$d,98765432100,No\n".formatted(agendaId);
+        importVotes(TEXT_CSV, csv)
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.imported").isEqualTo(1)
+                .jsonPath("$.rejections[0].line").isEqualTo(1)
+                .jsonPath("$.rejections[0].reason").isEqualTo("duplicate");
+
+        // Importing the same file again changes nothing
+        importVotes(TEXT_CSV, csv)
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.imported").isEqualTo(0)
+                .jsonPath("$.rejectedByReason.duplicate").isEqualTo(2);
+
+        assertThat(countVotes()).isEqualTo(2);
+    }
+
+    @Test
+    void testNdjsonImport() {
+        String ndjson = """
+                {"agendaId": %1$d, "cpf": "11144477735", "vote": "Yes"}
+                {"agendaId": %1$d, "cpf": "98765432100", "vote": "Yes", "votedAt": "%2$s"}
+                """.formatted(agendaId, LocalDateTime.now());
+
+        importVotes(MediaType.APPLICATION_NDJSON, ndjson)
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.rows").isEqualTo(2)
+                .jsonPath("$.imported").isEqualTo(2)
+                .jsonPath("$.rejected").isEqualTo(0)
+                .jsonPath("$.rejections").isEmpty();
+
+        assertThat(countVotes()).isEqualTo(2);
+    }
+
+    @Test
+    void testUnsupportedContentTypeIsRefused() {
+        importVotes(MediaType.APPLICATION_JSON, "[]")
+                .expectStatus().isEqualTo(415);
+    }
+
+    private WebTestClient.ResponseSpec importVotes(MediaType contentType, String body) {
+        return client.post()
+                .uri("/api/v1/admin/vote-imports")
+                .contentType(contentType)
+                .bodyValue(body)
+                .exchange();
+    }
+
+    private long countVotes() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM votes WHERE agenda_id = :agendaId")
+                .bind("agendaId", agendaId)
+                .map((row, _) -> row.get("total", Long.class))
+                .one()
+                .block();
+    }
+}
@@ -0,0 +1,204 @@
+package com.rdpk.e2e;
+
+import com.rdpk.features.voting.journal.VoteJournal;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static com.rdpk.e2e.helpers.VoteTestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that votes are acknowledged from the local journal and reach the database when it is drained.
+ * The journal is only flushed by the tests, so every vote can be observed before its row exists. Voter sets are
+ * off, so repeat voters must be caught by the journal itself.
+ */
+@ActiveProfiles("vote-journal")
+class VoteJournalE2eTest extends AbstractE2eTest {
+
+    private static final Path JOURNAL_DIRECTORY = createJournalDirectory();
+
+    @Autowired
+    private VoteJournal voteJournal;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long agendaId;
+
+    @DynamicPropertySource
+    static void journalProperties(DynamicPropertyRegistry registry) {
+        registry.add("votes.journal.directory", JOURNAL_DIRECTORY::toString);
+        registry.add("votes.voter-set.enabled", () -> "false");
+    }
+
+    @BeforeEach
+    void setUp() {
+        // Votes left by the previous test must land before their agendas are truncated
+        voteJournal.drain().block(Duration.ofSeconds(10));
+        Long lastId = databaseClient.sql("SELECT last_value FROM votes_id_seq")
+                .map((row, _) -> row.get("last_value", Long.class))
+                .one()
+                .block();
+        super.setUp();
+        // The truncate restarts votes_id_seq, which would hand out again the ids the journal holds in reserve
+        databaseClient.sql("SELECT setval('votes_id_seq', :lastId)")
+                .bind("lastId", lastId)
+                .fetch()
+                .rowsUpdated()
+                .block();
+
+        agendaId = createTestAgenda("Journal Agenda", "Test Description");
+        createVotingSession(agendaId, 5);
+    }
+
+    @Test
+    void testVoteIsAcknowledgedBeforeItReachesTheDatabase() throws Exception {
+        String response = submitVote("11144477735", "Yes")
+                .expectStatus().isCreated()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+        long voteId = objectMapper.readTree(response).get("id").asLong();
+
+        assertThat(countVotes()).isZero();
+        assertThat(meterRegistry.get("votes.journal.lag").gauge().value()).isEqualTo(1);
+
+        voteJournal.drain().block(Duration.ofSeconds(10));
+
+        // Flushed under the id the client was given
+        Long storedId = databaseClient.sql("SELECT id FROM votes WHERE agenda_id = :agendaId AND cpf = :cpf")
+                .bind("agendaId", agendaId)
+                .bind("cpf", 11144477735L)
+                .map((row, _) -> row.get("id", Long.class))
+                .one()
+                .block();
+        assertThat(storedId).isEqualTo(voteId);
+        assertThat(meterRegistry.get("votes.journal.lag").gauge().value()).isZero();
+    }
+
+    @Test
+    void testRepeatVoteIsRejectedBeforeTheFlush() {
+        double conflictsBefore = meterRegistry.get("votes.journal.conflicts").counter().count();
+        submitVote("11144477735", "Yes").expectStatus().isCreated();
+
+        submitVote("11144477735", "No")
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("CPF already voted for this agenda");
+
+        voteJournal.drain().block(Duration.ofSeconds(10));
+        assertThat(countVotes()).isEqualTo(1);
+        assertThat(meterRegistry.get("votes.journal.conflicts").counter().count()).isEqualTo(conflictsBefore);
+    }
+
+    @Test
+    void testRepeatVoteIsRejectedAfterTheFlush() {
+        submitVote("11144477735", "Yes").expectStatus().isCreated();
+        voteJournal.drain().block(Duration.ofSeconds(10));
+
+        submitVote("11144477735", "No")
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("CPF already voted for this agenda");
+
+        assertThat(meterRegistry.get("votes.journal.lag").gauge().value()).isZero();
+    }
+
+    @Test
+    void testRepeatOfAVoteSavedElsewhereIsRejected() {
+        // Saved by another instance or an import, so this instance has never seen it
+        databaseClient.sql("""
+                        INSERT INTO votes (agenda_id, cpf, vote_value, voted_at)
+                        VALUES (:agendaId, 11144477735, 1, LOCALTIMESTAMP)
+                        """)
+                .bind("agendaId", agendaId)
+                .fetch()
+                .rowsUpdated()
+                .block();
+
+        submitVote("11144477735", "No")
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("CPF already voted for this agenda");
+
+        assertThat(meterRegistry.get("votes.journal.lag").gauge().value()).isZero();
+    }
+
+    @Test
+    void testBatchSkipsVotesHeldByTheJournal() {
+        submitVote("11144477735", "Yes").expectStatus().isCreated();
+
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes:batch", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("""
+                        [
+                            {"cpf": "11144477735", "vote": "No"},
+                            {"cpf": "98765432100", "vote": "Yes"}
+                        ]
+                        """)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results[0].status").isEqualTo("duplicate")
+                .jsonPath("$.results[1].status").isEqualTo("created");
+
+        voteJournal.drain().block(Duration.ofSeconds(10));
+        assertThat(countVotes()).isEqualTo(2);
+    }
+
+    @Test
+    void testVoteForASessionClosedBeforeTheFlushIsDropped() {
+        double rejectedBefore = meterRegistry.get("votes.journal.rejected").counter().count();
+        submitVote("11144477735", "Yes").expectStatus().isCreated();
+
+        // Closed by another instance while the vote was still in this journal
+        databaseClient.sql("UPDATE voting_sessions SET closed_at = LOCALTIMESTAMP WHERE agenda_id = :agendaId")
+                .bind("agendaId", agendaId)
+                .fetch()
+                .rowsUpdated()
+                .block();
+        voteJournal.drain().block(Duration.ofSeconds(10));
+
+        assertThat(countVotes()).isZero();
+        assertThat(meterRegistry.get("votes.journal.rejected").counter().count()).isEqualTo(rejectedBefore + 1);
+        assertThat(meterRegistry.get("votes.journal.lag").gauge().value()).isZero();
+    }
+
+    private WebTestClient.ResponseSpec submitVote(String cpf, String vote) {
+        return client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createVoteJson(cpf, vote))
+                .exchange();
+    }
+
+    private long countVotes() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM votes WHERE agenda_id = :agendaId")
+                .bind("agendaId", agendaId)
+                .map((row, _) -> row.get("total", Long.class))
+                .one()
+                .block();
+    }
+
+    private static Path createJournalDirectory() {
+        try {
+            return Files.createTempDirectory("vote-journal-e2e-");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.rdpk.e2e;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static com.rdpk.e2e.helpers.VoteTestData.*;
+
+/**
+ * Tests the trigger-maintained vote tallies behind the results endpoint and the audit recount.
+ */
+class VoteTallyE2eTest extends AbstractE2eTest {
+
+    private Long agendaId;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+
+        agendaId = createTestAgenda("Tally Test Agenda", "Test Description");
+        createVotingSession(agendaId, 5);
+    }
+
+    @Test
+    void testTalliesFollowSingleAndBatchVotes() {
+        submitVote("11144477735", "Yes");
+        // Duplicate is skipped by ON CONFLICT and must not be counted
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes:batch", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[" + createVoteJson("11144477735", "No") + ", "
+                        + createVoteJson("98765432100", "No") + ", "
+                        + createVoteJson("12345678909", "Yes") + "]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.created").isEqualTo(2);
+
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.yesVotes").isEqualTo(2)
+                .jsonPath("$.noVotes").isEqualTo(1);
+
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results/audit", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.talliedYesVotes").isEqualTo(2)
+                .jsonPath("$.countedYesVotes").isEqualTo(2)
+                .jsonPath("$.talliedNoVotes").isEqualTo(1)
+                .jsonPath("$.countedNoVotes").isEqualTo(1)
+                .jsonPath("$.consistent").isEqualTo(true);
+    }
+
+    @Test
+    void testDeletedVotesAreSubtracted() {
+        submitVote("11144477735", "Yes");
+        submitVote("98765432100", "No");
+
+        databaseClient.sql("DELETE FROM votes WHERE agenda_id = :agendaId AND vote_value = 1")
+                .bind("agendaId", agendaId)
+                .fetch()
+                .rowsUpdated()
+                .block();
+
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results/audit", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.talliedYesVotes").isEqualTo(0)
+                .jsonPath("$.talliedNoVotes").isEqualTo(1)
+                .jsonPath("$.consistent").isEqualTo(true);
+    }
+
+    @Test
+    void testAuditReportsDivergence() {
+        submitVote("11144477735", "Yes");
+
+        // Updates are not part of the voting flow and are not tallied
+        databaseClient.sql("UPDATE votes SET vote_value = 0 WHERE agenda_id = :agendaId")
+                .bind("agendaId", agendaId)
+                .fetch()
+                .rowsUpdated()
+                .block();
+
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results/audit", agendaId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.talliedYesVotes").isEqualTo(1)
+                .jsonPath("$.countedYesVotes").isEqualTo(0)
+                .jsonPath("$.countedNoVotes").isEqualTo(1)
+                .jsonPath("$.consistent").isEqualTo(false);
+    }
+
+    @Test
+    void testAuditWithoutSession() {
+        Long otherAgendaId = createTestAgenda("No Session Agenda", "Test Description");
+
+        client.get()
+                .uri("/api/v1/agendas/{agendaId}/results/audit", otherAgendaId)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Voting session not found");
+    }
+
+    private void submitVote(String cpf, String vote) {
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createVoteJson(cpf, vote))
+                .exchange()
+                .expectStatus().isCreated();
+    }
+}
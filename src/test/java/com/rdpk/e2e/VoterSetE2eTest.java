@@ -0,0 +1,93 @@
+package com.rdpk.e2e;
+
+import com.rdpk.features.voting.domain.Cpf;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+
+import static com.rdpk.e2e.helpers.VoteTestData.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that repeat voters are rejected from the in-memory voter sets.
+ * Votes are deleted behind the application's back, so only the in-memory check can still reject them.
+ */
+class VoterSetE2eTest extends AbstractE2eTest {
+
+    private Long agendaId;
+
+    @BeforeEach
+    void setUp() {
+        super.setUp();
+
+        agendaId = createTestAgenda("Voter Set Agenda", "Test Description");
+        createVotingSession(agendaId, 5);
+    }
+
+    @Test
+    void testRepeatVoteIsRejectedFromMemory() {
+        submitVote("11144477735", "Yes").expectStatus().isCreated();
+        deleteVote("11144477735");
+
+        submitVote("11144477735", "No")
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("CPF already voted for this agenda");
+    }
+
+    @Test
+    void testSetIsSeededWithVotesAlreadyInTheDatabase() throws InterruptedException {
+        // Written straight to the database, as another instance would
+        databaseClient.sql("INSERT INTO votes (agenda_id, cpf, vote_value) VALUES (:agendaId, 98765432100, 0)")
+                .bind("agendaId", agendaId)
+                .fetch()
+                .rowsUpdated()
+                .block();
+
+        // The first vote on the agenda starts seeding its set
+        submitVote("11144477735", "Yes").expectStatus().isCreated();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!voterSets.hasVoted(agendaId, Cpf.parse("98765432100")) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(voterSets.hasVoted(agendaId, Cpf.parse("98765432100"))).isTrue();
+        deleteVote("98765432100");
+
+        submitVote("98765432100", "Yes").expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testOtherAgendasAreNotAffected() {
+        Long otherAgendaId = createTestAgenda("Other Agenda", "Test Description");
+        createVotingSession(otherAgendaId, 5);
+
+        submitVote("11144477735", "Yes").expectStatus().isCreated();
+
+        client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes", otherAgendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createVoteJson("11144477735", "Yes"))
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    private WebTestClient.ResponseSpec submitVote(String cpf, String vote) {
+        return client.post()
+                .uri("/api/v1/agendas/{agendaId}/votes", agendaId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(createVoteJson(cpf, vote))
+                .exchange();
+    }
+
+    private void deleteVote(String cpf) {
+        databaseClient.sql("DELETE FROM votes WHERE agenda_id = :agendaId AND cpf = :cpf")
+                .bind("agendaId", agendaId)
+                .bind("cpf", Cpf.parse(cpf))
+                .fetch()
+                .rowsUpdated()
+                .block();
+    }
+}
@@ -108,4 +108,26 @@ class VotingApiStrictCpfTest extends AbstractE2eTest {
                 .expectBody()
                 .jsonPath("$.error").isEqualTo("CPF is not able to vote");
     }
+
+    @Test
+    void testBatchCpfValidationReportsStatusPerCpf() {
+        client.post()
+                .uri("/api/v1/cpf-validation/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[\"11144477735\", \"12345678901\"]")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results.11144477735.status").isEqualTo("ABLE_TO_VOTE")
+                .jsonPath("$.results.12345678901.status").isEqualTo("UNABLE_TO_VOTE");
+
+        client.post()
+                .uri("/api/v1/cpf-validation/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("[]")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("At least one CPF is required");
+    }
 }
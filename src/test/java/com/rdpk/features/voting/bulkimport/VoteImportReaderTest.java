@@ -0,0 +1,175 @@
+package com.rdpk.features.voting.bulkimport;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.rdpk.features.voting.repository.VoteImportMerge;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Tests parsing import lines and the binary COPY data they are encoded to.
+ */
+class VoteImportReaderTest {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Test
+    void testCsvRowsAreEncoded() {
+        VoteImportReader reader = new VoteImportReader(VoteImportFormat.CSV, JSON, 64 * 1024, 100);
+
+        List<CopyRow> rows = decode(reader.copyData(Flux.just(
+                "agenda_id,cpf,vote,voted_at",
+                "1,11144477735,Yes,2025-03-01T12:00:00.123456",
+                "",
+                "\"2\", \"98765432100\" ,no\r",
+                "3,12345678909,YES,")));
+
+        assertThat(rows).containsExactly(
+                new CopyRow(2, 1, 11144477735L, (short) 1, VoteCopyEncoder.micros(LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_000))),
+                new CopyRow(4, 2, 98765432100L, (short) 0, null),
+                new CopyRow(5, 3, 12345678909L, (short) 1, null));
+    }
+
+    @Test
+    void testUnreadableLinesAreRejectedWithTheirLine() {
+        VoteImportReader reader = new VoteImportReader(VoteImportFormat.CSV, JSON, 64 * 1024, 100);
+
+        List<CopyRow> rows = decode(reader.copyData(Flux.just(
+                "1,11144477735,Yes",
+                "1,11144477736,Yes", // Wrong check digit
+                "x,98765432100,Yes",
+                "1,98765432100,Maybe",
+                "1,98765432100,Yes,yesterday",
+                "1,98765432100",
+                "1,12345678909,No")));
+
+        assertThat(rows).extracting(CopyRow::line).containsExactly(1L, 7L);
+        VoteImportReport report = reader.report(new VoteImportMerge(2, Map.of(), List.of()), Duration.ofMillis(10));
+        assertThat(report.rows()).isEqualTo(7);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(5);
+        assertThat(report.rejectedByReason()).containsExactly(Map.entry("invalid", 5L));
+        assertThat(report.rejections())
+                .extracting(VoteImportRejection::line, VoteImportRejection::cpf)
+                .containsExactly(
+                        tuple(2L, "11144477736"),
+                        tuple(3L, "98765432100"),
+                        tuple(4L, "98765432100"),
+                        tuple(5L, "98765432100"),
+                        tuple(6L, null));
+    }
+
+    @Test
+    void testNdjsonRowsAreEncoded() {
+        VoteImportReader reader = new VoteImportReader(VoteImportFormat.NDJSON, JSON, 64 * 1024, 100);
+        OffsetDateTime votedAt = OffsetDateTime.parse("2025-03-01T12:00:00Z");
+
+        List<CopyRow> rows = decode(reader.copyData(Flux.just(
+                "{\"agendaId\": 1, \"cpf\": \"11144477735\", \"vote\": \"Yes\", \"votedAt\": \"2025-03-01T12:00:00Z\"}",
+                "{\"agendaId\": \"2\", \"cpf\": \"98765432100\", \"vote\": \"No\", \"source\": {\"kiosk\": 7}}",
+                "{\"agendaId\": 1, \"cpf\": \"12345678909\"}",
+                "{\"agendaId\": 1, \"cpf\": \"12345678909\", \"vote\": \"No\"} {}",
+                "not json")));
+
+        assertThat(rows).containsExactly(
+                new CopyRow(1, 1, 11144477735L, (short) 1, VoteCopyEncoder.micros(
+                        votedAt.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime())),
+                new CopyRow(2, 2, 98765432100L, (short) 0, null));
+        VoteImportReport report = reader.report(new VoteImportMerge(2, Map.of(), List.of()), Duration.ZERO);
+        assertThat(report.rejections()).extracting(VoteImportRejection::line).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    void testRowsSpanManyChunks() {
+        VoteImportReader reader = new VoteImportReader(VoteImportFormat.CSV, JSON, 1024, 100);
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 1000; i++) {
+            lines.add(i + ",11144477735,Yes");
+        }
+
+        List<ByteBuf> chunks = reader.copyData(Flux.fromIterable(lines)).collectList().block();
+
+        // About 48 bytes of binary COPY per row
+        assertThat(chunks).hasSizeGreaterThan(40);
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.readableBytes()).isLessThanOrEqualTo(1024));
+        assertThat(decode(Flux.fromIterable(chunks))).extracting(CopyRow::agendaId)
+                .containsExactlyElementsOf(lines.stream().map(line -> Long.parseLong(line.split(",")[0])).toList());
+    }
+
+    @Test
+    void testReportListsFirstRejectionsOfBothKinds() {
+        VoteImportReader reader = new VoteImportReader(VoteImportFormat.CSV, JSON, 64 * 1024, 3);
+        decode(reader.copyData(Flux.just("1,11144477735,Yes", "bad", "1,98765432100,No", "bad", "bad")));
+
+        VoteImportMerge merge = new VoteImportMerge(2,
+                Map.of(VoteImportMerge.Reason.DUPLICATE, 1L, VoteImportMerge.Reason.NO_SESSION, 1L),
+                List.of(new VoteImportMerge.Rejection(1, 11144477735L, VoteImportMerge.Reason.DUPLICATE),
+                        new VoteImportMerge.Rejection(3, 98765432100L, VoteImportMerge.Reason.NO_SESSION)));
+        VoteImportReport report = reader.report(merge, Duration.ofSeconds(1));
+
+        assertThat(report.imported()).isZero();
+        assertThat(report.rejected()).isEqualTo(5);
+        assertThat(report.rejectedByReason()).containsEntry("invalid", 3L)
+                .containsEntry("duplicate", 1L)
+                .containsEntry("no_session", 1L);
+        assertThat(report.rejections())
+                .extracting(VoteImportRejection::line, VoteImportRejection::reason)
+                .containsExactly(
+                        tuple(1L, VoteImportRejectionReason.DUPLICATE),
+                        tuple(2L, VoteImportRejectionReason.INVALID),
+                        tuple(3L, VoteImportRejectionReason.NO_SESSION));
+        assertThat(report.rowsPerSecond()).isEqualTo(5);
+    }
+
+    // Reads back binary COPY data: signature, header, rows, trailer
+    private static List<CopyRow> decode(Flux<ByteBuf> data) {
+        ByteBuf all = Unpooled.wrappedBuffer(data.collectList().block().toArray(ByteBuf[]::new));
+        byte[] bytes = new byte[all.readableBytes()];
+        all.readBytes(bytes);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+
+        byte[] signature = new byte[11];
+        buffer.get(signature);
+        assertThat(Arrays.copyOf(signature, 6)).isEqualTo("PGCOPY".getBytes(StandardCharsets.US_ASCII));
+        assertThat(buffer.getInt()).isZero();
+        assertThat(buffer.getInt()).isZero();
+
+        List<CopyRow> rows = new ArrayList<>();
+        for (short fields = buffer.getShort(); fields != -1; fields = buffer.getShort()) {
+            assertThat(fields).isEqualTo((short) 5);
+            long line = longField(buffer);
+            long agendaId = longField(buffer);
+            long cpf = longField(buffer);
+            assertThat(buffer.getInt()).isEqualTo(Short.BYTES);
+            short vote = buffer.getShort();
+            int length = buffer.getInt();
+            Long votedAt = length == -1 ? null : buffer.getLong();
+            rows.add(new CopyRow(line, agendaId, cpf, vote, votedAt));
+        }
+        assertThat(buffer.hasRemaining()).isFalse();
+        return rows;
+    }
+
+    private static long longField(ByteBuffer buffer) {
+        assertThat(buffer.getInt()).isEqualTo(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    private record CopyRow(long line, long agendaId, long cpf, short vote, Long votedAtMicros) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import com.rdpk.config.CpfValidationConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests TTLs, stale serving and failure handling of the CPF validation cache with a controllable clock.
+ */
+class CachingCpfValidationServiceTest {
+
+    private static final String CPF = "11144477735";
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger validatorCalls = new AtomicInteger();
+    private final AtomicReference<Mono<CpfValidationResponse>> validatorResult = new AtomicReference<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.ofDefaults("cpfValidationTest");
+
+    private CachingCpfValidationService service;
+
+    @BeforeEach
+    void setUp() {
+        CpfValidationConfig.Cache config = new CpfValidationConfig.Cache();
+        config.setAbleTtl(Duration.ofMinutes(10));
+        config.setUnableTtl(Duration.ofMinutes(1));
+        config.setMaxStale(Duration.ofMinutes(30));
+
+        validatorResult.set(Mono.just(new CpfValidationResponse("ABLE_TO_VOTE")));
+        service = new CachingCpfValidationService(cpf -> {
+            validatorCalls.incrementAndGet();
+            return validatorResult.get();
+        }, circuitBreaker, config, meterRegistry, nanos::get);
+    }
+
+    @Test
+    void testFreshEntryIsServedWithoutCallingValidator() {
+        assertThat(status()).isEqualTo("ABLE_TO_VOTE");
+        advance(Duration.ofMinutes(9));
+        assertThat(status()).isEqualTo("ABLE_TO_VOTE");
+
+        assertThat(validatorCalls).hasValue(1);
+        assertThat(requests("hit")).isEqualTo(1);
+        assertThat(requests("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void testStaleEntryIsServedWhileRefreshing() {
+        status();
+        validatorResult.set(Mono.just(new CpfValidationResponse("UNABLE_TO_VOTE")));
+        advance(Duration.ofMinutes(11));
+
+        // Old answer now, refreshed answer on the next call
+        assertThat(status()).isEqualTo("ABLE_TO_VOTE");
+        assertThat(status()).isEqualTo("UNABLE_TO_VOTE");
+        assertThat(validatorCalls).hasValue(2);
+        assertThat(requests("stale")).isEqualTo(1);
+    }
+
+    @Test
+    void testStaleEntryIsServedWhileCircuitIsOpen() {
+        status();
+        advance(Duration.ofMinutes(20));
+        circuitBreaker.transitionToOpenState();
+
+        assertThat(status()).isEqualTo("ABLE_TO_VOTE");
+        assertThat(validatorCalls).hasValue(1);
+    }
+
+    @Test
+    void testUnableResultsExpireSooner() {
+        validatorResult.set(Mono.just(new CpfValidationResponse("UNABLE_TO_VOTE")));
+        status();
+        advance(Duration.ofMinutes(2));
+        status();
+
+        assertThat(requests("stale")).isEqualTo(1);
+    }
+
+    @Test
+    void testFailuresFallBackAndAreNotCached() {
+        validatorResult.set(Mono.error(new RuntimeException("CPF service unavailable")));
+        assertThat(status()).isEqualTo("UNABLE_TO_VOTE");
+
+        validatorResult.set(Mono.just(new CpfValidationResponse("ABLE_TO_VOTE")));
+        assertThat(status()).isEqualTo("ABLE_TO_VOTE");
+        assertThat(validatorCalls).hasValue(2);
+    }
+
+    @Test
+    void testEntriesAreDroppedAfterMaxStale() {
+        status();
+        advance(Duration.ofMinutes(41));
+        status();
+
+        assertThat(requests("miss")).isEqualTo(2);
+    }
+
+    private String status() {
+        return service.validateCpf(CPF).block().status();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("cpf.validation.cache.requests").tag("result", result).counter().count();
+    }
+}
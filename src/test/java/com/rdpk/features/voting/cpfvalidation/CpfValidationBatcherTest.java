@@ -0,0 +1,64 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import com.rdpk.config.CpfValidationConfig;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that single validations are gathered into batch calls.
+ */
+class CpfValidationBatcherTest {
+
+    private final List<List<String>> batchCalls = new CopyOnWriteArrayList<>();
+
+    @Test
+    void testConcurrentValidationsShareOneBatchCall() {
+        CpfValidationBatcher batcher = new CpfValidationBatcher(cpfs -> {
+            batchCalls.add(cpfs);
+            return Mono.just(cpfs.stream().collect(Collectors.toMap(cpf -> cpf,
+                    cpf -> new CpfValidationResponse(cpf.startsWith("1") ? "ABLE_TO_VOTE" : "UNABLE_TO_VOTE"))));
+        }, batching(10, Duration.ofMillis(50)));
+
+        Map<String, String> statuses = Flux.just("11144477735", "98765432100", "11144477735")
+                .flatMap(cpf -> batcher.validate(cpf).map(response -> Map.entry(cpf, response.status())))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .block(Duration.ofSeconds(5));
+
+        assertThat(statuses).containsEntry("11144477735", "ABLE_TO_VOTE")
+                .containsEntry("98765432100", "UNABLE_TO_VOTE");
+        // One call, duplicate CPFs sent once
+        assertThat(batchCalls).containsExactly(List.of("11144477735", "98765432100"));
+    }
+
+    @Test
+    void testFailedBatchFailsEveryValidation() {
+        CpfValidationBatcher batcher = new CpfValidationBatcher(
+                _ -> Mono.error(new RuntimeException("CPF service unavailable")), batching(2, Duration.ofMillis(50)));
+
+        List<Throwable> errors = Flux.just("11144477735", "98765432100")
+                .flatMap(cpf -> batcher.validate(cpf)
+                        .map(_ -> (Throwable) new AssertionError("expected failure"))
+                        .onErrorResume(Mono::just))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertThat(errors).hasSize(2).allMatch(error -> "CPF service unavailable".equals(error.getMessage()));
+    }
+
+    private static CpfValidationConfig.Batching batching(int maxSize, Duration window) {
+        CpfValidationConfig.Batching batching = new CpfValidationConfig.Batching();
+        batching.setEnabled(true);
+        batching.setMaxSize(maxSize);
+        batching.setWindow(window);
+        return batching;
+    }
+}
@@ -0,0 +1,74 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that concurrent validations of one CPF share a single upstream call.
+ */
+class SingleFlightCpfValidationServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Map<String, Sinks.One<CpfValidationResponse>> pending = new ConcurrentHashMap<>();
+
+    private final SingleFlightCpfValidationService service = new SingleFlightCpfValidationService(cpf -> {
+        upstreamCalls.incrementAndGet();
+        Sinks.One<CpfValidationResponse> sink = Sinks.one();
+        pending.put(cpf, sink);
+        return sink.asMono();
+    }, meterRegistry);
+
+    @Test
+    void testConcurrentCallsShareOneUpstreamCall() {
+        var first = service.validateCpf("11144477735").toFuture();
+        var second = service.validateCpf("11144477735").toFuture();
+        var other = service.validateCpf("98765432100").toFuture();
+
+        pending.get("11144477735").tryEmitValue(new CpfValidationResponse("ABLE_TO_VOTE"));
+        pending.get("98765432100").tryEmitValue(new CpfValidationResponse("UNABLE_TO_VOTE"));
+
+        assertThat(first.join().status()).isEqualTo("ABLE_TO_VOTE");
+        assertThat(second.join().status()).isEqualTo("ABLE_TO_VOTE");
+        assertThat(other.join().status()).isEqualTo("UNABLE_TO_VOTE");
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(calls("coalesced")).isEqualTo(1);
+        assertThat(calls("upstream")).isEqualTo(2);
+    }
+
+    @Test
+    void testCompletedCallIsNotReused() {
+        var first = service.validateCpf("11144477735").toFuture();
+        pending.get("11144477735").tryEmitValue(new CpfValidationResponse("ABLE_TO_VOTE"));
+        first.join();
+
+        service.validateCpf("11144477735").toFuture();
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(calls("coalesced")).isZero();
+    }
+
+    @Test
+    void testErrorIsSharedAndThenCleared() {
+        var first = service.validateCpf("11144477735").toFuture();
+        var second = service.validateCpf("11144477735").toFuture();
+        pending.get("11144477735").tryEmitError(new RuntimeException("CPF service unavailable"));
+
+        assertThat(first).isCompletedExceptionally();
+        assertThat(second).isCompletedExceptionally();
+
+        service.validateCpf("11144477735").toFuture();
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    private double calls(String result) {
+        return meterRegistry.get("cpf.validation.single.flight").tag("result", result).counter().count();
+    }
+}
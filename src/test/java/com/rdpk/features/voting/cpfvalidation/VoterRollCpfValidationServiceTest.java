@@ -0,0 +1,145 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import com.rdpk.config.CpfValidationConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests answering from the voter roll, alone and in front of another validator, and swapping the roll at runtime.
+ */
+class VoterRollCpfValidationServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> delegated = new CopyOnWriteArrayList<>();
+    private final CpfValidationService next = cpf -> {
+        delegated.add(cpf);
+        return Mono.just(new CpfValidationResponse("ABLE_TO_VOTE"));
+    };
+    private VoterRollStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.stop();
+        }
+    }
+
+    @Test
+    void testAuthoritativeRollAnswersAlone() throws IOException {
+        VoterRollCpfValidationService service = new VoterRollCpfValidationService(
+                start("11144477735", "98765432100"), null, meterRegistry);
+
+        assertThat(status(service, "11144477735")).isEqualTo("ABLE_TO_VOTE");
+        assertThat(status(service, "12345678909")).isEqualTo("UNABLE_TO_VOTE");
+        assertThat(status(service, "not-a-cpf")).isEqualTo("UNABLE_TO_VOTE");
+        assertThat(meterRegistry.counter("cpf.validation.roll.requests", "result", "hit").count()).isEqualTo(1);
+        assertThat(meterRegistry.counter("cpf.validation.roll.requests", "result", "miss").count()).isEqualTo(2);
+    }
+
+    @Test
+    void testFirstTierDelegatesOnlyMisses() throws IOException {
+        VoterRollCpfValidationService service = new VoterRollCpfValidationService(
+                start("11144477735"), next, meterRegistry);
+
+        assertThat(status(service, "11144477735")).isEqualTo("ABLE_TO_VOTE");
+        assertThat(delegated).isEmpty();
+        assertThat(status(service, "12345678909")).isEqualTo("ABLE_TO_VOTE");
+        assertThat(delegated).containsExactly("12345678909");
+
+        delegated.clear();
+        Map<String, CpfValidationResponse> results =
+                service.validateCpfs(List.of("11144477735", "12345678909", "98765432100")).block();
+        assertThat(results).containsOnlyKeys("11144477735", "12345678909", "98765432100");
+        assertThat(delegated).containsExactlyInAnyOrder("12345678909", "98765432100");
+    }
+
+    @Test
+    void testReloadSwapsTheRoll() throws IOException {
+        VoterRollCpfValidationService service = new VoterRollCpfValidationService(
+                start("11144477735"), null, meterRegistry);
+
+        replaceRoll("98765432100", "12345678909");
+        VoterRollStatus status = store.reload();
+
+        assertThat(status.size()).isEqualTo(2);
+        assertThat(status(service, "11144477735")).isEqualTo("UNABLE_TO_VOTE");
+        assertThat(status(service, "98765432100")).isEqualTo("ABLE_TO_VOTE");
+    }
+
+    @Test
+    void testChangedFileIsPickedUpByPolling() throws IOException, InterruptedException {
+        CpfValidationConfig config = config();
+        config.getRoll().setPollInterval(Duration.ofMillis(50));
+        writeRoll(directory.resolve("roll.txt"), "11144477735");
+        store = new VoterRollStore(config, meterRegistry);
+        store.start();
+
+        replaceRoll("11144477735", "98765432100");
+        Files.setLastModifiedTime(directory.resolve("roll.txt"), FileTime.from(Instant.now().plusSeconds(60)));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (store.status().size() != 2 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(store.status().size()).isEqualTo(2);
+        assertThat(store.contains(98765432100L)).isTrue();
+    }
+
+    @Test
+    void testFailedReloadKeepsTheCurrentRoll() throws IOException {
+        start("11144477735");
+        Files.writeString(directory.resolve("roll.txt"), "garbage\n");
+
+        assertThatThrownBy(store::reload).isInstanceOf(IOException.class);
+        assertThat(store.contains(11144477735L)).isTrue();
+    }
+
+    private VoterRollStore start(String... cpfs) throws IOException {
+        writeRoll(directory.resolve("roll.txt"), cpfs);
+        store = new VoterRollStore(config(), meterRegistry);
+        store.start();
+        return store;
+    }
+
+    private CpfValidationConfig config() {
+        CpfValidationConfig config = new CpfValidationConfig();
+        config.getRoll().setEnabled(true);
+        config.getRoll().setPath(directory.resolve("roll.txt").toString());
+        config.getRoll().setPollInterval(Duration.ZERO);
+        return config;
+    }
+
+    // Written beside the roll and renamed over it, as an operator would
+    private void replaceRoll(String... cpfs) throws IOException {
+        Path staged = writeRoll(directory.resolve("roll.txt.new"), cpfs);
+        Files.move(staged, directory.resolve("roll.txt"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Path writeRoll(Path file, String... cpfs) throws IOException {
+        return Files.write(file, List.of(cpfs));
+    }
+
+    private static String status(CpfValidationService service, String cpf) {
+        return service.validateCpf(cpf).block().status();
+    }
+}
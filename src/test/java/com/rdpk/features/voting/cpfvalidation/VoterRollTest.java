@@ -0,0 +1,103 @@
+package com.rdpk.features.voting.cpfvalidation;
+
+import com.rdpk.features.voting.domain.Cpf;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests loading voter rolls from text and .bin files and searching them against a java.util set.
+ */
+class VoterRollTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testTextRollMatchesSet() throws IOException {
+        Random random = new Random(42);
+        Set<Long> expected = new TreeSet<>();
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            long cpf = random.nextLong(100_000_000_000L);
+            expected.add(cpf);
+            lines.add(Cpf.format(cpf));
+        }
+        lines.add(lines.getFirst()); // Duplicates and blank lines are ignored
+        lines.add("");
+        Path source = Files.write(directory.resolve("roll.txt"), lines);
+
+        try (VoterRoll roll = VoterRoll.load(source)) {
+            assertThat(roll.size()).isEqualTo(expected.size());
+            for (long cpf : expected) {
+                assertThat(roll.contains(cpf)).isTrue();
+            }
+            for (int i = 0; i < 100_000; i++) {
+                long cpf = random.nextLong(100_000_000_000L);
+                assertThat(roll.contains(cpf)).isEqualTo(expected.contains(cpf));
+            }
+            assertThat(roll.contains(Cpf.INVALID)).isFalse();
+        }
+    }
+
+    @Test
+    void testBinRollIsMappedAsIs() throws IOException {
+        Path source = writeBin("roll.bin", 0L, 11144477735L, 99_999_999_999L);
+
+        try (VoterRoll roll = VoterRoll.load(source)) {
+            assertThat(roll.size()).isEqualTo(3);
+            assertThat(roll.contains(0L)).isTrue();
+            assertThat(roll.contains(11144477735L)).isTrue();
+            assertThat(roll.contains(99_999_999_999L)).isTrue();
+            assertThat(roll.contains(11144477736L)).isFalse();
+        }
+    }
+
+    @Test
+    void testEmptyRollContainsNothing() throws IOException {
+        try (VoterRoll roll = VoterRoll.load(Files.createFile(directory.resolve("empty.bin")))) {
+            assertThat(roll.size()).isZero();
+            assertThat(roll.contains(11144477735L)).isFalse();
+        }
+    }
+
+    @Test
+    void testMalformedRollsAreRefused() throws IOException {
+        Path unsorted = writeBin("unsorted.bin", 11144477735L, 98765432100L, 12345678909L);
+        assertThatThrownBy(() -> VoterRoll.load(unsorted))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("at entry 2");
+
+        Path truncated = Files.write(directory.resolve("truncated.bin"), new byte[12]);
+        assertThatThrownBy(() -> VoterRoll.load(truncated))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("8-byte");
+
+        Path text = Files.write(directory.resolve("roll.txt"), List.of("11144477735", "111.444.777-35"));
+        assertThatThrownBy(() -> VoterRoll.load(text))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("line 2");
+    }
+
+    private Path writeBin(String name, long... cpfs) throws IOException {
+        Path file = directory.resolve(name);
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            for (long cpf : cpfs) {
+                out.writeLong(cpf);
+            }
+        }
+        return file;
+    }
+}
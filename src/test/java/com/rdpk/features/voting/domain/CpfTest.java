@@ -0,0 +1,61 @@
+package com.rdpk.features.voting.domain;
+
+import br.com.caelum.stella.validation.CPFValidator;
+import com.rdpk.e2e.helpers.CpfGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks Cpf against the regex format check and caelum-stella, which it replaces on the hot path.
+ */
+class CpfTest {
+
+    private final CPFValidator stella = new CPFValidator();
+
+    @Test
+    void testMatchesStellaAndRegexOnGeneratedInput() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            // Mix valid CPFs, random digit strings and strings with a non-digit
+            String cpf = switch (i % 3) {
+                case 0 -> CpfGenerator.generateValidCpf();
+                case 1 -> String.format("%011d", random.nextLong(100_000_000_000L));
+                default -> String.format("%011d", random.nextLong(100_000_000_000L)).replace((char) ('0' + i % 10), 'x');
+            };
+
+            assertThat(Cpf.isWellFormed(cpf)).as(cpf).isEqualTo(cpf.matches("\\d{11}"));
+            assertThat(Cpf.isValid(cpf)).as(cpf).isEqualTo(isValidWithStella(cpf));
+        }
+    }
+
+    @Test
+    void testRejectsRepeatedDigitsAndBadLengths() {
+        for (char digit = '0'; digit <= '9'; digit++) {
+            assertThat(Cpf.isValid(String.valueOf(digit).repeat(11))).isFalse();
+        }
+        assertThat(Cpf.parse(null)).isEqualTo(Cpf.INVALID);
+        assertThat(Cpf.parse("1114447773")).isEqualTo(Cpf.INVALID);
+        assertThat(Cpf.parse("111444777350")).isEqualTo(Cpf.INVALID);
+        assertThat(Cpf.parse("111.444.777-35")).isEqualTo(Cpf.INVALID);
+        assertThat(Cpf.parse("１１１４４４７７７３５")).isEqualTo(Cpf.INVALID); // Full-width digits
+    }
+
+    @Test
+    void testPacksAndFormatsWithLeadingZeros() {
+        assertThat(Cpf.parseValid("11144477735")).isEqualTo(11144477735L);
+        assertThat(Cpf.parse("00000000191")).isEqualTo(191L);
+        assertThat(Cpf.format(191L)).isEqualTo("00000000191");
+        assertThat(Cpf.format(Cpf.parseValid("52998224725"))).isEqualTo("52998224725");
+    }
+
+    private boolean isValidWithStella(String cpf) {
+        try {
+            return stella.isEligible(cpf) && stella.invalidMessagesFor(cpf).isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.rdpk.features.voting.journal;
+
+import com.rdpk.features.voting.domain.Vote;
+import com.rdpk.features.voting.domain.VoteChoice;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests appending to, checkpointing and reopening the on-disk vote journal, including after a torn write.
+ */
+class VoteJournalFileTest {
+
+    private static final long SEGMENT_BYTES = 10L * VoteJournalFile.RECORD_BYTES;
+
+    @TempDir
+    Path directory;
+
+    private final Timer fsyncTimer = Timer.builder("votes.journal.fsync").register(new SimpleMeterRegistry());
+
+    @Test
+    void testReopenRecoversRecordsPastCheckpoint() throws IOException {
+        List<Vote> votes = votes(1, 5);
+        try (VoteJournalFile file = open()) {
+            assertThat(file.takeRecovered()).isEmpty();
+            assertThat(file.append(votes.subList(0, 3))).isEqualTo(1);
+            assertThat(file.append(votes.subList(3, 5))).isEqualTo(4);
+            file.checkpoint(2);
+        }
+
+        try (VoteJournalFile file = open()) {
+            List<JournalEntry> recovered = file.takeRecovered();
+            assertThat(recovered).extracting(JournalEntry::seq).containsExactly(3L, 4L, 5L);
+            assertThat(recovered).extracting(JournalEntry::vote).containsExactlyElementsOf(votes.subList(2, 5));
+            assertThat(file.takeRecovered()).isEmpty();
+            // Numbering carries on after the recovered records
+            assertThat(file.append(votes(6, 1))).isEqualTo(6);
+        }
+    }
+
+    @Test
+    void testTornTailIsCutOff() throws IOException {
+        try (VoteJournalFile file = open()) {
+            file.append(votes(1, 3));
+        }
+        Path segment = segments().getFirst();
+        // Half a record, as left by a crash mid-write
+        Files.write(segment, new byte[VoteJournalFile.RECORD_BYTES / 2], StandardOpenOption.APPEND);
+
+        try (VoteJournalFile file = open()) {
+            assertThat(file.takeRecovered()).extracting(JournalEntry::seq).containsExactly(1L, 2L, 3L);
+            assertThat(Files.size(segment)).isEqualTo(3L * VoteJournalFile.RECORD_BYTES);
+            assertThat(file.append(votes(4, 1))).isEqualTo(4);
+        }
+        try (VoteJournalFile file = open()) {
+            assertThat(file.takeRecovered()).extracting(JournalEntry::seq).containsExactly(1L, 2L, 3L, 4L);
+        }
+    }
+
+    @Test
+    void testCorruptRecordInLastSegmentEndsIt() throws IOException {
+        try (VoteJournalFile file = open()) {
+            file.append(votes(1, 3));
+        }
+        flipByte(segments().getFirst(), VoteJournalFile.RECORD_BYTES + 20);
+
+        try (VoteJournalFile file = open()) {
+            assertThat(file.takeRecovered()).extracting(JournalEntry::seq).containsExactly(1L);
+        }
+    }
+
+    @Test
+    void testSegmentsRollAndAreDeletedOnceCheckpointed() throws IOException {
+        try (VoteJournalFile file = open()) {
+            for (int i = 0; i < 25; i++) {
+                file.append(votes(i + 1, 1));
+            }
+            assertThat(segments()).hasSize(3);
+
+            file.checkpoint(15);
+            assertThat(segments()).hasSize(2);
+
+            file.checkpoint(25);
+            assertThat(segments()).hasSize(1); // The active segment stays
+        }
+
+        try (VoteJournalFile file = open()) {
+            assertThat(file.takeRecovered()).isEmpty();
+            assertThat(file.append(votes(26, 1))).isEqualTo(26);
+        }
+    }
+
+    @Test
+    void testDamageBeforeLastSegmentRefusesToOpen() throws IOException {
+        try (VoteJournalFile file = open()) {
+            for (int i = 0; i < 15; i++) {
+                file.append(votes(i + 1, 1));
+            }
+        }
+        flipByte(segments().getFirst(), 3 * VoteJournalFile.RECORD_BYTES + 30);
+
+        assertThatThrownBy(this::open)
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("is damaged at byte " + 3 * VoteJournalFile.RECORD_BYTES);
+    }
+
+    private VoteJournalFile open() throws IOException {
+        return new VoteJournalFile(directory, SEGMENT_BYTES, fsyncTimer);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".journal")).sorted().toList();
+        }
+    }
+
+    private static void flipByte(Path segment, long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            channel.read(buffer, position);
+            buffer.put(0, (byte) ~buffer.get(0));
+            channel.write(buffer.rewind(), position);
+        }
+    }
+
+    private static List<Vote> votes(long firstId, int count) {
+        List<Vote> votes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            long id = firstId + i;
+            votes.add(new Vote(id, 7L, 11144477735L + id, id % 2 == 0 ? VoteChoice.NO : VoteChoice.YES,
+                    LocalDateTime.of(2025, 3, 1, 12, 0, 0, (int) id * 1_000)));
+        }
+        return votes;
+    }
+}
@@ -0,0 +1,173 @@
+package com.rdpk.features.voting.repository;
+
+import com.rdpk.e2e.config.SharedPostgresContainer;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the V10 online partitioning of votes (start, chunked copy, swap) with votes arriving in between,
+ * in a freshly migrated database of its own inside the shared container.
+ */
+class VotePartitioningMigrationTest {
+
+    private static final String DATABASE = "votes_partitioning_test";
+    private static final Pattern PARTITION = Pattern.compile("votes_p\\d{2}");
+
+    private final PostgreSQLContainer<?> postgres = SharedPostgresContainer.getInstance();
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        postgres.start();
+        try (Connection admin = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = admin.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + DATABASE);
+            statement.execute("CREATE DATABASE " + DATABASE);
+        }
+        String url = postgres.getJdbcUrl().replace("/" + postgres.getDatabaseName(), "/" + DATABASE);
+        Flyway.configure()
+                .dataSource(url, postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(url, postgres.getUsername(), postgres.getPassword());
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        connection.close();
+        try (Connection admin = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+             Statement statement = admin.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + DATABASE);
+        }
+    }
+
+    @Test
+    void testOnlineMigrationKeepsEveryVoteAndTally() throws SQLException {
+        execute("INSERT INTO agendas (title, description) SELECT 'Agenda ' || n, 'Test' FROM generate_series(1, 20) AS n");
+        insertVotes(1, 1000); // Before the migration starts
+
+        assertThat(queryLong("SELECT votes_partition_start()")).isEqualTo(1000);
+        insertVotes(1001, 1200); // Mirrored while the copy runs
+        long remaining = queryLong("SELECT votes_partition_copy_chunk(300)");
+        insertVotes(1201, 1300);
+        while (remaining > 0) {
+            remaining = queryLong("SELECT votes_partition_copy_chunk(300)");
+        }
+        insertVotes(1301, 1400);
+        execute("SELECT votes_partition_swap()");
+        insertVotes(1401, 1500); // After the swap, through the tally triggers on the new table
+
+        assertThat(queryString("SELECT relkind::TEXT FROM pg_class WHERE oid = 'votes'::regclass")).isEqualTo("p");
+        assertThat(queryLong("SELECT COUNT(*) FROM votes")).isEqualTo(1500);
+        assertThat(queryLong("SELECT COUNT(*) FROM votes_unpartitioned")).isEqualTo(1400);
+        assertThat(queryLong("SELECT COUNT(DISTINCT id) FROM votes")).isEqualTo(1500);
+        assertThat(queryLong("""
+                SELECT COUNT(*) FROM (
+                    SELECT agenda_id, COUNT(*) FILTER (WHERE vote_value = 1) AS yes, COUNT(*) FILTER (WHERE vote_value = 0) AS no
+                    FROM votes GROUP BY agenda_id
+                ) counted
+                FULL JOIN (
+                    SELECT agenda_id, SUM(yes_votes) AS yes, SUM(no_votes) AS no
+                    FROM vote_tallies GROUP BY agenda_id
+                ) tallied USING (agenda_id)
+                WHERE counted.yes IS DISTINCT FROM tallied.yes OR counted.no IS DISTINCT FROM tallied.no
+                """)).isZero();
+    }
+
+    @Test
+    void testPartitionedVotesKeepConstraintsAndPruneToOnePartition() throws SQLException {
+        migrateEmpty();
+        execute("INSERT INTO agendas (title, description) VALUES ('Pruning', 'Test')");
+        long agendaId = queryLong("SELECT MAX(id) FROM agendas");
+
+        execute("INSERT INTO votes (agenda_id, cpf, vote_value) VALUES (" + agendaId + ", 11144477735, 1)");
+        execute("INSERT INTO votes (agenda_id, cpf, vote_value) VALUES (" + agendaId + ", 11144477735, 0) ON CONFLICT (agenda_id, cpf) DO NOTHING");
+        assertThat(queryLong("SELECT COUNT(*) FROM votes WHERE agenda_id = " + agendaId)).isEqualTo(1);
+        assertThatThrownBy(() -> execute("INSERT INTO votes (agenda_id, cpf, vote_value) VALUES (" + agendaId + ", 11144477735, 0)"))
+                .isInstanceOfSatisfying(SQLException.class, e -> assertThat(e.getSQLState()).isEqualTo("23505"));
+
+        // The per-agenda reads of VoteRepositoryImpl, with the parameter as it arrives from R2DBC
+        execute("PREPARE recount(BIGINT) AS SELECT COUNT(*) FILTER (WHERE vote_value = 1) FROM votes WHERE agenda_id = $1");
+        execute("PREPARE voted(BIGINT, BIGINT) AS SELECT EXISTS (SELECT 1 FROM votes WHERE agenda_id = $1 AND cpf = $2)");
+        execute("SET plan_cache_mode = force_generic_plan"); // Pruned at execution time instead of planning
+        assertThat(partitionsIn("EXPLAIN (ANALYZE, COSTS OFF) EXECUTE recount(" + agendaId + ")")).isEqualTo(1);
+        assertThat(partitionsIn("EXPLAIN (ANALYZE, COSTS OFF) EXECUTE voted(" + agendaId + ", 11144477735)")).isEqualTo(1);
+    }
+
+    @Test
+    void testStartRefusesAnAlreadyPartitionedTable() throws SQLException {
+        migrateEmpty();
+
+        assertThatThrownBy(() -> execute("SELECT votes_partition_start()"))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("already partitioned");
+    }
+
+    private void migrateEmpty() throws SQLException {
+        execute("SELECT votes_partition_start()");
+        assertThat(queryLong("SELECT votes_partition_copy_chunk(1000)")).isZero();
+        execute("SELECT votes_partition_swap()");
+    }
+
+    // Votes n in [from, to]: agenda n % 20 + 1, a distinct CPF each, alternating YES and NO
+    private void insertVotes(int from, int to) throws SQLException {
+        execute("""
+                INSERT INTO votes (agenda_id, cpf, vote_value)
+                SELECT a.id, 10000000000 + n, n %% 2
+                FROM generate_series(%d, %d) AS n
+                JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS position FROM agendas) a ON a.position = n %% 20
+                """.formatted(from, to));
+    }
+
+    // Scans still shown in an EXPLAIN ANALYZE plan after pruning ("never executed" nodes excluded)
+    private long partitionsIn(String explain) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(explain)) {
+            while (resultSet.next()) {
+                String line = resultSet.getString(1);
+                if (!line.contains("never executed")) {
+                    plan.append(line).append('\n');
+                }
+            }
+        }
+        return PARTITION.matcher(plan).results().map(MatchResult::group).distinct().count();
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private String queryString(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.rdpk.features.voting.tally;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests how a tally combines recorded and journaled votes with reconcile counts, by vote id.
+ */
+class LiveTallyTest {
+
+    private final LiveTallyStore.Tally tally = tally(16);
+
+    @Test
+    void testVoteRecordedBeforeTheCountIsNotCountedTwice() {
+        tally.record(5, true);
+
+        // The count ran after vote 5 committed and includes it
+        tally.counted(1, 0, 5, 1);
+
+        assertThat(tally.yesVotes()).isEqualTo(1);
+    }
+
+    @Test
+    void testVoteRecordedAfterTheCountThatIncludesItIsNotCountedTwice() {
+        // Vote 5 committed before the count query, but is recorded only once the count has returned
+        tally.counted(1, 0, 5, 1);
+        tally.record(5, true);
+
+        assertThat(tally.yesVotes()).isEqualTo(1);
+    }
+
+    @Test
+    void testVotesNewerThanTheCountAreKept() {
+        tally.record(5, true);
+        tally.record(7, false);
+
+        tally.counted(1, 0, 6, 1);
+        tally.record(8, true);
+
+        assertThat(tally.yesVotes()).isEqualTo(2);
+        assertThat(tally.noVotes()).isEqualTo(1);
+    }
+
+    @Test
+    void testOlderCountDoesNotUndoANewerOne() {
+        tally.counted(3, 1, 9, 1);
+
+        long[] drift = tally.counted(2, 1, 6, 2);
+
+        assertThat(drift).containsExactly(0, 0);
+        assertThat(tally.yesVotes()).isEqualTo(3);
+        assertThat(tally.noVotes()).isEqualTo(1);
+    }
+
+    @Test
+    void testRemoteVotesTheCountIncludesAreSkipped() {
+        // Votes 5 (yes) and 6 (no) are already in the count
+        tally.counted(1, 1, 6, 1);
+
+        // Another instance's broadcast of votes 5, 6 and 7 arrives after the count
+        tally.record(new long[] {5, 7}, new long[] {6});
+
+        assertThat(tally.yesVotes()).isEqualTo(2);
+        assertThat(tally.noVotes()).isEqualTo(1);
+    }
+
+    @Test
+    void testUnflushedJournaledVotesAreNotDrift() {
+        tally.journaled(true);
+
+        long[] drift = tally.counted(0, 0, 0, 1);
+
+        assertThat(drift).containsExactly(0, 0);
+        assertThat(tally.yesVotes()).isEqualTo(1);
+    }
+
+    @Test
+    void testFlushedVoteBelowTheLastCountedIdIsRecorded() {
+        tally.journaled(true);
+        // Vote 9 from another instance is counted; journaled vote 5 is written afterwards
+        tally.counted(1, 0, 9, 1);
+
+        tally.flushed(5, true, true, true, 1);
+
+        assertThat(tally.yesVotes()).isEqualTo(2);
+    }
+
+    @Test
+    void testFlushedVoteACountAlreadyIncludesIsNotCountedTwice() {
+        tally.journaled(true);
+        // The flush began before count 1, which ran after vote 5 committed
+        tally.counted(1, 0, 5, 1);
+
+        tally.flushed(5, true, true, true, 0);
+
+        assertThat(tally.yesVotes()).isEqualTo(1);
+    }
+
+    @Test
+    void testJournaledVoteDroppedAtFlushIsUncounted() {
+        tally.journaled(false);
+
+        tally.flushed(5, false, true, false, -1);
+
+        assertThat(tally.noVotes()).isZero();
+    }
+
+    @Test
+    void testManyRecordedVotesAreForgottenOnceCounted() {
+        LiveTallyStore.Tally tally = tally(10_000);
+        for (long id = 1; id <= 10_000; id++) {
+            tally.record(id, id % 2 == 1);
+        }
+        assertThat(tally.yesVotes()).isEqualTo(5_000);
+
+        tally.counted(4_000, 4_000, 8_000, 1);
+
+        assertThat(tally.yesVotes()).isEqualTo(5_000);
+        assertThat(tally.noVotes()).isEqualTo(5_000);
+    }
+
+    @Test
+    void testVotesBeyondTheBufferAreCountedButAskForAReseed() {
+        LiveTallyStore.Tally tally = tally(4);
+        for (long id = 1; id <= 4; id++) {
+            assertThat(tally.record(id, true)).isTrue();
+        }
+
+        assertThat(tally.record(5, true)).isFalse();
+        assertThat(tally.yesVotes()).isEqualTo(5);
+
+        // The reseed counts all five; the buffer starts over
+        tally.counted(5, 0, 5, 1);
+        assertThat(tally.record(6, true)).isTrue();
+        assertThat(tally.yesVotes()).isEqualTo(6);
+    }
+
+    @Test
+    void testConcurrentRecordsAndCountsAreNotLost() throws InterruptedException {
+        LiveTallyStore.Tally tally = tally(100_000);
+        int threads = 4;
+        int votesPerThread = 10_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long firstId = (long) t * votesPerThread + 1;
+            Thread writer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (long id = firstId; id < firstId + votesPerThread; id++) {
+                    tally.record(id, true);
+                }
+            });
+            writer.start();
+            writers.add(writer);
+        }
+        start.countDown();
+        // Counts that include none of the votes keep every recorded one
+        for (int seq = 1; seq <= 100; seq++) {
+            tally.counted(0, 0, 0, seq);
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertThat(tally.yesVotes()).isEqualTo((long) threads * votesPerThread);
+    }
+
+    private static LiveTallyStore.Tally tally(int maxTrackedVotes) {
+        return new LiveTallyStore.Tally(1L, LocalDateTime.now().plusMinutes(5), maxTrackedVotes);
+    }
+}
@@ -0,0 +1,108 @@
+package com.rdpk.infrastructure.batch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests batching by size and by window, concurrent adds and disposal.
+ */
+class MicroBatcherTest {
+
+    private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+    private MicroBatcher<Integer> batcher;
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.dispose();
+        }
+    }
+
+    @Test
+    void testFullBatchIsFlushedWithoutWaitingForTheWindow() throws InterruptedException {
+        batcher = new MicroBatcher<>(3, Duration.ofHours(1), 1, this::record);
+
+        for (int i = 1; i <= 3; i++) {
+            batcher.add(i);
+        }
+
+        awaitFlushed(3);
+        assertThat(batches).containsExactly(List.of(1, 2, 3));
+    }
+
+    @Test
+    void testPartialBatchIsFlushedAfterTheWindow() throws InterruptedException {
+        batcher = new MicroBatcher<>(100, Duration.ofMillis(20), 1, this::record);
+
+        batcher.add(1);
+        batcher.add(2);
+
+        awaitFlushed(2);
+        assertThat(batches).containsExactly(List.of(1, 2));
+    }
+
+    @Test
+    void testConcurrentAddsAreAllFlushed() throws InterruptedException {
+        batcher = new MicroBatcher<>(50, Duration.ofMillis(10), 4, this::record);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int thread = 0; thread < 8; thread++) {
+            int offset = thread * 1000;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    batcher.add(offset + i);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        awaitFlushed(8000);
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(50));
+    }
+
+    @Test
+    void testDisposedBatcherRefusesItems() {
+        batcher = new MicroBatcher<>(10, Duration.ofMillis(10), 1, this::record);
+
+        batcher.dispose();
+
+        assertThat(batcher.isDisposed()).isTrue();
+        assertThatThrownBy(() -> batcher.add(1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private void awaitFlushed(int items) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (flushed() < items && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(flushed()).isEqualTo(items);
+    }
+
+    private int flushed() {
+        return batches.stream().mapToInt(List::size).sum();
+    }
+
+    private Mono<Void> record(List<Integer> batch) {
+        return Mono.fromRunnable(() -> batches.add(batch));
+    }
+}
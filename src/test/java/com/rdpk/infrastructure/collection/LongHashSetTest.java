@@ -0,0 +1,59 @@
+package com.rdpk.infrastructure.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the primitive long set against java.util.HashSet and checks its memory per 1M values.
+ */
+class LongHashSetTest {
+
+    @Test
+    void testMatchesHashSetAcrossResizes() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong(100_000_000_000L); // Packed CPF range
+            assertThat(set.add(value)).isEqualTo(expected.add(value));
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        for (long value : expected) {
+            assertThat(set.contains(value)).isTrue();
+        }
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong(100_000_000_000L);
+            assertThat(set.contains(value)).isEqualTo(expected.contains(value));
+        }
+    }
+
+    @Test
+    void testZeroIsAValue() {
+        LongHashSet set = new LongHashSet();
+        assertThat(set.contains(0)).isFalse();
+
+        assertThat(set.add(0)).isTrue();
+        assertThat(set.add(0)).isFalse();
+
+        assertThat(set.contains(0)).isTrue();
+        assertThat(set.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testOneMillionValuesTakeSixteenMebibytes() {
+        LongHashSet set = new LongHashSet();
+        for (long cpf = 10_000_000_000L; cpf < 10_001_000_000L; cpf++) {
+            set.add(cpf);
+        }
+
+        assertThat(set.size()).isEqualTo(1_000_000);
+        assertThat(set.memoryBytes()).isEqualTo(16L * 1024 * 1024); // 2^21 slots, about 17 bytes per value
+    }
+}
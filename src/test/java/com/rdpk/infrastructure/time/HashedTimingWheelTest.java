@@ -0,0 +1,87 @@
+package com.rdpk.infrastructure.time;
+
+import com.rdpk.e2e.helpers.FixedTimeProvider;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests the timing wheel driven by a fixed clock.
+ */
+class HashedTimingWheelTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    private final FixedTimeProvider clock = new FixedTimeProvider(START);
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    void testFiresOnlyTimersWhoseDeadlinePassed() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(clock, Duration.ofSeconds(1), 8, fired::add);
+        wheel.schedule("one-minute", START.plusMinutes(1));
+        wheel.schedule("two-minutes", START.plusMinutes(2));
+
+        assertThat(wheel.advance()).isZero();
+        assertThat(wheel.pending()).isEqualTo(2);
+
+        clock.advance(1);
+        assertThat(wheel.advance()).isEqualTo(1);
+        assertThat(fired).containsExactly("one-minute");
+
+        clock.advance(1);
+        wheel.advance();
+        assertThat(fired).containsExactly("one-minute", "two-minutes");
+        assertThat(wheel.pending()).isZero();
+    }
+
+    @Test
+    void testJumpLongerThanOneTurnFiresEverythingDue() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(clock, Duration.ofSeconds(1), 8, fired::add);
+        for (int i = 1; i <= 1000; i++) {
+            wheel.schedule("timer-" + i, START.plusSeconds(i));
+        }
+
+        clock.setTime(START.plusSeconds(500));
+        assertThat(wheel.advance()).isEqualTo(500);
+
+        clock.setTime(START.plusHours(1));
+        assertThat(wheel.advance()).isEqualTo(500);
+        assertThat(fired).hasSize(1000);
+    }
+
+    @Test
+    void testOverdueAndCancelledTimers() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(clock, Duration.ofSeconds(1), 8, fired::add);
+        clock.advance(5);
+        wheel.advance();
+
+        wheel.schedule("overdue", START.plusMinutes(1));
+        HashedTimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", START.plusMinutes(6));
+        cancelled.cancel();
+
+        clock.advance(2);
+        wheel.advance();
+        assertThat(fired).containsExactly("overdue");
+        assertThat(wheel.pending()).isZero();
+    }
+
+    @Test
+    void testClockGoingBackDelaysUntilItCatchesUp() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(clock, Duration.ofSeconds(1), 8, fired::add);
+        clock.advance(10);
+        wheel.advance();
+
+        clock.setTime(START);
+        wheel.schedule("after-rewind", START.plusMinutes(1));
+        assertThat(wheel.advance()).isZero();
+
+        clock.advance(1);
+        wheel.advance();
+        assertThat(fired).containsExactly("after-rewind");
+    }
+}